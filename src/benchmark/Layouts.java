@@ -0,0 +1,83 @@
+package benchmark;
+
+import main.model.elements.House;
+import main.model.parameters.Parameters;
+import main.model.parameters.permissions.ParentPermission;
+import main.util.HouseWriter;
+import main.util.LayoutGenerator;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The {@code Layouts} class builds house layouts of arbitrary size for benchmarks. Rooms are laid out on a square grid
+ * by a {@code LayoutGenerator} with a fixed seed, so that every run of a benchmark measures the same layout.
+ *
+ * @author Jeff Wilgus
+ */
+public final class Layouts {
+
+    private static final long SEED = 20201001L;
+
+    private Layouts() {
+    }
+
+    /**
+     * @param index The specified index
+     * @return The location of the room with the specified {@code index} in a layout built by this class
+     */
+    public static String location(int index) {
+        return LayoutGenerator.location(index);
+    }
+
+    /**
+     * Builds a {@code House} with the specified number of {@code rooms}.
+     *
+     * @param rooms The specified number of rooms
+     * @return A grid-shaped {@code House}
+     */
+    public static House grid(int rooms) {
+        return (new LayoutGenerator(SEED)).grid(rooms);
+    }
+
+    /**
+     * Writes a layout with the specified number of {@code rooms}, in the format read by {@code HouseReader}, to a
+     * temporary file that is deleted when the virtual machine exits.
+     *
+     * @param rooms The specified number of rooms
+     * @return The file the layout was written to
+     * @throws IOException If the file could not be written
+     */
+    public static File gridFile(int rooms) throws IOException {
+        File file = File.createTempFile("layout", ".json");
+        file.deleteOnExit();
+        HouseWriter.writeHouse(grid(rooms), file);
+        return file;
+    }
+
+    /**
+     * Builds {@code Parameters} for the specified {@code house} in which its rooms are dealt among the specified
+     * number of {@code zones} and the specified fraction of them are occupied, and the simulation is on.
+     *
+     * @param house The specified {@code House}, built by this class
+     * @param zones The specified number of zones
+     * @param occupancy The specified fraction of occupied rooms
+     * @return The {@code Parameters} for the specified {@code house}
+     */
+    public static Parameters parameters(House house, int zones, double occupancy) {
+        Parameters parameters = new Parameters();
+        for (int i = 0; i < zones; i++) {
+            parameters.addZone("zone " + i).setPeriodTemp(0, 18 + i % 8);
+        }
+        int occupied = (int) (house.size() * occupancy);
+        for (int i = 0; i < house.size(); i++) {
+            parameters.getZone("zone " + i % zones).addRoom(location(i));
+            if (i < occupied) {
+                house.addPerson("person " + i, new ParentPermission(), location(i));
+            }
+        }
+        parameters.setOn(true);
+        return parameters;
+    }
+
+}
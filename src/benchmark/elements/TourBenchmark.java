@@ -0,0 +1,60 @@
+package benchmark.elements;
+
+import benchmark.Layouts;
+import main.model.elements.House;
+import main.model.elements.Room;
+import main.model.elements.RoomGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to visit every {@code Room} of a {@code House}, both by touring its layout and by
+ * iterating over it, and to sweep every connection of its {@code RoomGraph}.
+ *
+ * @author Jeff Wilgus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TourBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int rooms;
+
+    private House house;
+
+    @Setup
+    public void setup() {
+        house = Layouts.grid(rooms);
+    }
+
+    @Benchmark
+    public void tour(Blackhole blackhole) {
+        house.tour((location, room) -> blackhole.consume(room));
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Room room : house) {
+            blackhole.consume(room);
+        }
+    }
+
+    @Benchmark
+    public long sweepGraph() {
+        RoomGraph graph = house.getGraph();
+        long sum = 0;
+        for (int i = 0; i < graph.size(); i++) {
+            for (int edge = graph.start(i); edge < graph.end(i); edge++) {
+                sum += graph.target(edge);
+            }
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,40 @@
+package benchmark.io;
+
+import benchmark.Layouts;
+import main.model.elements.House;
+import main.util.HouseReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to read a house layout from a file and build a {@code House} from it.
+ *
+ * @author Jeff Wilgus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HouseLoadingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int rooms;
+
+    private File layout;
+
+    @Setup
+    public void setup() throws IOException {
+        layout = Layouts.gridFile(rooms);
+    }
+
+    @Benchmark
+    public House readHouse() {
+        return (new HouseReader(layout)).readHouse();
+    }
+
+}
@@ -0,0 +1,83 @@
+package benchmark.parameters;
+
+import benchmark.Layouts;
+import main.model.Action;
+import main.model.elements.House;
+import main.model.elements.Light;
+import main.model.parameters.Parameters;
+import main.model.parameters.permissions.Permission;
+import main.model.parameters.permissions.PermissionMatrix;
+import main.util.PermissionDeniedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of authorizing an {@code Action}, through its {@code Permission} level or a {@code
+ * PermissionMatrix}, and of dispatching it to the element it manipulates, for a {@code Permission} level that is allowed
+ * to take it and for one that is not.
+ *
+ * @author Jeff Wilgus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ActionDispatchBenchmark {
+
+    @Param({"Parent", "Stranger"})
+    String level;
+
+    private Parameters parameters;
+    private Permission permission;
+    private PermissionMatrix matrix;
+    private int index;
+    private House house;
+    private Light light;
+
+    @Setup
+    public void setup() {
+        house = Layouts.grid(10);
+        parameters = Layouts.parameters(house, 1, 0);
+        permission = parameters.getPermissionOf(level);
+        parameters.setPermission(permission);
+        matrix = parameters.getPermissionMatrix();
+        index = PermissionMatrix.levelOf(level);
+        for (Light candidate : house.getRoom(Layouts.location(0)).getLights()) {
+            if (candidate != null) {
+                light = candidate;
+            }
+        }
+    }
+
+    @Benchmark
+    public Action authorize() {
+        try {
+            return permission.authorize(Action.TOGGLE_LIGHT);
+        } catch (PermissionDeniedException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public boolean authorizeByMatrix() {
+        return matrix.isAllowed(index, Action.TOGGLE_LIGHT);
+    }
+
+    @Benchmark
+    public String dispatch() {
+        try {
+            return light.manipulate(parameters.getPermission().authorize(Action.TOGGLE_LIGHT), parameters, house);
+        } catch (PermissionDeniedException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public boolean[] summarizePermissibility() {
+        return Action.TOGGLE_LIGHT.isPermissibleBy(parameters);
+    }
+
+}
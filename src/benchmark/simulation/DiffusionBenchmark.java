@@ -0,0 +1,66 @@
+package benchmark.simulation;
+
+import benchmark.Layouts;
+import main.model.elements.House;
+import main.model.elements.Room;
+import main.model.parameters.Clock;
+import main.model.simulation.HeatDiffusion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to diffuse {@value #SECONDS} seconds of heat through houses of various sizes, with a
+ * {@code HeatDiffusion} that works on a single thread and with one that splits the house across the common pool, and
+ * in a single implicit step of an hour.
+ *
+ * @author Jeff Wilgus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DiffusionBenchmark {
+
+    static final int SECONDS = 60;
+
+    @Param({"10", "1000", "100000"})
+    int rooms;
+
+    private House house;
+    private HeatDiffusion serial;
+    private HeatDiffusion parallel;
+
+    @Setup
+    public void setup() {
+        house = Layouts.grid(rooms);
+        int i = 0;
+        for (Room room : house) {
+            room.setTemperature(10 + (i++ % 20));
+        }
+        house.pack();
+        serial = new HeatDiffusion(null);
+        parallel = new HeatDiffusion();
+    }
+
+    @Benchmark
+    public double[] diffuseSerially() {
+        serial.diffuse(house, 15, SECONDS);
+        return house.getStateStore().temperatures();
+    }
+
+    @Benchmark
+    public double[] diffuseInParallel() {
+        parallel.diffuse(house, 15, SECONDS);
+        return house.getStateStore().temperatures();
+    }
+
+    @Benchmark
+    public double[] diffuseImplicitly() {
+        parallel.diffuseImplicitly(house, 15, Clock.SECONDS_PER_HOUR);
+        return house.getStateStore().temperatures();
+    }
+
+}
@@ -0,0 +1,100 @@
+package benchmark.simulation;
+
+import benchmark.Layouts;
+import main.model.Action;
+import main.model.Manipulable;
+import main.model.elements.House;
+import main.model.elements.Light;
+import main.model.elements.Room;
+import main.model.parameters.Parameters;
+import main.model.simulation.ActionJournal;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to record an {@code Action} in an {@code ActionJournal}, and to replay a journal of
+ * {@value #ACTIONS} {@code Action}s, for houses of various sizes.
+ *
+ * @author Jeff Wilgus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReplayBenchmark {
+
+    static final int ACTIONS = 10_000;
+
+    @Param({"10", "1000", "100000"})
+    int rooms;
+
+    private House house;
+    private Parameters parameters;
+    private Light[] lights;
+    private File replayed;
+    private File recorded;
+    private ActionJournal journal;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        house = Layouts.grid(rooms);
+        parameters = Layouts.parameters(house, 1, 0);
+        List<Light> candidates = new ArrayList<>();
+        for (Room room : house) {
+            for (Light light : room.getLights()) {
+                if (light != null) {
+                    candidates.add(light);
+                }
+            }
+        }
+        lights = candidates.toArray(new Light[0]);
+
+        replayed = File.createTempFile("replayed", ".journal");
+        replayed.delete();
+        try (ActionJournal journal = new ActionJournal(replayed)) {
+            for (int i = 0; i < ACTIONS; i++) {
+                journal.record(i, Action.TOGGLE_LIGHT, lights[i % lights.length], house);
+            }
+        }
+    }
+
+    // Each iteration records into a journal of its own, so that the journal does not grow across the whole run
+    @Setup(Level.Iteration)
+    public void openJournal() throws IOException {
+        recorded = File.createTempFile("recorded", ".journal");
+        recorded.delete();
+        journal = new ActionJournal(recorded);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeJournal() throws IOException {
+        journal.close();
+        recorded.delete();
+    }
+
+    @TearDown
+    public void teardown() {
+        replayed.delete();
+    }
+
+    @Benchmark
+    public void record() throws IOException {
+        Manipulable light = lights[next++ % lights.length];
+        journal.record(next, Action.TOGGLE_LIGHT, light, house);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int replay() throws IOException {
+        return ActionJournal.replay(replayed, house, parameters);
+    }
+
+}
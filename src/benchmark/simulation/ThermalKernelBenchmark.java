@@ -0,0 +1,73 @@
+package benchmark.simulation;
+
+import main.model.simulation.ThermalKernel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how long it takes a {@code ThermalKernel} that updates one {@code Room} at a time and the fastest {@code
+ * ThermalKernel} available to drive fleets of {@code Room}s of various sizes toward their equilibrium temperatures for
+ * one step. The fastest kernel is vectorized only if the {@code src/vector} source folder is built; otherwise both
+ * benchmarks measure the same kernel.
+ *
+ * @author Jeff Wilgus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "--add-modules=jdk.incubator.vector"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ThermalKernelBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    int rooms;
+
+    private ThermalKernel scalar;
+    private ThermalKernel fastest;
+    private double[] initial;
+    private double[] temperatures;
+    private double[] equilibria;
+    private long[] hvac;
+    private long[] settled;
+
+    @Setup
+    public void setup() {
+        scalar = new ThermalKernel(0.1, 0.05, 0.25, 1e-9);
+        fastest = ThermalKernel.create(0.1, 0.05, 0.25, 1e-9);
+        Random random = new Random(rooms);
+        initial = new double[rooms];
+        equilibria = new double[rooms];
+        hvac = new long[(rooms + Long.SIZE - 1) / Long.SIZE];
+        settled = new long[hvac.length];
+        for (int i = 0; i < rooms; i++) {
+            equilibria[i] = 15 + random.nextInt(11);
+            initial[i] = equilibria[i] + 10 * (random.nextDouble() * 2 - 1);
+        }
+        for (int i = 0; i < hvac.length; i++) {
+            hvac[i] = random.nextLong();
+        }
+        temperatures = initial.clone();
+    }
+
+    // Every invocation starts from the same temperatures, so that rooms do not all settle over the run
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(initial, 0, temperatures, 0, rooms);
+    }
+
+    @Benchmark
+    public long[] stepScalar() {
+        scalar.step(temperatures, equilibria, hvac, rooms, 1, false, settled);
+        return settled;
+    }
+
+    @Benchmark
+    public long[] stepFastest() {
+        fastest.step(temperatures, equilibria, hvac, rooms, 1, false, settled);
+        return settled;
+    }
+
+}
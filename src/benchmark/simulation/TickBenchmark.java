@@ -0,0 +1,54 @@
+package benchmark.simulation;
+
+import benchmark.Layouts;
+import main.model.elements.House;
+import main.model.simulation.SimulationEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many steps a {@code SimulationEngine} takes per second, and how long it takes to fast-forward through an
+ * hour, for houses of various sizes, occupancies and numbers of zones.
+ *
+ * @author Jeff Wilgus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TickBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int rooms;
+
+    @Param({"0.0", "0.5"})
+    double occupancy;
+
+    @Param({"1", "16"})
+    int zones;
+
+    private SimulationEngine engine;
+
+    @Setup
+    public void setup() {
+        House house = Layouts.grid(rooms);
+        engine = new SimulationEngine(house, Layouts.parameters(house, zones, occupancy));
+        engine.step(1);
+    }
+
+    @Benchmark
+    public void step() {
+        engine.step(1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fastForwardAnHour() {
+        engine.fastForward(3_600);
+    }
+
+}
@@ -35,9 +35,10 @@ public abstract class AbstractModuleController implements ModuleController {
     void performActionOn(Action action, Manipulable manipulable) {
         Parameters parameters = parent.getParameters();
         try {
-            parent.sendToConsole(
-                    manipulable.manipulate(parameters.getPermission().authorize(action), parameters, parent.getHouse()),
-                    Dashboard.MessageType.NORMAL);
+            parameters.getPermission().authorize(action);
+            String message = manipulable.manipulate(action, parameters, parent.getHouse());
+            parent.record(action, manipulable); // Only once applied, so that a failed Action is never replayed
+            parent.sendToConsole(message, Dashboard.MessageType.NORMAL);
         } catch (PermissionDeniedException e) {
             parent.sendToConsole(e.getMessage(), Dashboard.MessageType.ERROR);
         } catch (Exception e) {
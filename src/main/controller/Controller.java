@@ -1,10 +1,16 @@
 package main.controller;
 
+import main.model.Action;
+import main.model.Manipulable;
 import main.model.Module;
 import main.model.elements.House;
-import main.model.elements.Room;
 import main.model.parameters.Clock;
 import main.model.parameters.Parameters;
+import main.model.simulation.ActionJournal;
+import main.model.simulation.ScheduledEvent;
+import main.model.simulation.SimulationEngine;
+import main.model.simulation.SimulationEvent;
+import main.model.simulation.SimulationObserver;
 import main.view.Dashboard;
 
 import javax.swing.*;
@@ -12,13 +18,11 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.time.LocalTime;
+import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
-import static main.util.SeasonCheck.isSummer;
-import static main.util.SeasonCheck.isWinter;
-
 /**
  * The {@code Controller} class provides the interface between runtime simulation objects and the UI elements to
  * manipulate those objects. It serves as the entry point into the program.
@@ -28,11 +32,11 @@ import static main.util.SeasonCheck.isWinter;
  */
 public class Controller {
 
-    private static final double HVAC_ON_STEP = 0.1;
-    private static final double HVAC_OFF_STEP = 0.05;
-    private static final double TEMP_TOLERANCE = 0.25;
-    public static final int MORNING_START = 5, DAY_START = 11, NIGHT_START = 19;
-    public static final int PERIOD1 = 0, PERIOD2 = 1, PERIOD3 = 2;
+    /**
+     * The system property that names the directory in which the {@code Action}s taken on each {@code House} are
+     * journaled. {@code Action}s are not journaled unless it is set.
+     */
+    public static final String JOURNAL_DIRECTORY_PROPERTY = "journal.dir";
 
     // This is the entry point into the program
     public static void main(String[] args) {
@@ -49,16 +53,21 @@ public class Controller {
         });
     }
 
-    private House house;
+    // Beyond this multiplier, an explicit step of the HVAC would overshoot the tolerance around its equilibrium
+    private static final int IMPLICIT_MULTIPLIER = 5;
+
     private final Parameters parameters = new Parameters();
+    private final SimulationEngine engine = new SimulationEngine(parameters);
     private final Map<String, ModuleController> modules = new HashMap<>();
     private final Dashboard dashboard = new Dashboard();
-    private boolean monitorWindows = true;
+    private ActionJournal journal; // Records the Actions taken on the current House, if journaling is enabled
 
     /**
      * Constructs a new {@code Controller} object.
      */
     public Controller() {
+        engine.addObserver(new DashboardObserver());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeJournal));
         startClock();
         addModules();
 
@@ -81,138 +90,20 @@ public class Controller {
         dashboard.addTimeUpdateListener(parameterController.new TimeUpdateListener());
         dashboard.addActionSelectionListener(new ActionSelectionListener());
 
-        dashboard.drawHouse(house);
+        dashboard.drawHouse(getHouse());
     }
 
+    /*
+     * Paces the simulation against the wall clock. This is the only timer; everything else that happens at a given time
+     * is scheduled on the engine, and fires when the simulation reaches it.
+     */
     private void startClock() {
-        (new Timer(1000, e -> {
-            int[] fields = parameters.getClockTime();
-            LocalTime time = LocalTime.of(fields[0], fields[1], fields[2]); // TODO avoid magic constants
-            dashboard.setTime(fields);
-            if (parameters.isOn()) {
-                // Toggle lights on AwayMode
-                if (parameters.isAwayMode()) {
-                    for (Room room : house) {
-                        room.toggleLights(room.isAwayLight() && isBetween(time, parameters.getAwayLightStart(),
-                                parameters.getAwayLightEnd()));
-                    }
-                } else {
-                    if (isSummer(parameters.getDate())) {
-                        if (monitorWindows && house.hasTemperatureAberration(parameters.getExternalTemperature())
-                                && house
-                                .hasObstructedWindow()) {
-                            sendToConsole(
-                                    "A blocked window has prevented SHH from opening or closing the windows in this "
-                                            + "house.",
-                                    Dashboard.MessageType.ERROR);
-                            monitorWindows = false;
-                        } else {
-                            for (Room room : house) {
-                                room.toggleWindows(room.getTemperature() > parameters.getExternalTemperature());
-                            }
-                        }
-                    }
-                }
-
-                // Fluctuate temperature
-                if (parameters.isOn()) {
-                    for (String location : house.getLocations()) {
-                        Room room = house.getRoom(location);
-                        double roomTemp = room.getTemperature();
-                        double equilibriumTemp = getEquilibriumTemp(location);
-                        int sign;
-
-                        if (!isWithinTolerance(roomTemp, equilibriumTemp)) {
-                            sign = (int) Math.signum(equilibriumTemp - roomTemp);
-                            room.setTemperature(
-                                    roomTemp + (room.isHVACon() ? HVAC_ON_STEP : HVAC_OFF_STEP) * parameters
-                                            .getTimeMultiplier() * sign);
-                        } else {
-                            room.setHVAC(!room.isHVACon());
-                            sign = (int) Math.signum(getEquilibriumTemp(location) - roomTemp);
-                            room.setTemperature(equilibriumTemp + TEMP_TOLERANCE * sign);
-                        }
-
-                    }
-                }
-            }
-
-            // check home temperature -> if <= 0 -> alert users about pipe burst potential
-            if (house != null) {
-                double averageHouseTemperature;
-                double sumHouseTemperature = 0;
-                for (Room room : house) {
-                    double roomTemp = room.getTemperature();
-
-                    sumHouseTemperature = sumHouseTemperature + roomTemp;
-                }
-                averageHouseTemperature = sumHouseTemperature / house.getSize();
-
-                if (Double.compare(averageHouseTemperature, 0) <= 0) {
-                    sendToConsole(
-                            "WARNING : Temperature inside home is below 0C, pipes might burst.",
-                            Dashboard.MessageType.WARNING);
-                }
-            }
-
-            // redraw the house to see temperature
-            if (house != null) {
-                redrawHouse();
-            }
+        (new Timer(Clock.SECONDS_PER_MILLISECOND, e -> {
+            engine.setImplicit(parameters.getTimeMultiplier() > IMPLICIT_MULTIPLIER);
+            engine.step(1);
         })).start();
     }
 
-    private double getEquilibriumTemp(String room) {
-        Room r = house.getRoom(room);
-        if (parameters.isAwayMode() && r.isHVACon()) {
-            if (isSummer(parameters.getDate())) {
-                return parameters.getDefaultSummerTemperature();
-            } else if (isWinter(parameters.getDate())) {
-                return parameters.getDefaultWinterTemperature();
-            }
-        }
-        if (parameters.isTemperatureOverridden(room) || r.isHVACon()) {
-            double desired = parameters.getTemperatureControlZone(room).getDesiredTemperatureFor(room, getPeriod());
-            if (r.getNumberOfWindowsOpen() > 0 || Double.compare(desired, parameters.getExternalTemperature()) == 0
-                    || parameters.isTemperatureOverridden(room) && isWithinTolerance(r.getTemperature(), desired)) {
-                if (r.isHVACon()) {
-                    r.setHVAC(false);
-                }
-                return parameters.getExternalTemperature();
-            }
-            return parameters.getTemperatureControlZone(room).getDesiredTemperatureFor(room, getPeriod());
-        }
-        return parameters.getExternalTemperature();
-    }
-
-    /**
-     * Gets the periods of day based on the time of the day
-     *
-     * @return The period ID that the time falls in
-     */
-    private int getPeriod() {
-        int[] clockTime = parameters.getClockTime();
-        int hour = clockTime[Clock.HOURS];
-        if (hour > MORNING_START && hour < DAY_START) {
-            //morning
-            return PERIOD1;
-        } else if (hour > DAY_START && hour < NIGHT_START) {
-            //day
-            return PERIOD2;
-        } else {
-            //night
-            return PERIOD3;
-        }
-    }
-
-    private boolean isWithinTolerance(double actual, double spec) {
-        return Double.compare(actual, spec - TEMP_TOLERANCE) >= 0 && Double.compare(actual, spec + TEMP_TOLERANCE) <= 0;
-    }
-
-    private boolean isBetween(LocalTime time, LocalTime origin, LocalTime bound) {
-        return origin.compareTo(time) <= 0 && bound.compareTo(time) > 0;
-    }
-
     private void addModules() {
         modules.put(Module.SHC.getName(), new CoreModuleController(this, dashboard.addModule(Module.SHC)));
         modules.put(Module.SHP.getName(), new SecurityModuleController(this, dashboard.addModule(Module.SHP)));
@@ -220,16 +111,34 @@ public class Controller {
     }
 
     void setMonitorWindows(boolean flag) {
-        monitorWindows = flag;
+        engine.setMonitorWindows(flag);
     }
 
     /*
      * Event handlers.
      */
+    class DashboardObserver implements SimulationObserver {
+
+        @Override
+        public void stepped(SimulationEngine engine) {
+            dashboard.setTime(parameters.getClockTime());
+            if (getHouse() != null) {
+                redrawHouse();
+            }
+        }
+
+        @Override
+        public void alerted(String message, Severity severity) {
+            sendToConsole(message, Dashboard.MessageType.valueOf(severity.name()));
+        }
+
+    }
+
     class SimulationListener implements ActionListener {
 
         @Override
         public void actionPerformed(ActionEvent e) {
+            House house = getHouse();
             if (house != null) {
                 if (!getHeatingModuleController().unzonedRooms().isEmpty()) {
                     sendToConsole(
@@ -275,11 +184,61 @@ public class Controller {
     }
 
     House getHouse() {
-        return house;
+        return engine.getHouse();
     }
 
-    void setHouse(House house) {
-        this.house = house;
+    /*
+     * Replaces the House under simulation, and starts a new journal of the Actions taken on it if journaling is enabled.
+     */
+    synchronized void setHouse(House house) {
+        engine.setHouse(house);
+        closeJournal();
+        String directory = System.getProperty(JOURNAL_DIRECTORY_PROPERTY);
+        if (house != null && directory != null) {
+            try {
+                File file = new File(directory, "journal-" + System.currentTimeMillis() + ".bin");
+                journal = new ActionJournal(file);
+            } catch (IOException e) {
+                sendToConsole("Actions will not be journaled: " + e.getMessage(), Dashboard.MessageType.ERROR);
+            }
+        }
+    }
+
+    /*
+     * Closes the journal of the current House, if any. Runs on shutdown as well, so that the journal is flushed to disk
+     * when the application exits.
+     */
+    private synchronized void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                e.printStackTrace(); // The application may be exiting, with no console left to report to
+            } finally {
+                journal = null;
+            }
+        }
+    }
+
+    ScheduledEvent scheduleAwayAlarm(SimulationEvent alarm) {
+        return engine.scheduleAwayAlarm(alarm);
+    }
+
+    /*
+     * Journals the specified Action, if journaling is enabled. Journaling stops at the first failure to write, since
+     * the journal can no longer be relied on to hold every Action from then on.
+     */
+    synchronized void record(Action action, Manipulable manipulable) {
+        if (journal != null) {
+            try {
+                journal.record(engine.getElapsedTime(), action, manipulable, getHouse());
+            } catch (IllegalArgumentException e) {
+                sendToConsole("Action could not be journaled: " + e.getMessage(), Dashboard.MessageType.ERROR);
+            } catch (IOException e) {
+                closeJournal();
+                sendToConsole("Actions will no longer be journaled: " + e.getMessage(), Dashboard.MessageType.ERROR);
+            }
+        }
     }
 
     Dashboard getDashboard() {
@@ -303,6 +262,7 @@ public class Controller {
     }
 
     void redrawHouse() {
+        House house = getHouse();
         for (String location : house.getLocations()) {
             dashboard.updateRoom(location, house.getRoom(location));
         }
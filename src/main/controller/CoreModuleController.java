@@ -72,8 +72,9 @@ public class CoreModuleController extends AbstractModuleController {
             for (Room room : parent.getHouse()) {
                 room.toggleLights(room.isOccupied());
             }
-            if (Yard.getInstance().isOccupied()) {
-                Yard.getInstance().setLightOn(true);
+            Yard yard = parent.getHouse().getYard();
+            if (yard.isOccupied()) {
+                yard.setLightOn(true);
             }
         }
     }
@@ -9,7 +9,6 @@ import main.view.*;
 import javax.swing.*;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
@@ -154,9 +153,7 @@ public class HeatingModuleController extends AbstractModuleController {
     Collection<String> unzonedRooms() {
         Set<String> unzoned = new HashSet<>();
         for (String location : parent.getHouse().getLocations()) {
-            try {
-                parent.getParameters().getTemperatureControlZone(location);
-            } catch (NoSuchElementException e) {
+            if (parent.getParameters().zoneOf(location) == null) {
                 unzoned.add(location);
             }
         }
@@ -3,6 +3,7 @@ package main.controller;
 import main.model.Action;
 import main.model.MultiValueManipulable;
 import main.model.ValueManipulable;
+import main.model.simulation.ScheduledEvent;
 import main.view.AwayLightChooser;
 import main.view.Dashboard;
 import main.view.ModuleView;
@@ -88,41 +89,33 @@ public class SecurityModuleController extends AbstractModuleController {
     }
 
     /**
-     * Notifies the authorities of a potential break in after a specified interval has elapsed. The user is given the
-     * opportunity to cancel this operation.
+     * Notifies the authorities of a potential break in once the away mode delay has elapsed in the simulation. The user
+     * is given the opportunity to cancel this operation.
      */
     public void startAwayModeCountdown() {
-        final boolean[] cancel = {false, false};
-        Timer timer = new Timer(parent.getParameters().getAwayDelay(), e -> {
+        final boolean[] answered = {false};
+        ScheduledEvent alarm = parent.scheduleAwayAlarm(engine -> {
             parent.getDashboard().addConsoleListener(null, null);
-
-            if (cancel[0]) {
-                parent.sendToConsole("Crisis averted!", Dashboard.MessageType.WARNING);
-            } else {
-                parent.sendToConsole(
-            (cancel[1] ? "" : "\n")
-                    + "Intruder detected, the authorities have been alerted!",
-                    Dashboard.MessageType.WARNING
-                );
-            }
+            parent.sendToConsole(
+        (answered[0] ? "" : "\n")
+                + "Intruder detected, the authorities have been alerted!",
+                Dashboard.MessageType.WARNING
+            );
         });
         parent.getDashboard().addConsoleListener(new KeyAdapter() {
 
             @Override
             public void keyPressed(final KeyEvent e) {
                 if (e.getKeyCode() == KeyEvent.VK_ENTER) {
-                    if (CANCEL_KEYWORDS.contains(parent.getDashboard().getLastConsoleMessage())) {
-                        cancel[0] = true;
-                        timer.setInitialDelay(0);
-                        timer.restart();
+                    if (CANCEL_KEYWORDS.contains(parent.getDashboard().getLastConsoleMessage()) && alarm.cancel()) {
+                        parent.getDashboard().addConsoleListener(null, null);
+                        parent.sendToConsole("Crisis averted!", Dashboard.MessageType.WARNING);
                     }
-                    cancel[1] = true;
+                    answered[0] = true;
                 }
             }
 
         }, "Potential break in, do you want to disable the alarm [y/N]?");
-        timer.setRepeats(false);
-        timer.start();
     }
 
     private boolean canAct() {
@@ -6,6 +6,7 @@ import main.model.parameters.Parameters;
 import main.model.parameters.permissions.Permission;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Set;
 
@@ -382,7 +383,7 @@ public enum Action {
                     zone.setPeriodTemp(2, tempThree);
                 }
 
-                for (String room : zone.getRooms()) {
+                for (String room : new ArrayList<>(zone.getRooms())) {
                     zone.removeRoom(room);
                 }
                 for (String room : rooms) {
@@ -428,24 +429,12 @@ public enum Action {
         }
     };
 
-    static final String[] PERMISSIONS = new String[] {
-        "Parent",
-        "Child",
-        "Guest",
-        "Stranger"
-    };
-
     /**
-     * @return A summary of the permissibility of this {@code Action} by each {@code Permission} level
+     * @return A summary of the permissibility of this {@code Action} by each {@code Permission} level, in the order of
+     * their indices in a {@code PermissionMatrix}
      */
     public boolean[] isPermissibleBy(Parameters parameters) {
-        boolean[] isPermissible = new boolean[PERMISSIONS.length];
-
-        for (int i = 0; i < isPermissible.length; i++) {
-            isPermissible[i] = parameters.getPermissions().get(PERMISSIONS[i]).allowed().contains(this);
-        }
-
-        return isPermissible;
+        return parameters.getPermissionMatrix().permissibilityOf(this);
     }
 
     /**
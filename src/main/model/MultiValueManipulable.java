@@ -47,4 +47,11 @@ public class MultiValueManipulable extends ValueManipulable<Object> {
         return valueManipulables.get(index);
     }
 
+    /**
+     * @return The number of values added to this {@code MultiValueManipulable}
+     */
+    public int size() {
+        return valueManipulables.size();
+    }
+
 }
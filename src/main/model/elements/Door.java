@@ -18,6 +18,8 @@ public class Door extends AbstractManipulable {
 
     private boolean open;
     private boolean locked;
+    Room room; // The Room whose counters this Door contributes to, if any
+    int slot; // The index of this Door in that Room
 
     /**
      * Constructs a {@code Door} with a {@value DEFAULT_OPEN_VALUE} open state a {@value DEFAULT_LOCKED_VALUE} locked
@@ -63,6 +65,9 @@ public class Door extends AbstractManipulable {
         if (locked) {
             throw new IllegalStateException("Please unlock this door first.");
         }
+        if (this.open != open && room != null) {
+            room.updateOpenDoors(slot, open);
+        }
         this.open = open;
     }
 
@@ -76,6 +81,9 @@ public class Door extends AbstractManipulable {
         if (open) {
             throw new IllegalStateException("Please close this door first.");
         }
+        if (this.locked != locked && room != null) {
+            room.updateLockedDoors(slot, locked);
+        }
         this.locked = locked;
     }
 
@@ -1,5 +1,6 @@
 package main.model.elements;
 
+import main.model.Manipulable;
 import main.model.parameters.permissions.Permission;
 
 import java.util.*;
@@ -17,28 +18,6 @@ import static main.util.NameValidator.validateName;
  */
 public class House implements Iterable<Room> {
 
-    private static class Node {
-
-        final Room room;
-
-        final Set<String> adjacents;
-        boolean visited;
-
-        Node(Room room) {
-            this.room = Objects.requireNonNull(room);
-            this.adjacents = new HashSet<>();
-        }
-        @Override
-        public boolean equals(final Object obj) {
-            if (!(obj instanceof Node)) {
-                return false;
-            }
-            Node node = (Node) obj;
-            return room.equals(node.room);
-        }
-
-    }
-
     /**
      * The maximum number of {@code Room}s that another {@code Room} may be adjacent to.
      */
@@ -49,16 +28,46 @@ public class House implements Iterable<Room> {
      */
     public static final String EXTERIOR_NAME = "yard";
 
-    private String root;
-    private final Map<String, Node> rooms;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[] NO_ADJACENTS = {};
+
+    /*
+     * Each location is interned to a dense index, in the order in which Rooms were added, and everything else about a
+     * Room is kept in arrays at that index. The names are only looked up at the boundary of the public API.
+     */
+    private final Map<String, Integer> indices;
+    private String[] locations;
+    private Room[] rooms;
+    private int[][] adjacents; // The indices adjacent to each room, in the order their connections were made
+    private int[] degrees;
+    private int size;
+    /*
+     * The adjacents in compressed sparse row form, and the order in which a tour visits the rooms, both built on demand
+     * and dropped whenever the layout changes. Both are immutable once published, so that any number of threads may
+     * tour a House that is not being changed.
+     */
+    private volatile RoomGraph graph;
+    private volatile int[] tourOrder;
+
+    private int root;
     private final Map<String, String> people;
+    private final Yard yard;
+    private int numberOfPeople;
+    private int windowsBlocked;
+    private RoomStateStore store;
 
     /**
-     * Constructs a new {@code House} object with no {@code Room}s.
+     * Constructs a new {@code House} object with no {@code Room}s and an empty {@code Yard}.
      */
     public House() {
-        rooms = new HashMap<>();
+        indices = new LinkedHashMap<>();
+        locations = new String[INITIAL_CAPACITY];
+        rooms = new Room[INITIAL_CAPACITY];
+        adjacents = new int[INITIAL_CAPACITY][];
+        degrees = new int[INITIAL_CAPACITY];
+        root = -1;
         people = new HashMap<>();
+        yard = new Yard();
     }
 
     /**
@@ -68,11 +77,43 @@ public class House implements Iterable<Room> {
      * @param room The specified {@code Room}
      * @param location The specified location
      * @throws IllegalArgumentException If the specified {@code location} is not a non-empty string of word characters
-     * (i.e. [a-z, A-Z, 0-9, _]) and whitespace
+     * (i.e. [a-z, A-Z, 0-9, _]) and whitespace, or if the specified {@code room} already belongs to a {@code House}
      */
     public void addRoom(Room room, String location) {
-        rooms.putIfAbsent(validateName(location), new Node(room));
+        add(room, validateName(location));
     }
+
+    /*
+     * Adds the specified room at the specified location, whose name is known to be valid already.
+     */
+    void add(Room room, String location) {
+        if (room.house != null) {
+            throw new IllegalArgumentException("A room cannot belong to more than one house.");
+        }
+        if (indices.putIfAbsent(location, size) == null) {
+            if (size == rooms.length) {
+                int capacity = size << 1;
+                locations = Arrays.copyOf(locations, capacity);
+                rooms = Arrays.copyOf(rooms, capacity);
+                adjacents = Arrays.copyOf(adjacents, capacity);
+                degrees = Arrays.copyOf(degrees, capacity);
+            }
+            locations[size] = location;
+            rooms[size] = room;
+            adjacents[size] = NO_ADJACENTS;
+            size++;
+            invalidateLayout();
+
+            room.house = this;
+            room.location = location;
+            numberOfPeople += room.getNumberOfPeople();
+            windowsBlocked += room.getNumberOfWindowsBlocked();
+            if (store != null) {
+                pack();
+            }
+        }
+    }
+
     /**
      * Signifies adjacency between the specified locations in this {@code House}.
      *
@@ -84,20 +125,44 @@ public class House implements Iterable<Room> {
      * @throws NoSuchElementException If either of the specified locations does not exist in this {@code House}
      */
     public void addConnection(String locationOne, String locationTwo) {
-        Node nodeOne = validateLocation(locationOne);
-        Node nodeTwo = validateLocation(locationTwo);
-        validateConnection(nodeOne, nodeTwo);
-        nodeOne.adjacents.add(locationTwo);
-        nodeTwo.adjacents.add(locationOne);
+        int one = validateLocation(locationOne);
+        int two = validateLocation(locationTwo);
+        validateConnection(one, two);
+        connect(one, two);
+        connect(two, one);
+    }
+
+    /*
+     * Makes the second of the specified locations adjacent to the first, but not the first to the second, without
+     * checking the rules above. Callers must add the reverse connection themselves, and guarantee that both are valid.
+     */
+    void connect(String from, String to) {
+        connect(validateLocation(from), validateLocation(to));
+    }
+
+    void connect(int from, int to) {
+        int[] row = adjacents[from];
+        int degree = degrees[from];
+        for (int i = 0; i < degree; i++) {
+            if (row[i] == to) {
+                return;
+            }
+        }
+        if (degree == row.length) {
+            row = adjacents[from] = Arrays.copyOf(row, Math.max(MAX_CONNECTIONS, degree << 1));
+        }
+        row[degree] = to;
+        degrees[from] = degree + 1;
+        invalidateLayout();
     }
 
-    private void validateConnection(Node one, Node two) {
-        if (one.adjacents.size() > MAX_CONNECTIONS || two.adjacents.size() > MAX_CONNECTIONS) {
+    private void validateConnection(int one, int two) {
+        if (degrees[one] > MAX_CONNECTIONS || degrees[two] > MAX_CONNECTIONS) {
             throw new IllegalArgumentException("Cannot connect a room with more than " + MAX_CONNECTIONS + " others");
         }
-        for (String adjacentOne : one.adjacents) {
-            for (String adjacentTwo : two.adjacents) {
-                if (adjacentOne.equals(adjacentTwo)) {
+        for (int i = 0; i < degrees[one]; i++) {
+            for (int j = 0; j < degrees[two]; j++) {
+                if (adjacents[one][i] == adjacents[two][j]) {
                     throw new IllegalArgumentException(
                         "Rooms that are already connected through another room, cannot be connected to each other."
                     );
@@ -123,16 +188,16 @@ public class House implements Iterable<Room> {
 
         if (previousLocation != null) {
             if (previousLocation.equals(EXTERIOR_NAME)) {
-                Yard.getInstance().removePerson(name);
+                yard.removePerson(name);
             } else {
-                rooms.get(previousLocation).room.removePerson(name);
+                rooms[indices.get(previousLocation)].removePerson(name);
             }
         }
 
         if (location != null && location.equals(EXTERIOR_NAME)) {
-            Yard.getInstance().addPerson(name, permission);
+            yard.addPerson(name, permission);
         } else {
-            validateLocation(location).room.addPerson(name, permission);
+            rooms[validateLocation(location)].addPerson(name, permission);
         }
     }
 
@@ -143,7 +208,12 @@ public class House implements Iterable<Room> {
      * @return {@code true} if the specified person was removed from this {@code House}
      */
     public boolean removePerson(String name) {
-        return rooms.get(people.remove(name)).room.removePerson(name);
+        String location = people.remove(name);
+        if (EXTERIOR_NAME.equals(location)) {
+            return yard.removePerson(name);
+        }
+        Integer index = indices.get(location);
+        return index != null && rooms[index].removePerson(name);
     }
 
     /**
@@ -152,7 +222,88 @@ public class House implements Iterable<Room> {
      * @return The names of the {@code Room}s in this {@code House}
      */
     public Set<String> getLocations() {
-        return Collections.unmodifiableSet(rooms.keySet());
+        return Collections.unmodifiableSet(indices.keySet());
+    }
+
+    /**
+     * Provides the index of the {@code Room} at the specified {@code location} in this {@code House}. Indices are dense,
+     * from zero to one less than the {@link #size() size} of this {@code House}, and are those of the {@code Room}s in
+     * its {@code RoomStateStore} and {@code RoomGraph}. They follow the order in which {@code Room}s were added, and
+     * only change when a {@code Room} is removed.
+     *
+     * @param location The specified location
+     * @return The index of the specified {@code location}, or -1 if it does not exist in this {@code House}
+     */
+    public int indexOf(String location) {
+        Integer index = indices.get(location);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index The specified index
+     * @return The location of the {@code Room} at the specified {@code index} in this {@code House}
+     * @throws IndexOutOfBoundsException If there is no {@code Room} at the specified {@code index}
+     */
+    public String getLocation(int index) {
+        checkIndex(index);
+        return locations[index];
+    }
+
+    /**
+     * @param index The specified index
+     * @return The {@code Room} at the specified {@code index} in this {@code House}
+     * @throws IndexOutOfBoundsException If there is no {@code Room} at the specified {@code index}
+     */
+    public Room getRoom(int index) {
+        checkIndex(index);
+        return rooms[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("There is no room at index " + index);
+        }
+    }
+
+    /**
+     * Provides the connections between the {@code Room}s of this {@code House}, by index. The same {@code RoomGraph}
+     * is returned until a {@code Room} or connection is added or removed.
+     *
+     * @return The {@code RoomGraph} of this {@code House}
+     */
+    public RoomGraph getGraph() {
+        RoomGraph graph = this.graph;
+        if (graph == null) {
+            int[] offsets = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[i + 1] = offsets[i] + degrees[i];
+            }
+            int[] targets = new int[offsets[size]];
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(adjacents[i], 0, targets, offsets[i], degrees[i]);
+            }
+            graph = this.graph = new RoomGraph(offsets, targets);
+        }
+        return graph;
+    }
+
+    /**
+     * Provides the location of the {@code Room} in this {@code House} that contains the specified {@code element}.
+     *
+     * @param element The specified {@code Door}, {@code Light} or {@code Window}
+     * @return The location of the {@code Room} containing the specified {@code element}, or {@code null} if it is not
+     * an element of a {@code Room} in this {@code House}
+     */
+    public String locate(Manipulable element) {
+        Room room = null;
+        if (element instanceof Door) {
+            room = ((Door) element).room;
+        } else if (element instanceof Light) {
+            room = ((Light) element).room;
+        } else if (element instanceof Window) {
+            room = ((Window) element).room;
+        }
+        return room != null && room.house == this ? room.location : null;
     }
 
     /**
@@ -163,14 +314,55 @@ public class House implements Iterable<Room> {
      * @throws NoSuchElementException If the specified {@code location} does not exist in this {@code House}
      */
     public Room getRoom(String location) {
-        return validateLocation(location).room;
+        return rooms[validateLocation(location)];
+    }
+
+    /**
+     * Moves the state of every {@code Room} in this {@code House} into a {@link RoomStateStore}, which is kept up to
+     * date as {@code Room}s are added or removed until this {@code House} is {@link #unpack() unpacked}. If this {@code
+     * House} is already packed, its {@code Room}s are packed afresh.
+     *
+     * @return The {@code RoomStateStore} of this {@code House}
+     */
+    public RoomStateStore pack() {
+        unpack();
+        store = new RoomStateStore(Arrays.copyOf(rooms, size), Arrays.copyOf(locations, size));
+        return store;
+    }
+
+    /**
+     * Returns the state of every {@code Room} in this {@code House} to the {@code Room} itself. If this {@code House}
+     * is not packed, this method has no effect.
+     */
+    public void unpack() {
+        if (store != null) {
+            store.release();
+            store = null;
+        }
+    }
+
+    /**
+     * @return The {@code RoomStateStore} of this {@code House}, or {@code null} if it is not {@link #pack() packed}
+     */
+    public RoomStateStore getStateStore() {
+        return store;
+    }
+
+    /**
+     * Provides the {@code Yard} surrounding this {@code House}, which is the {@code Place} that people at the location
+     * {@value #EXTERIOR_NAME} occupy.
+     *
+     * @return The {@code Yard} of this {@code House}
+     */
+    public Yard getYard() {
+        return yard;
     }
 
     /**
      * @return The number of {@code Room}s in this house
      */
     public int size() {
-        return rooms.size();
+        return size;
     }
 
     /**
@@ -183,6 +375,25 @@ public class House implements Iterable<Room> {
         return people.containsKey(person);
     }
 
+    /**
+     * @return The names of the people in this {@code House}, including those in its {@code Yard}
+     */
+    public Set<String> getPeople() {
+        return Collections.unmodifiableSet(people.keySet());
+    }
+
+    /**
+     * Provides the {@code Permission} level of the specified {@code person} in this {@code House}.
+     *
+     * @param person The specified person
+     * @return The {@code Permission} level of the specified {@code person}
+     * @throws NoSuchElementException If the specified {@code person} is not in this {@code House}
+     */
+    public Permission permissionOf(String person) {
+        String location = locationOf(person);
+        return location.equals(EXTERIOR_NAME) ? yard.permissionOf(person) : getRoom(location).permissionOf(person);
+    }
+
     /**
      * Provides the location of the specified {@code person} in this {@code House}.
      *
@@ -203,11 +414,7 @@ public class House implements Iterable<Room> {
      * @return The number of people in this {@code House}
      */
     public int getNumberOfPeople() {
-        int count = 0;
-        for (Room room : this) {
-            count += room.getNumberOfPeople();
-        }
-        return count;
+        return numberOfPeople;
     }
 
     /**
@@ -216,12 +423,7 @@ public class House implements Iterable<Room> {
      * @return {@code true} if any {@code Window} in this {@code House} is obstructed
      */
     public boolean hasObstructedWindow() {
-        for (Room room : this) {
-            if (room.getNumberOfWindowsBlocked() > 0) {
-                return true;
-            }
-        }
-        return false;
+        return windowsBlocked > 0;
     }
 
     /**
@@ -243,15 +445,19 @@ public class House implements Iterable<Room> {
      * @return {@code true} if any people are in this {@code House}
      */
     public boolean isOccupied() {
-        if (Yard.getInstance().isOccupied()) {
-            return true;
-        }
-        for (Room room : this) {
-            if (room.isOccupied()) {
-                return true;
-            }
-        }
-        return false;
+        return numberOfPeople > 0 || yard.isOccupied();
+    }
+
+    /*
+     * The following are invoked by the Rooms of this House whenever their state changes by the specified delta.
+     */
+
+    void updatePeople(int delta) {
+        numberOfPeople += delta;
+    }
+
+    void updateWindowsBlocked(int delta) {
+        windowsBlocked += delta;
     }
 
     /**
@@ -287,57 +493,112 @@ public class House implements Iterable<Room> {
      * @throws NoSuchElementException If the specified {@code location} does not exist in this {@code House}
      */
     public void setRoot(String root) {
-        if (!rooms.containsKey(root)) {
+        Integer index = indices.get(root);
+        if (index == null) {
             throw new NoSuchElementException("That location does not exist.");
         }
-        this.root = root;
+        if (this.root != index) {
+            this.root = index;
+            tourOrder = null;
+        }
+    }
+
+    /**
+     * @return The root location of this {@code House}, or {@code null} if none has been set
+     */
+    public String getRoot() {
+        return root < 0 ? null : locations[root];
+    }
+
+    /**
+     * Provides the locations adjacent to the specified {@code location} in this {@code House}.
+     *
+     * @param location The specified location
+     * @return The locations connected to the specified {@code location}
+     * @throws NoSuchElementException If the specified {@code location} does not exist in this {@code House}
+     */
+    public Set<String> getConnections(String location) {
+        int index = validateLocation(location);
+        Set<String> connections = new LinkedHashSet<>();
+        for (int i = 0; i < degrees[index]; i++) {
+            connections.add(locations[adjacents[index][i]]);
+        }
+        return Collections.unmodifiableSet(connections);
     }
 
     /**
      * Applies the specified {@code action} to each {@code Room} in this {@code House}, starting form the root location
-     * of this {@code House}.
+     * of this {@code House}. The order in which {@code Room}s are visited is worked out by the first tour after the
+     * layout or root of this {@code House} changes, and reused by every tour after it; tours may run concurrently from
+     * any number of threads, provided this {@code House} is not changed meanwhile.
      *
      * @param action The specified action to perform
      * @throws IllegalStateException If the root of this {@code House} has not been set
      * @throws NullPointerException If the specified {@code action} is {@code null}
      */
     public void tour(BiConsumer<String, Room> action) {
+        Objects.requireNonNull(action);
+        int[] order = getTourOrder();
+        for (int index : order) {
+            action.accept(locations[index], rooms[index]);
+        }
+    }
+
+    /*
+     * The indices of the rooms in the order a tour visits them. The array is shared by every tour, and never written to
+     * once published.
+     */
+    private int[] getTourOrder() {
+        int[] order = tourOrder;
+        if (order == null) {
+            int root = this.root;
+            if (root < 0) {
+                throw new IllegalStateException("You must specify a root location.");
+            }
+            order = tourOrder = order(getGraph(), root);
+        }
+        return order;
+    }
+
+    private static int[] order(RoomGraph graph, int root) {
         /*
          * This is a depth-first search. It will only find nodes connected to the source. Maintainers should consider
          * implementing a search routine that finds unconnected nodes if having detached rooms becomes desirable in the
          * future.
          */
-        if (root == null) {
-            throw new IllegalStateException("You must specify a root location.");
-        }
-
-        Deque<String> stack = new ArrayDeque<>();
-        for (Node node : rooms.values()) {
-            node.visited = false;
-        }
-
-        stack.push(root);
-
-        while (!stack.isEmpty()) {
-            String current = stack.pop();
-            Node node = validateLocation(current);
-            
-            if (!node.visited) {
-                action.accept(current, node.room);
-                node.visited = true;
+        boolean[] visited = new boolean[graph.size()];
+        int[] order = new int[graph.size()];
+        int visits = 0;
+        int[] stack = new int[graph.edges() + 1]; // Each room is pushed once, and once more per edge leading to it
+        int top = 0;
+        stack[top++] = root;
+
+        while (top > 0) {
+            int current = stack[--top];
+
+            if (!visited[current]) {
+                order[visits++] = current;
+                visited[current] = true;
             }
 
-            for (String adjacent : node.adjacents) {
-                if (!rooms.get(adjacent).visited) {
-                    stack.push(adjacent);
+            for (int edge = graph.start(current); edge < graph.end(current); edge++) {
+                if (!visited[graph.target(edge)]) {
+                    stack[top++] = graph.target(edge);
                 }
             }
         }
+        return visits == order.length ? order : Arrays.copyOf(order, visits);
+    }
+
+    private void invalidateLayout() {
+        graph = null;
+        tourOrder = null;
     }
 
-    private Node validateLocation(String location) {
-        if (rooms.containsKey(location)) {
-            return rooms.get(location);
+    private int validateLocation(String location) {
+        Integer index = indices.get(location);
+        if (index != null) {
+            return index;
         }
         throw new NoSuchElementException("That location does not exist");
     }
@@ -346,47 +607,105 @@ public class House implements Iterable<Room> {
      * @return The number of {@code Room}s in the {@code House}
      */
     public int getSize() {
-        return rooms.size();
+        return size;
     }
 
     @Override
     public Iterator<Room> iterator() {
         return new Iterator<Room>() {
 
-            final Iterator<Node> iterator = rooms.values().iterator();
+            int next;
+            Room current;
 
             @Override
             public boolean hasNext() {
-                return iterator.hasNext();
+                return next < size;
             }
 
             @Override
             public Room next() {
-                return iterator.next().room;
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return current = rooms[next++];
             }
 
             @Override
             public void remove() {
-                iterator.remove();
+                if (current == null) {
+                    throw new IllegalStateException();
+                }
+                removeAt(--next);
+                current.house = null;
+                current.location = null;
+                numberOfPeople -= current.getNumberOfPeople();
+                windowsBlocked -= current.getNumberOfWindowsBlocked();
+                current = null;
+                if (store != null) {
+                    pack();
+                }
             }
 
         };
     }
 
+    /*
+     * Removes the room at the specified index, along with its connections, and shifts the rooms after it down by one.
+     */
+    private void removeAt(int index) {
+        indices.remove(locations[index]);
+        int moved = size - index - 1;
+        System.arraycopy(locations, index + 1, locations, index, moved);
+        System.arraycopy(rooms, index + 1, rooms, index, moved);
+        System.arraycopy(adjacents, index + 1, adjacents, index, moved);
+        System.arraycopy(degrees, index + 1, degrees, index, moved);
+        size--;
+        locations[size] = null;
+        rooms[size] = null;
+        adjacents[size] = null;
+        invalidateLayout();
+
+        for (int i = 0; i < size; i++) {
+            int[] row = adjacents[i];
+            int degree = 0;
+            for (int k = 0; k < degrees[i]; k++) {
+                if (row[k] != index) {
+                    row[degree++] = row[k] > index ? row[k] - 1 : row[k];
+                }
+            }
+            degrees[i] = degree;
+            if (i >= index) {
+                indices.put(locations[i], i);
+            }
+        }
+        root = root == index ? -1 : root > index ? root - 1 : root;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (!(obj instanceof House)) {
             return false;
         }
         House h = (House) obj;
-        return rooms.equals(h.rooms) && people.equals(h.people);
+        if (size != h.size || !people.equals(h.people)) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            Integer index = h.indices.get(locations[i]);
+            if (index == null || !rooms[i].equals(h.rooms[index])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
         int prime = 31;
-        int result = 1;
-        result = prime * result + rooms.hashCode();
+        int result = 0;
+        for (int i = 0; i < size; i++) { // Independent of the order in which rooms were added, as equality is
+            result += locations[i].hashCode() ^ rooms[i].hashCode();
+        }
         result = prime * result + people.hashCode();
         return result;
     }
@@ -0,0 +1,402 @@
+package main.model.elements;
+
+import main.util.HouseReader;
+import main.util.HouseWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code HouseSnapshot} class reads and writes a compact binary image of a {@code House}, which is opened by mapping
+ * it into memory rather than by parsing it. Opening a snapshot only reads its header; the location, connections and
+ * state of each {@code Room} are read from the mapped file when they are asked for, and a {@code House} is only built
+ * when {@link #toHouse()} is invoked. Since a snapshot can only be written from a valid {@code House}, the names and
+ * connections it holds are not validated again when it is read. A snapshot may also be {@link #toBuffer(House)
+ * embedded} in another file.
+ * <p>
+ * A snapshot holds, after a header, the following sections, each aligned to eight bytes: the temperature of each {@code
+ * Room}; bitmaps of the {@code Room}s whose HVAC is on and which are lit during {@code AwayMode}; one word per {@code
+ * Room} whose bits tell which walls have a {@code Door}, {@code Light} or {@code Window} and what state it is in; the
+ * offsets of the name and of the connections of each {@code Room}; the connections of every {@code Room}, as indices of
+ * other {@code Room}s; and the names of every {@code Room}, encoded in UTF-8. People are not part of a snapshot.
+ *
+ * @author Jeff Wilgus
+ * @see HouseReader
+ * @see HouseWriter
+ */
+public final class HouseSnapshot {
+
+    private static final int MAGIC = 0x534E4150; // "SNAP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int NUMBER_OF_WALLS = 4;
+    private static final int ADDRESS_BITS = 6; // There are 2^6 bits in a long
+
+    /*
+     * The bits of the word describing the elements of a room, each shifted by the index of the wall they concern.
+     */
+    private static final int DOOR = 0;
+    private static final int DOOR_OPEN = 4;
+    private static final int DOOR_LOCKED = 8;
+    private static final int LIGHT = 12;
+    private static final int LIGHT_ON = 16;
+    private static final int WINDOW = 20;
+    private static final int WINDOW_OPEN = 24;
+    private static final int WINDOW_BLOCKED = 28;
+
+    private final int size;
+    private final int root;
+    private final ByteBuffer buffer;
+    private final int temperatures;
+    private final int hvac;
+    private final int awayLights;
+    private final int elements;
+    private final int nameOffsets;
+    private final int connectionOffsets;
+    private final int connections;
+    private final int names;
+
+    private HouseSnapshot(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("The file you've selected is not a house snapshot.");
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.root = buffer.getInt(16);
+        this.temperatures = HEADER_BYTES;
+        this.hvac = temperatures + Double.BYTES * size;
+        this.awayLights = hvac + Long.BYTES * words(size);
+        this.elements = awayLights + Long.BYTES * words(size);
+        this.nameOffsets = align(elements + Integer.BYTES * size);
+        this.connectionOffsets = align(nameOffsets + Integer.BYTES * (size + 1));
+        this.connections = align(connectionOffsets + Integer.BYTES * (size + 1));
+        this.names = align(connections + Integer.BYTES * buffer.getInt(12));
+        if (buffer.capacity() < names + buffer.getInt(20)) {
+            throw new IllegalArgumentException("The file you've selected is not a complete house snapshot.");
+        }
+    }
+
+    /**
+     * Maps the snapshot in the specified {@code file} into memory.
+     *
+     * @param file The specified file
+     * @return The snapshot in the specified {@code file}
+     * @throws IOException If the specified {@code file} could not be read
+     * @throws IllegalArgumentException If the specified {@code file} does not hold a house snapshot
+     */
+    public static HouseSnapshot open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads the snapshot held by the specified {@code buffer}, from its first byte, in place. The {@code buffer} must
+     * not be modified for as long as the returned {@code HouseSnapshot} is in use.
+     *
+     * @param buffer The specified buffer
+     * @return The snapshot in the specified {@code buffer}
+     * @throws IllegalArgumentException If the specified {@code buffer} does not hold a house snapshot
+     * @see #toBuffer(House)
+     */
+    public static HouseSnapshot wrap(ByteBuffer buffer) {
+        return new HouseSnapshot(buffer.slice());
+    }
+
+    /**
+     * Writes a snapshot of the specified {@code house} to the specified {@code file}, replacing its contents.
+     *
+     * @param house The specified {@code House}
+     * @param file The specified file
+     * @throws IOException If the specified {@code file} could not be written
+     * @throws IllegalArgumentException If a {@code Room} of the specified {@code house} has more than four elements of
+     * a kind
+     */
+    public static void write(House house, File file) throws IOException {
+        ByteBuffer buffer = toBuffer(house);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the specified {@code house}, so that it can be embedded in another file.
+     *
+     * @param house The specified {@code House}
+     * @return A buffer that holds the snapshot, positioned at its start
+     * @throws IllegalArgumentException If a {@code Room} of the specified {@code house} has more than four elements of
+     * a kind
+     * @see #wrap(ByteBuffer)
+     */
+    public static ByteBuffer toBuffer(House house) {
+        int size = house.size();
+        RoomGraph graph = house.getGraph();
+        byte[][] encoded = new byte[size][];
+        int nameBytes = 0;
+        int numberOfConnections = graph.edges();
+        for (int i = 0; i < size; i++) {
+            encoded[i] = house.getLocation(i).getBytes(StandardCharsets.UTF_8);
+            nameBytes += encoded[i].length;
+        }
+
+        int temperatures = HEADER_BYTES;
+        int hvac = temperatures + Double.BYTES * size;
+        int awayLights = hvac + Long.BYTES * words(size);
+        int elements = awayLights + Long.BYTES * words(size);
+        int nameOffsets = align(elements + Integer.BYTES * size);
+        int connectionOffsets = align(nameOffsets + Integer.BYTES * (size + 1));
+        int connections = align(connectionOffsets + Integer.BYTES * (size + 1));
+        int names = align(connections + Integer.BYTES * numberOfConnections);
+
+        ByteBuffer buffer = ByteBuffer.allocate(names + nameBytes);
+        int root = house.getRoot() == null ? -1 : house.indexOf(house.getRoot());
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, size).putInt(12, numberOfConnections)
+                .putInt(16, root).putInt(20, nameBytes);
+
+        int name = 0;
+        int connection = 0;
+        for (int i = 0; i < size; i++) {
+            Room room = house.getRoom(i);
+            buffer.putDouble(temperatures + Double.BYTES * i, room.getTemperature());
+            setBit(buffer, hvac, i, room.isHVACon());
+            setBit(buffer, awayLights, i, room.isAwayLight());
+            buffer.putInt(elements + Integer.BYTES * i, elementsOf(room));
+
+            buffer.putInt(nameOffsets + Integer.BYTES * i, name);
+            buffer.position(names + name);
+            buffer.put(encoded[i]);
+            name += encoded[i].length;
+
+            buffer.putInt(connectionOffsets + Integer.BYTES * i, connection);
+            for (int edge = graph.start(i); edge < graph.end(i); edge++) {
+                buffer.putInt(connections + Integer.BYTES * connection++, graph.target(edge));
+            }
+        }
+        buffer.putInt(nameOffsets + Integer.BYTES * size, name);
+        buffer.putInt(connectionOffsets + Integer.BYTES * size, connection);
+        buffer.position(0);
+        return buffer;
+    }
+
+    /**
+     * Converts the house layout JSON file {@code layout} into a snapshot written to the specified {@code snapshot}
+     * file.
+     *
+     * @param layout The specified layout file
+     * @param snapshot The specified snapshot file
+     * @throws IOException If either file could not be read or written
+     * @see HouseReader
+     */
+    public static void fromLayout(File layout, File snapshot) throws IOException {
+        House house = (new HouseReader(layout)).readHouse();
+        if (house == null) {
+            throw new IOException("The layout " + layout + " could not be read.");
+        }
+        write(house, snapshot);
+    }
+
+    /**
+     * Converts the specified {@code snapshot} file into a house layout JSON file written to the specified {@code
+     * layout}.
+     *
+     * @param snapshot The specified snapshot file
+     * @param layout The specified layout file
+     * @throws IOException If either file could not be read or written
+     * @see HouseWriter
+     */
+    public static void toLayout(File snapshot, File layout) throws IOException {
+        HouseWriter.writeHouse(open(snapshot).toHouse(), layout);
+    }
+
+    /**
+     * Builds the {@code House} of this {@code HouseSnapshot}, with the state its {@code Room}s had when it was
+     * written.
+     *
+     * @return A new {@code House}
+     */
+    public House toHouse() {
+        House house = new House();
+        String[] locations = new String[size];
+        for (int i = 0; i < size; i++) {
+            locations[i] = getLocation(i);
+            Room room = buildRoom(buffer.getInt(elements + Integer.BYTES * i));
+            room.setTemperature(getTemperature(i));
+            room.setHVAC(isHVACOn(i));
+            room.setAwayLight(isAwayLight(i));
+            house.add(room, locations[i]);
+        }
+        for (int i = 0; i < size; i++) { // Rooms were added in order, so their indices in the house are the same
+            int end = buffer.getInt(connectionOffsets + Integer.BYTES * (i + 1));
+            for (int k = buffer.getInt(connectionOffsets + Integer.BYTES * i); k < end; k++) {
+                house.connect(i, buffer.getInt(connections + Integer.BYTES * k));
+            }
+        }
+        if (root >= 0) {
+            house.setRoot(locations[root]);
+        }
+        return house;
+    }
+
+    /**
+     * @return The number of {@code Room}s in this {@code HouseSnapshot}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The root location of this {@code HouseSnapshot}, or {@code null} if it has none
+     */
+    public String getRoot() {
+        return root < 0 ? null : getLocation(root);
+    }
+
+    /**
+     * @param index The specified index
+     * @return The location of the {@code Room} at the specified {@code index} of this {@code HouseSnapshot}
+     * @throws IndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public String getLocation(int index) {
+        checkIndex(index);
+        int from = buffer.getInt(nameOffsets + Integer.BYTES * index);
+        int to = buffer.getInt(nameOffsets + Integer.BYTES * (index + 1));
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(names + from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param index The specified index
+     * @return The indices of the {@code Room}s connected to the {@code Room} at the specified {@code index}
+     * @throws IndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public int[] getConnections(int index) {
+        checkIndex(index);
+        int from = buffer.getInt(connectionOffsets + Integer.BYTES * index);
+        int[] adjacents = new int[buffer.getInt(connectionOffsets + Integer.BYTES * (index + 1)) - from];
+        for (int k = 0; k < adjacents.length; k++) {
+            adjacents[k] = buffer.getInt(connections + Integer.BYTES * (from + k));
+        }
+        return adjacents;
+    }
+
+    /**
+     * @param index The specified index
+     * @return The temperature of the {@code Room} at the specified {@code index}
+     * @throws IndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public double getTemperature(int index) {
+        checkIndex(index);
+        return buffer.getDouble(temperatures + Double.BYTES * index);
+    }
+
+    /**
+     * @param index The specified index
+     * @return {@code true} if the HVAC is on in the {@code Room} at the specified {@code index}
+     * @throws IndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public boolean isHVACOn(int index) {
+        checkIndex(index);
+        return getBit(buffer, hvac, index);
+    }
+
+    /**
+     * @param index The specified index
+     * @return {@code true} if the {@code Room} at the specified {@code index} is lit during {@code AwayMode}
+     * @throws IndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public boolean isAwayLight(int index) {
+        checkIndex(index);
+        return getBit(buffer, awayLights, index);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for " + size + " rooms");
+        }
+    }
+
+    private static int elementsOf(Room room) {
+        if (room.getDoors().length > NUMBER_OF_WALLS || room.getLights().length > NUMBER_OF_WALLS
+                || room.getWindows().length > NUMBER_OF_WALLS) {
+            throw new IllegalArgumentException("A snapshot can only hold rooms of up to four elements of each kind.");
+        }
+        int bits = 0;
+        for (int wall = 0; wall < room.getDoors().length; wall++) {
+            Door door = room.getDoors()[wall];
+            if (door != null) {
+                bits |= (1 << DOOR | (door.isOpen() ? 1 : 0) << DOOR_OPEN | (door.isLocked() ? 1 : 0) << DOOR_LOCKED)
+                        << wall;
+            }
+        }
+        for (int wall = 0; wall < room.getLights().length; wall++) {
+            Light light = room.getLights()[wall];
+            if (light != null) {
+                bits |= (1 << LIGHT | (light.isOn() ? 1 : 0) << LIGHT_ON) << wall;
+            }
+        }
+        for (int wall = 0; wall < room.getWindows().length; wall++) {
+            Window window = room.getWindows()[wall];
+            if (window != null) {
+                bits |= (1 << WINDOW | (window.isOpen() ? 1 : 0) << WINDOW_OPEN
+                        | (window.isBlocked() ? 1 : 0) << WINDOW_BLOCKED) << wall;
+            }
+        }
+        return bits;
+    }
+
+    private static Room buildRoom(int bits) {
+        Door[] doors = new Door[NUMBER_OF_WALLS];
+        Light[] lights = new Light[NUMBER_OF_WALLS];
+        Window[] windows = new Window[NUMBER_OF_WALLS];
+        for (int wall = 0; wall < NUMBER_OF_WALLS; wall++) {
+            if (has(bits, DOOR, wall)) {
+                // A door can only be opened once it has been constructed unlocked
+                doors[wall] = new Door(false, has(bits, DOOR_LOCKED, wall));
+                if (has(bits, DOOR_OPEN, wall)) {
+                    doors[wall].setOpen(true);
+                }
+            }
+            if (has(bits, LIGHT, wall)) {
+                lights[wall] = new Light(has(bits, LIGHT_ON, wall));
+            }
+            if (has(bits, WINDOW, wall)) {
+                windows[wall] = new Window(has(bits, WINDOW_OPEN, wall), has(bits, WINDOW_BLOCKED, wall));
+            }
+        }
+        return new Room(doors, lights, windows);
+    }
+
+    private static boolean has(int bits, int flag, int wall) {
+        return (bits >>> (flag + wall) & 1) != 0;
+    }
+
+    private static int words(int bits) {
+        return (bits + (1 << ADDRESS_BITS) - 1) >>> ADDRESS_BITS;
+    }
+
+    private static int align(int offset) {
+        return (offset + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    private static boolean getBit(ByteBuffer buffer, int offset, int bit) {
+        return (buffer.getLong(offset + Long.BYTES * (bit >>> ADDRESS_BITS)) & 1L << bit) != 0;
+    }
+
+    private static void setBit(ByteBuffer buffer, int offset, int bit, boolean flag) {
+        int word = offset + Long.BYTES * (bit >>> ADDRESS_BITS);
+        if (flag) {
+            buffer.putLong(word, buffer.getLong(word) | 1L << bit);
+        }
+    }
+
+}
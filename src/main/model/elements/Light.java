@@ -14,6 +14,8 @@ public class Light extends AbstractManipulable {
     private static final boolean DEFAULT_ON_VALUE = false;
 
     private boolean on;
+    Room room; // The Room whose counters this Light contributes to, if any
+    int slot; // The index of this Light in that Room
 
     /**
      * Constructs a {@code Light} object with a {@value DEFAULT_ON_VALUE} state.
@@ -44,6 +46,9 @@ public class Light extends AbstractManipulable {
      * @param state The specified on state
      */
     public void setOn(boolean state) {
+        if (on != state && room != null) {
+            room.updateLightsOn(slot, state);
+        }
         this.on = state;
     }
 
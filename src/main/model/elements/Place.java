@@ -36,7 +36,10 @@ public abstract class Place {
      * @throws NullPointerException If the specified {@code permission} is {@code null}
      */
     public void addPerson(String name, Permission permission) {
-        people.put(validateName(name), Objects.requireNonNull(permission, "Please select a permission level."));
+        if (people.put(validateName(name), Objects.requireNonNull(permission, "Please select a permission level."))
+                == null) {
+            updatePeople(1);
+        }
     }
 
     /**
@@ -46,7 +49,29 @@ public abstract class Place {
      * @return {@code true} if the specified {@code person} was removed from this {@code Place}.
      */
     public boolean removePerson(String person) {
-        return people.remove(person) != null;
+        if (people.remove(person) != null) {
+            updatePeople(-1);
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * Invoked after the number of people in this Place changes by the specified delta, so that subclasses can maintain
+     * counts that depend on it.
+     */
+    void updatePeople(int delta) {
+    }
+
+    /**
+     * Provides the {@code Permission} level of the specified {@code person} in this {@code Place}.
+     *
+     * @param person The specified person
+     * @return The {@code Permission} level of the specified {@code person}, or {@code null} if the specified {@code
+     * person} is not in this {@code Place}
+     */
+    public Permission permissionOf(String person) {
+        return people.get(person);
     }
 
     /**
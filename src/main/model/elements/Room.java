@@ -5,7 +5,8 @@ import java.util.Objects;
 
 /**
  * A {@code Room} is comprised of many {@code House} elements, such as {@code Door}s, {@code Light}s, and {@code
- * Window}s.
+ * Window}s. A {@code Room} keeps count of the states of its elements as they change, so querying them does not require
+ * examining each element. For this reason, an element may belong to at most one {@code Room}.
  *
  * @author Philippe Vo
  * @author Émilie Martin
@@ -23,6 +24,16 @@ public class Room extends Place {
     private final Light[] lights;
     private final Window[] windows;
     private boolean HVACon;
+    private int openDoors;
+    private int lockedDoors;
+    private int lightsOn;
+    private int windowsOpen;
+    private int windowsBlocked;
+    private int changes; // Counts changes to the counters above and to the people present, for observers to poll
+    House house; // The House whose counters this Room contributes to, if any
+    String location; // The location of this Room in that House
+    private RoomStateStore store; // Holds the state of this Room while its House is packed
+    private int index;
 
     /**
      * Constructs a {@code Room} with the given {@code doors}, {@code lights}, and {@code windows}.
@@ -30,6 +41,7 @@ public class Room extends Place {
      * @param doors A collection of {@code Door}s in this {@code Room}
      * @param lights A collection of {@code Light}s in this {@code Room}
      * @param windows A collection of {@code Window}s in this {@code Room}
+     * @throws IllegalArgumentException If any of the specified elements already belongs to another {@code Room}
      */
     public Room(Door[] doors, Light[] lights, Window[] windows) {
         this.temperature = DEFAULT_ROOM_TEMPERATURE;
@@ -37,6 +49,67 @@ public class Room extends Place {
         this.lights = Objects.requireNonNull(lights);
         this.windows = Objects.requireNonNull(windows);
         this.HVACon = true;
+
+        for (Door door : doors) {
+            validateOwner(door == null ? null : door.room);
+        }
+        for (Light light : lights) {
+            validateOwner(light == null ? null : light.room);
+        }
+        for (Window window : windows) {
+            validateOwner(window == null ? null : window.room);
+        }
+
+        for (int i = 0; i < doors.length; i++) {
+            Door door = doors[i];
+            if (door != null && door.room != this) { // Count each element only once
+                door.room = this;
+                door.slot = i;
+                openDoors += door.isOpen() ? 1 : 0;
+                lockedDoors += door.isLocked() ? 1 : 0;
+            }
+        }
+        for (int i = 0; i < lights.length; i++) {
+            Light light = lights[i];
+            if (light != null && light.room != this) {
+                light.room = this;
+                light.slot = i;
+                lightsOn += light.isOn() ? 1 : 0;
+            }
+        }
+        for (int i = 0; i < windows.length; i++) {
+            Window window = windows[i];
+            if (window != null && window.room != this) {
+                window.room = this;
+                window.slot = i;
+                windowsOpen += window.isOpen() ? 1 : 0;
+                windowsBlocked += window.isBlocked() ? 1 : 0;
+            }
+        }
+    }
+
+    private void validateOwner(Room owner) {
+        if (owner != null) {
+            throw new IllegalArgumentException("An element cannot belong to more than one room.");
+        }
+    }
+
+    /*
+     * Makes the specified store, at the specified index, the holder of the state of this Room.
+     */
+    void attach(RoomStateStore store, int index) {
+        this.store = store;
+        this.index = index;
+    }
+
+    /*
+     * Makes this Room the holder of its own state again, which is that specified.
+     */
+    void detach(double temperature, boolean HVACon, boolean awayLight) {
+        this.store = null;
+        this.temperature = temperature;
+        this.HVACon = HVACon;
+        this.awayLight = awayLight;
     }
 
     /**
@@ -66,21 +139,25 @@ public class Room extends Place {
      * @param temperature The specified temperature
      */
     public void setTemperature(double temperature) { // TODO do bounds checking
-        this.temperature = temperature;
+        if (store != null) {
+            store.setTemperature(index, temperature);
+        } else {
+            this.temperature = temperature;
+        }
     }
 
     /**
      * @return The temperature of this {@code Room}
      */
     public double getTemperature() {
-        return this.temperature;
+        return store != null ? store.getTemperature(index) : this.temperature;
     }
 
     /**
      * @return {@code true} if away light mode is set in this {@code Room}
      */
     public boolean isAwayLight() {
-        return awayLight;
+        return store != null ? store.isAwayLight(index) : awayLight;
     }
 
     /**
@@ -89,72 +166,113 @@ public class Room extends Place {
      * @param flag If {@code true} this {@code Room} will be lit during {@code AwayMode}
      */
     public void setAwayLight(boolean flag) {
-        awayLight = flag;
+        if (store != null) {
+            store.setAwayLight(index, flag);
+        } else {
+            awayLight = flag;
+        }
     }
 
     /**
      * @return The number of open {@code Door}s in this {@code Room}
      */
     public int getNumberOfOpenDoors() {
-        int count = 0;
-        for (Door door : doors) {
-            if (door != null && door.isOpen()) {
-                count++;
-            }
-        }
-        return count;
+        return openDoors;
     }
 
     /**
      * @return The number of locked {@code Door}s in this {@code Room}
      */
     public int getNumberOfLockedDoors() {
-        int count = 0;
-        for (Door door : doors) {
-            if (door != null && door.isLocked()) {
-                count++;
-            }
-        }
-        return count;
+        return lockedDoors;
     }
 
     /**
      * @return The number of {@code Light}s in this {@code Room} that are on
      */
     public int getNumberOfLightsOn() {
-        int count = 0;
-        for (Light light : lights) {
-            if (light != null && light.isOn()) {
-                count++;
-            }
-        }
-        return count;
+        return lightsOn;
     }
 
     /**
      * @return The number of open {@code Window}s in this {@code Room}
      */
     public int getNumberOfWindowsOpen() {
-        int count = 0;
-        for (Window window : windows) {
-            if (window != null && window.isOpen()) {
-                count++;
-            }
-        }
-        return count;
+        return windowsOpen;
     }
 
     /**
      * @return The number of blocked {@code Window}s in this {@code Room}
      */
     public int getNumberOfWindowsBlocked() {
-        int count = 0;
-        for (Window window : windows) {
-            if (window != null && window.isBlocked()) {
-                count++;
-            }
+        return windowsBlocked;
+    }
+
+    /**
+     * Provides a number that changes whenever the number of open or locked {@code Door}s, of {@code Light}s on, of
+     * open or blocked {@code Window}s, or of people in this {@code Room} changes. Observers that keep a copy of these
+     * counts can compare it with the number they last saw to tell whether their copy is stale.
+     *
+     * @return The number of changes to the counts of this {@code Room}
+     */
+    public int getChanges() {
+        return changes;
+    }
+
+    /*
+     * The following are invoked by the element in the specified slot of this Room whenever it changes to the specified
+     * state.
+     */
+
+    void updateOpenDoors(int slot, boolean flag) {
+        openDoors += flag ? 1 : -1;
+        changes++;
+        if (store != null) {
+            store.setDoorOpen(index, slot, flag);
+        }
+    }
+
+    void updateLockedDoors(int slot, boolean flag) {
+        lockedDoors += flag ? 1 : -1;
+        changes++;
+        if (store != null) {
+            store.setDoorLocked(index, slot, flag);
+        }
+    }
+
+    void updateLightsOn(int slot, boolean flag) {
+        lightsOn += flag ? 1 : -1;
+        changes++;
+        if (store != null) {
+            store.setLightOn(index, slot, flag);
+        }
+    }
+
+    void updateWindowsOpen(int slot, boolean flag) {
+        windowsOpen += flag ? 1 : -1;
+        changes++;
+        if (store != null) {
+            store.setWindowOpen(index, slot, flag);
+        }
+    }
+
+    void updateWindowsBlocked(int slot, boolean flag) {
+        windowsBlocked += flag ? 1 : -1;
+        changes++;
+        if (store != null) {
+            store.setWindowBlocked(index, slot, flag);
+        }
+        if (house != null) {
+            house.updateWindowsBlocked(flag ? 1 : -1);
+        }
+    }
+
+    @Override
+    void updatePeople(int delta) {
+        changes++;
+        if (house != null) {
+            house.updatePeople(delta);
         }
-        return count;
     }
 
     /**
@@ -175,7 +293,7 @@ public class Room extends Place {
      * @return {@code true} if the HVAC is on in this {@code Room}
      */
     public boolean isHVACon() {
-        return this.HVACon;
+        return store != null ? store.isHVACOn(index) : this.HVACon;
     }
 
     /**
@@ -184,7 +302,11 @@ public class Room extends Place {
      * @param state The new state of the {@code Room}'s HVAC air conditioner
      */
     public void setHVAC(Boolean state) {
-        this.HVACon = state;
+        if (store != null) {
+            store.setHVAC(index, state);
+        } else {
+            this.HVACon = state;
+        }
     }
 
     /**
@@ -193,12 +315,8 @@ public class Room extends Place {
      */
     public void toggleWindows(boolean flag) {
         for (Window window : windows) {
-            if (window != null) {
-                try {
-                    window.setOpen(flag);
-                } catch (IllegalStateException e) {
-                    continue;
-                }
+            if (window != null && !window.isBlocked()) { // Blocked windows cannot be opened or closed
+                window.setOpen(flag);
                 setHVAC(!flag);
             }
         }
@@ -210,7 +328,7 @@ public class Room extends Place {
             return false;
         }
         Room room = (Room) obj;
-        return (Double.compare(temperature, room.temperature) == 0) && Arrays.equals(doors, room.doors) && Arrays
+        return (Double.compare(getTemperature(), room.getTemperature()) == 0) && Arrays.equals(doors, room.doors) && Arrays
                 .equals(lights, room.lights) && Arrays.equals(windows, room.windows);
     }
 
@@ -218,7 +336,7 @@ public class Room extends Place {
     public int hashCode() {
         int prime = 31;
         int result = 1;
-        result = prime * result + Double.hashCode(temperature);
+        result = prime * result + Double.hashCode(getTemperature());
         result = prime * result + Arrays.hashCode(doors);
         result = prime * result + Arrays.hashCode(lights);
         result = prime * result + Arrays.hashCode(windows);
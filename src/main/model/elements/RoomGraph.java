@@ -0,0 +1,77 @@
+package main.model.elements;
+
+/**
+ * A {@code RoomGraph} is an immutable snapshot of the connections between the {@code Room}s of a {@code House}, in
+ * compressed sparse row form. Each {@code Room} is identified by its index in the {@code House} (see {@link
+ * House#indexOf(String)}), and the rooms adjacent to the {@code Room} at index {@code i} are the targets of the edges
+ * from {@link #start(int) start(i)}, inclusive, to {@link #end(int) end(i)}, exclusive. Traversing a {@code RoomGraph}
+ * is a matter of indexing two {@code int[]}s, with no names to hash along the way.
+ * <p>
+ * A {@code RoomGraph} does not change along with the {@code House} it was taken from; a {@code House} provides a new
+ * one once {@code Room}s or connections have been added to it or removed from it.
+ *
+ * @author Jeff Wilgus
+ * @see House#getGraph()
+ */
+public final class RoomGraph {
+
+    private final int[] offsets;
+    private final int[] targets;
+
+    RoomGraph(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * @return The number of {@code Room}s in this {@code RoomGraph}
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return The number of edges in this {@code RoomGraph}, in which a connection between two {@code Room}s is two
+     * edges, one in each direction
+     */
+    public int edges() {
+        return targets.length;
+    }
+
+    /**
+     * @param room The index of the specified {@code Room}
+     * @return The index of the first edge from the specified {@code room}
+     * @throws ArrayIndexOutOfBoundsException If there is no {@code Room} at the specified index
+     */
+    public int start(int room) {
+        return offsets[room];
+    }
+
+    /**
+     * @param room The index of the specified {@code Room}
+     * @return The index following that of the last edge from the specified {@code room}
+     * @throws ArrayIndexOutOfBoundsException If there is no {@code Room} at the specified index
+     */
+    public int end(int room) {
+        return offsets[room + 1];
+    }
+
+    /**
+     * @param edge The index of the specified edge
+     * @return The index of the {@code Room} that the specified {@code edge} leads to
+     * @throws ArrayIndexOutOfBoundsException If there is no edge at the specified index
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * @param room The index of the specified {@code Room}
+     * @return The number of {@code Room}s adjacent to the specified {@code room}
+     * @throws ArrayIndexOutOfBoundsException If there is no {@code Room} at the specified index
+     */
+    public int degree(int room) {
+        return offsets[room + 1] - offsets[room];
+    }
+
+}
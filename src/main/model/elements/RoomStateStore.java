@@ -0,0 +1,392 @@
+package main.model.elements;
+
+/**
+ * The {@code RoomStateStore} class holds the state of every {@code Room} of a packed {@code House} in primitive arrays,
+ * indexed by the position of each {@code Room} in the store. Temperatures are kept in a {@code double[]}; HVAC and away
+ * light states are kept as bitmaps with one bit per {@code Room}; and the states of {@code Door}s, {@code Light}s and
+ * {@code Window}s are kept as bitmaps with one bit per element, the elements of each {@code Room} occupying a
+ * contiguous range of bits. Passes over every {@code Room} of a {@code House} can therefore sweep sequentially through
+ * a handful of arrays rather than visit each {@code Room} and element object in turn.
+ * <p>
+ * While a {@code House} is packed, its {@code Room}s read and write their state through its {@code RoomStateStore}, so
+ * changes made through either are immediately visible through the other.
+ *
+ * @author Jeff Wilgus
+ * @see House#pack()
+ */
+public final class RoomStateStore {
+
+    private static final int ADDRESS_BITS = 6; // There are 2^6 bits in a long
+
+    private final Room[] rooms;
+    private final String[] locations;
+    private final double[] temperatures;
+    private final long[] hvac;
+    private final long[] awayLights;
+    private final int[] doorOffsets;
+    private final int[] lightOffsets;
+    private final int[] windowOffsets;
+    private final long[] doorsOpen;
+    private final long[] doorsLocked;
+    private final long[] lightsOn;
+    private final long[] windows; // Which window slots hold a Window
+    private final long[] windowsOpen;
+    private final long[] windowsBlocked;
+    private int awayLightChanges; // Counts changes to the away light flags, so that callers can tell when to re-read them
+
+    /*
+     * Constructs a store for the specified rooms at the specified locations, copying their current state into it and
+     * attaching them to it.
+     */
+    RoomStateStore(Room[] rooms, String[] locations) {
+        int size = rooms.length;
+        this.rooms = rooms;
+        this.locations = locations;
+        this.temperatures = new double[size];
+        this.hvac = new long[words(size)];
+        this.awayLights = new long[words(size)];
+        this.doorOffsets = new int[size + 1];
+        this.lightOffsets = new int[size + 1];
+        this.windowOffsets = new int[size + 1];
+
+        for (int i = 0; i < size; i++) {
+            doorOffsets[i + 1] = doorOffsets[i] + rooms[i].getDoors().length;
+            lightOffsets[i + 1] = lightOffsets[i] + rooms[i].getLights().length;
+            windowOffsets[i + 1] = windowOffsets[i] + rooms[i].getWindows().length;
+        }
+        this.doorsOpen = new long[words(doorOffsets[size])];
+        this.doorsLocked = new long[words(doorOffsets[size])];
+        this.lightsOn = new long[words(lightOffsets[size])];
+        this.windows = new long[words(windowOffsets[size])];
+        this.windowsOpen = new long[words(windowOffsets[size])];
+        this.windowsBlocked = new long[words(windowOffsets[size])];
+
+        for (int i = 0; i < size; i++) {
+            Room room = rooms[i];
+            temperatures[i] = room.getTemperature();
+            set(hvac, i, room.isHVACon());
+            set(awayLights, i, room.isAwayLight());
+            for (Door door : room.getDoors()) {
+                if (door != null) {
+                    set(doorsOpen, doorOffsets[i] + door.slot, door.isOpen());
+                    set(doorsLocked, doorOffsets[i] + door.slot, door.isLocked());
+                }
+            }
+            for (Light light : room.getLights()) {
+                if (light != null) {
+                    set(lightsOn, lightOffsets[i] + light.slot, light.isOn());
+                }
+            }
+            for (Window window : room.getWindows()) {
+                if (window != null) {
+                    set(windows, windowOffsets[i] + window.slot, true);
+                    set(windowsOpen, windowOffsets[i] + window.slot, window.isOpen());
+                    set(windowsBlocked, windowOffsets[i] + window.slot, window.isBlocked());
+                }
+            }
+            room.attach(this, i);
+        }
+    }
+
+    /*
+     * Detaches every room from this store, copying its state back into it.
+     */
+    void release() {
+        for (int i = 0; i < rooms.length; i++) {
+            rooms[i].detach(temperatures[i], get(hvac, i), get(awayLights, i));
+        }
+    }
+
+    private static int words(int bits) {
+        return (bits + (1 << ADDRESS_BITS) - 1) >>> ADDRESS_BITS;
+    }
+
+    private static boolean get(long[] bitmap, int bit) {
+        return (bitmap[bit >>> ADDRESS_BITS] & 1L << bit) != 0;
+    }
+
+    private static void set(long[] bitmap, int bit, boolean flag) {
+        if (flag) {
+            bitmap[bit >>> ADDRESS_BITS] |= 1L << bit;
+        } else {
+            bitmap[bit >>> ADDRESS_BITS] &= ~(1L << bit);
+        }
+    }
+
+    private static int count(long[] bitmap, int from, int to) {
+        int count = 0;
+        for (int bit = from; bit < to; bit++) {
+            if (get(bitmap, bit)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int count(long[] bitmap) {
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of {@code Room}s in this {@code RoomStateStore}
+     */
+    public int size() {
+        return rooms.length;
+    }
+
+    /**
+     * @param index The specified index
+     * @return The {@code Room} at the specified {@code index} of this {@code RoomStateStore}
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public Room getRoom(int index) {
+        return rooms[index];
+    }
+
+    /**
+     * @param index The specified index
+     * @return The location of the {@code Room} at the specified {@code index} of this {@code RoomStateStore}
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public String getLocation(int index) {
+        return locations[index];
+    }
+
+    /**
+     * Provides the temperatures of the {@code Room}s in this {@code RoomStateStore}, by index. The returned array is
+     * the store itself rather than a copy: writing to it sets the temperature of the corresponding {@code Room}.
+     *
+     * @return The temperatures of the {@code Room}s in this {@code RoomStateStore}
+     */
+    public double[] temperatures() {
+        return temperatures;
+    }
+
+    /**
+     * @param index The specified index
+     * @return The temperature of the {@code Room} at the specified {@code index}
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public double getTemperature(int index) {
+        return temperatures[index];
+    }
+
+    /**
+     * Sets the temperature of the {@code Room} at the specified {@code index} to that specified.
+     *
+     * @param index The specified index
+     * @param temperature The specified temperature
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public void setTemperature(int index, double temperature) {
+        temperatures[index] = temperature;
+    }
+
+    /**
+     * Provides the HVAC states of the {@code Room}s in this {@code RoomStateStore} as a bitmap, in which the state of
+     * the {@code Room} at index {@code i} is bit {@code i % 64} of word {@code i / 64}. The returned array is the store
+     * itself rather than a copy: setting a bit in it turns on the HVAC of the corresponding {@code Room}.
+     *
+     * @return The HVAC states of the {@code Room}s in this {@code RoomStateStore}
+     */
+    public long[] hvac() {
+        return hvac;
+    }
+
+    /**
+     * @param index The specified index
+     * @return {@code true} if the HVAC is on in the {@code Room} at the specified {@code index}
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public boolean isHVACOn(int index) {
+        checkIndex(index);
+        return get(hvac, index);
+    }
+
+    /**
+     * Sets the HVAC state of the {@code Room} at the specified {@code index} to that specified.
+     *
+     * @param index The specified index
+     * @param state The specified HVAC state
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public void setHVAC(int index, boolean state) {
+        checkIndex(index);
+        set(hvac, index, state);
+    }
+
+    /**
+     * @param index The specified index
+     * @return {@code true} if the {@code Room} at the specified {@code index} is lit during {@code AwayMode}
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public boolean isAwayLight(int index) {
+        checkIndex(index);
+        return get(awayLights, index);
+    }
+
+    void setAwayLight(int index, boolean flag) {
+        if (get(awayLights, index) != flag) {
+            set(awayLights, index, flag);
+            awayLightChanges++;
+        }
+    }
+
+    /**
+     * Provides the index of the first {@code Room} at or after the specified {@code index} that is lit during {@code
+     * AwayMode}. Rooms that are not are skipped a word of the bitmap at a time, so visiting every such {@code Room} costs
+     * little more than the number of them.
+     *
+     * @param index The specified index
+     * @return The index of the next {@code Room} lit during {@code AwayMode}, or -1 if there is none
+     */
+    public int nextAwayLight(int index) {
+        if (index < 0) {
+            index = 0;
+        }
+        int word = index >>> ADDRESS_BITS;
+        if (word >= awayLights.length) {
+            return -1;
+        }
+        long bits = awayLights[word] & -1L << index;
+        while (bits == 0) {
+            if (++word == awayLights.length) {
+                return -1;
+            }
+            bits = awayLights[word];
+        }
+        return (word << ADDRESS_BITS) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * @return A number that changes whenever a {@code Room} of this {@code RoomStateStore} is made lit, or no longer
+     * lit, during {@code AwayMode}
+     */
+    public int getAwayLightChanges() {
+        return awayLightChanges;
+    }
+
+    /**
+     * @return The number of {@code Room}s in this {@code RoomStateStore} whose HVAC is on
+     */
+    public int getNumberOfHVACOn() {
+        return count(hvac);
+    }
+
+    /**
+     * @param index The specified index
+     * @return The number of open {@code Window}s in the {@code Room} at the specified {@code index}
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public int getNumberOfWindowsOpen(int index) {
+        return count(windowsOpen, windowOffsets[index], windowOffsets[index + 1]);
+    }
+
+    /**
+     * @param index The specified index
+     * @return The number of blocked {@code Window}s in the {@code Room} at the specified {@code index}
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public int getNumberOfWindowsBlocked(int index) {
+        return count(windowsBlocked, windowOffsets[index], windowOffsets[index + 1]);
+    }
+
+    /**
+     * Opens or closes every {@code Window} of the {@code Room} at the specified {@code index} that is not blocked, and
+     * turns its HVAC off or on accordingly, as {@link Room#toggleWindows(boolean)} does. The {@code Window}s to change
+     * are found from the bitmaps of this {@code RoomStateStore}, so that the {@code Room} and its {@code Window}s are
+     * only visited when one of them actually changes.
+     *
+     * @param index The specified index
+     * @param flag If {@code true}, the {@code Window}s shall be opened
+     * @throws ArrayIndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public void toggleWindows(int index, boolean flag) {
+        checkIndex(index);
+        boolean movable = false;
+        boolean changed = false;
+        for (int bit = windowOffsets[index]; bit < windowOffsets[index + 1]; bit++) {
+            if (get(windows, bit) && !get(windowsBlocked, bit)) {
+                movable = true;
+                changed |= get(windowsOpen, bit) != flag;
+            }
+        }
+        if (changed) {
+            rooms[index].toggleWindows(flag);
+        } else if (movable) {
+            set(hvac, index, !flag);
+        }
+    }
+
+    /**
+     * @return The number of open {@code Door}s in every {@code Room} of this {@code RoomStateStore}
+     */
+    public int getNumberOfOpenDoors() {
+        return count(doorsOpen);
+    }
+
+    /**
+     * @return The number of locked {@code Door}s in every {@code Room} of this {@code RoomStateStore}
+     */
+    public int getNumberOfLockedDoors() {
+        return count(doorsLocked);
+    }
+
+    /**
+     * @return The number of {@code Light}s that are on in every {@code Room} of this {@code RoomStateStore}
+     */
+    public int getNumberOfLightsOn() {
+        return count(lightsOn);
+    }
+
+    /**
+     * @return The number of open {@code Window}s in every {@code Room} of this {@code RoomStateStore}
+     */
+    public int getNumberOfWindowsOpen() {
+        return count(windowsOpen);
+    }
+
+    /**
+     * @return The number of blocked {@code Window}s in every {@code Room} of this {@code RoomStateStore}
+     */
+    public int getNumberOfWindowsBlocked() {
+        return count(windowsBlocked);
+    }
+
+    /*
+     * The following are invoked by attached rooms whenever the element in the specified slot of the room at the
+     * specified index changes state.
+     */
+
+    void setDoorOpen(int index, int slot, boolean flag) {
+        set(doorsOpen, doorOffsets[index] + slot, flag);
+    }
+
+    void setDoorLocked(int index, int slot, boolean flag) {
+        set(doorsLocked, doorOffsets[index] + slot, flag);
+    }
+
+    void setLightOn(int index, int slot, boolean flag) {
+        set(lightsOn, lightOffsets[index] + slot, flag);
+    }
+
+    void setWindowOpen(int index, int slot, boolean flag) {
+        set(windowsOpen, windowOffsets[index] + slot, flag);
+    }
+
+    void setWindowBlocked(int index, int slot, boolean flag) {
+        set(windowsBlocked, windowOffsets[index] + slot, flag);
+    }
+
+    // Bits past the last room share a word with valid ones, so their indices must be rejected explicitly
+    private void checkIndex(int index) {
+        if (index < 0 || index >= rooms.length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+    }
+
+}
@@ -5,6 +5,9 @@ import java.util.*;
 /**
  * A {@code TemperatureControlZone} contains many rooms and can adjust the temperature of all contained rooms. The user
  * can add and remove rooms from a {@code TemperatureControlZone}.
+ * <p>
+ * Zones may share an index of the zone that each room belongs to, which they keep up to date as rooms are added and
+ * removed. A room belongs to at most one of the zones sharing an index: adding it to one removes it from any other.
  *
  * @author Émilie Martin
  * @author Ayman Shehri
@@ -23,30 +26,48 @@ public class TemperatureControlZone {
 
     private final Set<String> rooms;
     private final Map<String, Double> overridden;
-    private final Double[] desiredTemperature;
+    private final double[] desiredTemperature; // Periods without a temperature of their own are NaN
+    private final Map<String, TemperatureControlZone> index;
 
     /**
-     * Constructs a {@code TemperatureControlZone} with no rooms.
+     * Constructs a {@code TemperatureControlZone} with no rooms, that shares its index with no other zone.
      */
     public TemperatureControlZone() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Constructs a {@code TemperatureControlZone} with no rooms, that records the rooms it contains in the specified
+     * {@code index}.
+     *
+     * @param index A map from each room to the {@code TemperatureControlZone} that contains it, shared with other zones
+     * @throws NullPointerException If the specified {@code index} is {@code null}
+     */
+    public TemperatureControlZone(Map<String, TemperatureControlZone> index) {
         rooms = new HashSet<>();
         overridden = new HashMap<>();
-        desiredTemperature = new Double[] {DEFAULT_DESIRED_TEMPERATURE, null, null};
+        desiredTemperature = new double[] {DEFAULT_DESIRED_TEMPERATURE, Double.NaN, Double.NaN};
+        this.index = Objects.requireNonNull(index);
     }
 
     /**
      * @return The rooms contained within this {@code TemperatureControlZone}
      */
     public Set<String> getRooms() {
-        return this.rooms;
+        return Collections.unmodifiableSet(this.rooms);
     }
 
     /**
-     * Adds a {@code room} to this {@code TemperatureControlZone}.
+     * Adds a {@code room} to this {@code TemperatureControlZone}, removing it from any other zone that shares its
+     * index.
      *
      * @param room The {@code Room} to be added to the specified {@code TemperatureControlZone}
      */
     public void addRoom(String room) {
+        TemperatureControlZone previous = index.put(room, this);
+        if (previous != null && previous != this) {
+            previous.rooms.remove(room);
+        }
         rooms.add(room);
     }
 
@@ -56,7 +77,9 @@ public class TemperatureControlZone {
      * @param room The {@code Room} to be removed from the specified {@code TemperatureControlZone}
      */
     public void removeRoom(String room) {
-        rooms.remove(room);
+        if (rooms.remove(room)) {
+            index.remove(room, this);
+        }
     }
 
     /**
@@ -64,9 +87,15 @@ public class TemperatureControlZone {
      * @return The ideal temperature of this {@code TemperatureControlZone}
      */
     public double getDesiredTemperatureFor(String room, int period) {
-        Double desiredTemperature = overridden.get(room);
-        while (desiredTemperature == null) {
-            desiredTemperature = this.desiredTemperature[period--];
+        if (!overridden.isEmpty()) {
+            Double overriddenTemperature = overridden.get(room);
+            if (overriddenTemperature != null) {
+                return overriddenTemperature;
+            }
+        }
+        double desiredTemperature = this.desiredTemperature[period];
+        while (Double.isNaN(desiredTemperature) && period > 0) {
+            desiredTemperature = this.desiredTemperature[--period];
         }
         return desiredTemperature;
     }
@@ -113,9 +142,14 @@ public class TemperatureControlZone {
 
     /**
      * Provides the desired temperatures for this {@code TemperatureControlZone} for the different periods in the day.
-     * @return The desired temperatures for this {@code TemperatureControlZone}
+     * @return The desired temperatures for this {@code TemperatureControlZone}, which are {@code null} for periods
+     * that have none of their own
      */
     public Double[] getDesiredTemperatures() {
-        return desiredTemperature;
+        Double[] temperatures = new Double[NUM_PERIODS];
+        for (int i = 0; i < NUM_PERIODS; i++) {
+            temperatures[i] = Double.isNaN(desiredTemperature[i]) ? null : desiredTemperature[i];
+        }
+        return temperatures;
     }
 }
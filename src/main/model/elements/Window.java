@@ -17,6 +17,8 @@ public class Window extends AbstractManipulable {
 
     private boolean open;
     private boolean blocked;
+    Room room; // The Room whose counters this Window contributes to, if any
+    int slot; // The index of this Window in that Room
 
     /**
      * Constructs a {@code Window} with a {@value DEFAULT_OPEN_VALUE} open state and a {@value DEFAULT_OBSTRUCTED_VALUE}
@@ -61,6 +63,9 @@ public class Window extends AbstractManipulable {
         if (blocked) {
             throw new IllegalStateException("Please unblock this window first.");
         }
+        if (this.open != open && room != null) {
+            room.updateWindowsOpen(slot, open);
+        }
         this.open = open;
     }
 
@@ -70,6 +75,9 @@ public class Window extends AbstractManipulable {
      * @param blocked The specified obstructed state
      */
     public void setBlocked(boolean blocked) {
+        if (this.blocked != blocked && room != null) {
+            room.updateWindowsBlocked(slot, blocked);
+        }
         this.blocked = blocked;
     }
 
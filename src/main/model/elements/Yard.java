@@ -2,33 +2,30 @@ package main.model.elements;
 
 /**
  * A {@code Yard} is considered as being all the space excluding the contents of the {@code House}.
- * Placing people outside the {@code House} puts them in the {@code Yard}.
+ * Placing people outside the {@code House} puts them in the {@code Yard}. Every {@code House} has a {@code Yard} of its
+ * own.
  *
  * @author Ayman Shehri
+ * @see House#getYard()
  */
 public class Yard extends Place {
 
-    // Singleton object
-    private static volatile Yard yard;
+    // Initialized on first use by the class loader, which guarantees safe publication
+    private static class Holder {
+        static final Yard YARD = new Yard();
+    }
 
     private final Light light = new Light();
 
     /**
-     * Get the {@code Yard} of a {@code House}
+     * Get a {@code Yard} that is shared by the whole application.
      *
      * @return The {@code Yard} object
+     * @deprecated This {@code Yard} does not belong to any {@code House}; use {@link House#getYard()} instead
      */
+    @Deprecated
     public static Yard getInstance() {
-        if (yard == null) {
-            synchronized (Yard.class) {
-                if (yard == null) {
-                    synchronized (Yard.class) {
-                        yard = new Yard();
-                    }
-                }
-            }
-        }
-        return yard;
+        return Holder.YARD;
     }
 
     /**
@@ -39,4 +36,11 @@ public class Yard extends Place {
         light.setOn(on);
     }
 
+    /**
+     * @return {@code true} if this {@code Yard}'s {@code Light} is on
+     */
+    public boolean isLightOn() {
+        return light.isOn();
+    }
+
 }
@@ -15,7 +15,7 @@ import java.util.Objects;
 public class AwayMode extends AbstractManipulable {
 
     private static final boolean AWAY_MODE_ON = false;
-    private static final int AWAY_MODE_DELAY = 10_000; // in seconds
+    private static final int AWAY_MODE_DELAY = 10_000; // in milliseconds
     public static final LocalTime DEFAULT_AWAY_LIGHT_START = LocalTime.of(18, 0);
     public static final LocalTime DEFAULT_AWAY_LIGHT_END = LocalTime.of(0, 0);
 
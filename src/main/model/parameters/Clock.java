@@ -1,10 +1,10 @@
 package main.model.parameters;
 
-import javax.swing.*;
 import java.time.LocalTime;
 
 /**
- * The {@code Clock} class is a facility for measuring the passage of time.
+ * The {@code Clock} class is a facility for measuring the passage of time. A {@code Clock} does not advance on its own;
+ * it is driven by whatever is stepping the simulation (see {@link #advance(long)}).
  *
  * @author Philippe Vo
  */
@@ -13,9 +13,10 @@ public class Clock {
     public static final int SECONDS_PER_MILLISECOND = 1000;
     private static final int NUM_FIELDS = 3;
     public static final int HOURS = 0, MINUTES = 1, SECONDS = 2;
-    private static final int SECONDS_PER_MINUTE = 60;
-    private static final int SECONDS_PER_HOUR = SECONDS_PER_MINUTE * SECONDS_PER_MINUTE;
+    public static final int SECONDS_PER_MINUTE = 60;
+    public static final int SECONDS_PER_HOUR = SECONDS_PER_MINUTE * SECONDS_PER_MINUTE;
     private static final int HOURS_PER_DAY = 24;
+    public static final int SECONDS_PER_DAY = SECONDS_PER_HOUR * HOURS_PER_DAY;
 
     private final int[] clockTime;
     private long referenceTime;
@@ -26,24 +27,22 @@ public class Clock {
      */
     public Clock() {
         LocalTime now = LocalTime.now();
-        Timer timer;
 
         clockTime = new int[NUM_FIELDS];
         referenceTime = now.getHour() * SECONDS_PER_HOUR + now.getMinute() * SECONDS_PER_MINUTE + now.getSecond();
         multiplier = 1;
+    }
 
-        timer = new Timer(SECONDS_PER_MILLISECOND, e -> {
-            referenceTime = referenceTime + multiplier; // increment clock
-            clockTime[HOURS] = (int) referenceTime / SECONDS_PER_HOUR;
-
-            if (clockTime[HOURS] < HOURS_PER_DAY) {
-                clockTime[MINUTES] = ((int) referenceTime % SECONDS_PER_HOUR) / SECONDS_PER_MINUTE;
-                clockTime[SECONDS] = (int) (referenceTime % SECONDS_PER_MINUTE);
-            } else {
-                referenceTime = clockTime[HOURS] = clockTime[MINUTES] = clockTime[SECONDS] = 0;
-            }
-        });
-        timer.start();
+    /**
+     * Advances this {@code Clock} by the specified number of {@code seconds}. The time wraps around at midnight.
+     *
+     * @param seconds The specified number of seconds
+     */
+    public void advance(long seconds) {
+        referenceTime = (referenceTime + seconds) % SECONDS_PER_DAY;
+        clockTime[HOURS] = (int) (referenceTime / SECONDS_PER_HOUR);
+        clockTime[MINUTES] = (int) (referenceTime % SECONDS_PER_HOUR) / SECONDS_PER_MINUTE;
+        clockTime[SECONDS] = (int) (referenceTime % SECONDS_PER_MINUTE);
     }
 
     /**
@@ -55,6 +54,13 @@ public class Clock {
         this.multiplier = multiplier;
     }
 
+    /**
+     * @return The number of seconds past midnight that this {@code Clock} is set to
+     */
+    public int getSecondOfDay() {
+        return (int) referenceTime;
+    }
+
     /**
      * @return The current time this {@code Clock} is set to
      */
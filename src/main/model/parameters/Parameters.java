@@ -50,9 +50,11 @@ public class Parameters {
     private boolean on;
     private boolean autoLight;
     private final AwayMode awayMode;
-    private Map<String, Permission> permissions;
+    private final Map<String, Permission> permissions; // Each level belongs to these Parameters alone
+    private volatile PermissionMatrix permissionMatrix; // Rebuilt on demand, once the Permission levels have changed
     private final Clock clock = new Clock();
     private final Map<String, TemperatureControlZone> zones;
+    private final Map<String, TemperatureControlZone> zoneIndex; // Maps each room to the zone that contains it
 
     /**
      * Constructs a new {@code Parameters} object.
@@ -69,6 +71,7 @@ public class Parameters {
         awayMode = new AwayMode();
         permissions = new HashMap<>();
         zones = new HashMap<>();
+        zoneIndex = new HashMap<>();
         fillPermissionMap();
     }
 
@@ -243,7 +246,7 @@ public class Parameters {
     }
 
     /**
-     * @return The AwayMode delay (in seconds)
+     * @return The AwayMode delay (in milliseconds)
      */
     public int getAwayDelay() {
         return awayMode.getAwayModeDelay();
@@ -252,7 +255,7 @@ public class Parameters {
     /**
      * Set AwayMode delay to specified value.
      *
-     * @param delay The new AwayMode delay
+     * @param delay The new AwayMode delay (in milliseconds)
      */
     public void setAwayDelay(int delay) {
         awayMode.setAwayModeDelay(delay);
@@ -274,6 +277,13 @@ public class Parameters {
         this.autoLight = autoLight;
     }
 
+    /**
+     * @return The time, as a number of seconds past midnight
+     */
+    public int getSecondOfDay() {
+        return clock.getSecondOfDay();
+    }
+
     /**
      * @return The time
      */
@@ -281,6 +291,16 @@ public class Parameters {
         return clock.getTime();
     }
 
+    /**
+     * Advances the {@code Clock} of these {@code Parameters} by the specified number of {@code seconds}, regardless of
+     * its multiplier.
+     *
+     * @param seconds The specified number of seconds
+     */
+    public void advanceClock(long seconds) {
+        clock.advance(seconds);
+    }
+
     /**
      * Set time multiplier
      *
@@ -307,13 +327,36 @@ public class Parameters {
     }
 
     /**
-     * Sets the {@code permission} levels available to the simulation to that specified.
+     * Provides a summary of the {@code Action}s that each of the {@code Permission} levels available to the simulation is
+     * allowed to take. The summary is only rebuilt once those levels have changed.
+     *
+     * @return The {@code PermissionMatrix} of the {@code Permission} levels available to the simulation
+     */
+    public PermissionMatrix getPermissionMatrix() {
+        PermissionMatrix matrix = permissionMatrix;
+        if (matrix == null || !matrix.isCurrent(permissions)) {
+            permissionMatrix = matrix = PermissionMatrix.of(permissions);
+        }
+        return matrix;
+    }
+
+    /**
+     * Sets the {@code permission} levels available to the simulation to those specified. A level that the simulation
+     * already has keeps its {@code Permission}, which is made to allow the {@code Action}s of the specified one, so that
+     * the user and the actors at that level are affected too. Levels that are not specified are left as they are.
      *
      * @param permissions The specified {@code Permission} levels
      * @throws NullPointerException if the specified {@code permission}s are {@code null}
      */
     public void setPermissions(Map<String, Permission> permissions) {
-        this.permissions = Objects.requireNonNull(permissions);
+        for (Map.Entry<String, Permission> level : permissions.entrySet()) {
+            Permission current = this.permissions.get(level.getKey());
+            if (current instanceof AbstractPermission && current.getClass() == level.getValue().getClass()) {
+                ((AbstractPermission) current).allowOnly(level.getValue().allowed());
+            } else {
+                this.permissions.put(level.getKey(), Objects.requireNonNull(level.getValue()));
+            }
+        }
     }
 
     /**
@@ -363,7 +406,7 @@ public class Parameters {
         if (zones.containsKey(validateName(id))) {
             throw new IllegalArgumentException("A zone with that name already exists.");
         }
-        TemperatureControlZone zone = new TemperatureControlZone();
+        TemperatureControlZone zone = new TemperatureControlZone(zoneIndex);
         zones.putIfAbsent(validateName(id), zone);
         return zone;
     }
@@ -374,20 +417,37 @@ public class Parameters {
      * @param id The {@code TemperatureControlZone} identifier
      */
     public void removeZone(String id) {
-        zones.remove(id);
+        TemperatureControlZone zone = zones.remove(id);
+        if (zone != null) {
+            for (String room : zone.getRooms()) {
+                zoneIndex.remove(room, zone);
+            }
+        }
     }
 
     /**
      * @param room The inquired {@code room}
      * @return The {@code TemperatureControlZone} that contains the given {@code room}
+     * @throws NoSuchElementException If the given {@code room} is not in any {@code TemperatureControlZone}
+     * @see #zoneOf(String)
      */
     public TemperatureControlZone getTemperatureControlZone(String room) {
-        for (TemperatureControlZone zone : zones.values()) {
-            if (zone.getRooms().contains(room)) {
-                return zone;
-            }
+        TemperatureControlZone zone = zoneIndex.get(room);
+        if (zone == null) {
+            throw new NoSuchElementException("That room is not in any zone.");
         }
-        throw new NoSuchElementException();
+        return zone;
+    }
+
+    /**
+     * Provides the {@code TemperatureControlZone} that contains the specified {@code room}, or {@code null} if it is
+     * not in any zone of these {@code Parameters}.
+     *
+     * @param room The specified room
+     * @return The {@code TemperatureControlZone} that contains the specified {@code room}
+     */
+    public TemperatureControlZone zoneOf(String room) {
+        return zoneIndex.get(room);
     }
 
     /**
@@ -398,11 +458,8 @@ public class Parameters {
      * @return {@code true} if the specified {@code location} has had its temperature overridden
      */
     public boolean isTemperatureOverridden(String location) {
-        try {
-            return getTemperatureControlZone(location).isOverridden(location);
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        TemperatureControlZone zone = zoneIndex.get(location);
+        return zone != null && zone.isOverridden(location);
     }
 
     /**
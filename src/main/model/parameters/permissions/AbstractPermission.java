@@ -3,32 +3,83 @@ package main.model.parameters.permissions;
 import main.model.Action;
 import main.util.PermissionDeniedException;
 
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
- * The {@code AbstractPermission} class provides a minimal implementation of the {@code Permission} interface.
+ * The {@code AbstractPermission} class provides a minimal implementation of the {@code Permission} interface. The
+ * {@code Action}s that an {@code AbstractPermission} allows are held as an immutable bitmask, which is replaced as a
+ * whole whenever they are changed. Authorization therefore reads them without locking, from any number of threads,
+ * while another thread changes them.
  *
  * @author Jeff Wilgus
  */
 public abstract class AbstractPermission implements Permission {
 
+    private volatile long allowed; // The bit at the ordinal of each allowed Action is set
+
+    /**
+     * Constructs a new {@code AbstractPermission} that allows the specified {@code Action}s.
+     *
+     * @param allowed The {@code Action}s allowed at this {@code Permission} level
+     * @throws NullPointerException If the specified {@code Action}s are {@code null}
+     */
+    protected AbstractPermission(Set<Action> allowed) {
+        this.allowed = PermissionMatrix.maskOf(Objects.requireNonNull(allowed));
+    }
+
     @Override
     public Action authorize(Action action) {
-        if (!allowed().contains(Objects.requireNonNull(action))) {
+        if ((allowed & PermissionMatrix.bit(action)) == 0) {
             throw new PermissionDeniedException(
                     "This action is not permissible with the level of permission you currently have.");
         }
         return action;
     }
 
+    /**
+     * Provides a snapshot of the {@code Action}s that this {@code Permission} level is allowed to perform. Changes to
+     * the snapshot have no effect on this {@code Permission}.
+     *
+     * @return The set of this {@code Permission}'s allowed {@code Action}s
+     */
     @Override
-    public void allow(Action action) {
-        allowed().add(action);
+    public Set<Action> allowed() {
+        long mask = allowed;
+        Set<Action> actions = EnumSet.noneOf(Action.class);
+        for (Action action : Action.values()) {
+            if ((mask & PermissionMatrix.bit(action)) != 0) {
+                actions.add(action);
+            }
+        }
+        return actions;
     }
 
+    // Edits are serialized, so that none is lost to another made at the same time
     @Override
-    public void disallow(Action action) {
-        allowed().remove(action);
+    public synchronized void allow(Action action) {
+        allowed |= PermissionMatrix.bit(action);
+    }
+
+    @Override
+    public synchronized void disallow(Action action) {
+        allowed &= ~PermissionMatrix.bit(action);
+    }
+
+    /**
+     * Replaces the {@code Action}s that this {@code Permission} level is allowed to perform with those specified, all at
+     * once.
+     *
+     * @param actions The specified {@code Action}s
+     * @throws NullPointerException If the specified {@code actions} are {@code null}
+     */
+    public synchronized void allowOnly(Set<Action> actions) {
+        allowed = PermissionMatrix.maskOf(Objects.requireNonNull(actions));
+    }
+
+    long mask() {
+        return allowed;
     }
 
     @Override
@@ -36,12 +87,12 @@ public abstract class AbstractPermission implements Permission {
         if (!(obj instanceof AbstractPermission)) {
             return false;
         }
-        return allowed().equals(((AbstractPermission) obj).allowed());
+        return allowed == ((AbstractPermission) obj).allowed;
     }
 
     @Override
     public int hashCode() {
-        return allowed().hashCode();
+        return Long.hashCode(allowed);
     }
 
     @Override
@@ -3,6 +3,7 @@ package main.model.parameters.permissions;
 import main.model.Action;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -16,13 +17,15 @@ import java.util.stream.Collectors;
 public class ChildPermission extends AbstractPermission {
 
     // Filter the array containing all Actions on the Action.isChildPermissible predicate.
-    private static final Set<Action> ALLOWED = EnumSet.copyOf(
+    private static final Set<Action> DEFAULT = Collections.unmodifiableSet(EnumSet.copyOf(
         Arrays.stream(Action.values()).filter(Action::isChildPermissible).collect(Collectors.toSet())
-    );
+    ));
 
-    @Override
-    public Set<Action> allowed() {
-        return ALLOWED;
+    /**
+     * Constructs a new {@code ChildPermission} that allows the {@code Action}s a child is allowed by default.
+     */
+    public ChildPermission() {
+        super(DEFAULT);
     }
 
 }
@@ -3,6 +3,7 @@ package main.model.parameters.permissions;
 import main.model.Action;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -16,13 +17,15 @@ import java.util.stream.Collectors;
 public class GuestPermission extends AbstractPermission {
 
     // Filter the set of all Actions on the Action.isGuestPermissible predicate.
-    private static final Set<Action> ALLOWED = EnumSet.copyOf(
+    private static final Set<Action> DEFAULT = Collections.unmodifiableSet(EnumSet.copyOf(
         Arrays.stream(Action.values()).filter(Action::isGuestPermissible).collect(Collectors.toSet())
-    );
+    ));
 
-    @Override
-    public Set<Action> allowed() {
-        return ALLOWED;
+    /**
+     * Constructs a new {@code GuestPermission} that allows the {@code Action}s a guest is allowed by default.
+     */
+    public GuestPermission() {
+        super(DEFAULT);
     }
 
 }
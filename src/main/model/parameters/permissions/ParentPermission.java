@@ -2,6 +2,7 @@ package main.model.parameters.permissions;
 
 import main.model.Action;
 
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
 
@@ -14,11 +15,13 @@ import java.util.Set;
 public class ParentPermission extends AbstractPermission {
 
     // A parent can perform all actions.
-    private static final Set<Action> ALLOWED = EnumSet.allOf(Action.class);
+    private static final Set<Action> DEFAULT = Collections.unmodifiableSet(EnumSet.allOf(Action.class));
 
-    @Override
-    public Set<Action> allowed() {
-        return ALLOWED;
+    /**
+     * Constructs a new {@code ParentPermission} that allows the {@code Action}s a parent is allowed by default.
+     */
+    public ParentPermission() {
+        super(DEFAULT);
     }
 
 }
@@ -33,18 +33,19 @@ public interface Permission {
     Set<Action> allowed();
 
     /**
-     * Adds the specified {@code action} to this {@code Permission} level's permissible {@code Action}s.
-     * Applied to a {@code Permission}, it is applied to all other permissions of the same level.
-     *      e.g.: adding the ToggleDoor action to a child-level Permission grants that permission to all child-level users
+     * Adds the specified {@code action} to this {@code Permission} level's permissible {@code Action}s. Every {@code
+     * Parameters} has {@code Permission}s of its own, so doing so affects the actors at this level in one simulation
+     * only.
+     *      e.g.: adding the ToggleDoor action to the child-level Permission of a simulation grants that permission to
+     *      all child-level users of that simulation
      *
      * @param action The {@code Action} to be added to this {@code Permission}
      */
     void allow(Action action);
 
     /**
-     * Removes the specified {@code action} from this {@code Permission} level's permissible {@code Actions}.
-     * Applied to a {@code Permission}, it is applied to all other permissions of the same level.
-     *      e.g.: removing the ToggleDoor action to a child-level Permission removes that permission for all child-level users
+     * Removes the specified {@code action} from this {@code Permission} level's permissible {@code Actions}. As with
+     * {@link #allow}, doing so affects one simulation only.
      *
      * @param action The {@code Action} to be removed from this {@code Permission}
      */
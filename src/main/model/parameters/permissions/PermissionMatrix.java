@@ -0,0 +1,170 @@
+package main.model.parameters.permissions;
+
+import main.model.Action;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@code PermissionMatrix} is an immutable summary of the {@code Action}s that each {@code Permission} level of a
+ * simulation is allowed to take. Each level is summarized by a bitmask in which the bit at the {@code ordinal} of an
+ * {@code Action} is set if and only if the level is allowed to take it, so that authorizing an {@code Action} is a
+ * single bit test. A {@code PermissionMatrix} does not change along with the {@code Permission}s it summarizes; it must
+ * be rebuilt when they do.
+ *
+ * @author Jeff Wilgus
+ * @see Permission
+ */
+public final class PermissionMatrix {
+
+    /**
+     * The indices of the {@code Permission} levels in a {@code PermissionMatrix}.
+     */
+    public static final int PARENT = 0, CHILD = 1, GUEST = 2, STRANGER = 3;
+
+    private static final String[] LEVELS = {"Parent", "Child", "Guest", "Stranger"};
+
+    static {
+        // Every Action must have a bit of its own in a mask.
+        if (Action.values().length > Long.SIZE) {
+            throw new AssertionError();
+        }
+    }
+
+    private final Permission[] permissions = new Permission[LEVELS.length];
+    private final long[] masks = new long[LEVELS.length];
+
+    private PermissionMatrix(Map<String, Permission> permissions) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            Permission permission = this.permissions[i] = permissions.get(LEVELS[i]);
+            masks[i] = permission == null ? 0 : maskOf(permission);
+        }
+    }
+
+    /**
+     * Summarizes the specified {@code permissions} as they are now. A level missing from the specified {@code
+     * permissions} is allowed to take no {@code Action}s.
+     *
+     * @param permissions The specified {@code Permission} levels, by name
+     * @return A {@code PermissionMatrix} of the specified {@code permissions}
+     * @throws NullPointerException If the specified {@code permissions} are {@code null}
+     */
+    public static PermissionMatrix of(Map<String, Permission> permissions) {
+        return new PermissionMatrix(permissions);
+    }
+
+    /**
+     * Tells whether this {@code PermissionMatrix} still summarizes the specified {@code permissions}: that each level
+     * is the same {@code Permission} it was built from, and allows the same {@code Action}s it did then.
+     *
+     * @param permissions The specified {@code Permission} levels, by name
+     * @return {@code true} if this {@code PermissionMatrix} need not be rebuilt for the specified {@code permissions}
+     * @throws NullPointerException If the specified {@code permissions} are {@code null}
+     */
+    public boolean isCurrent(Map<String, Permission> permissions) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            Permission permission = permissions.get(LEVELS[i]);
+            if (permission != this.permissions[i] || permission != null && maskOf(permission) != masks[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Provides the index in a {@code PermissionMatrix} of the {@code Permission} level with the specified name.
+     *
+     * @param level The name of the specified {@code Permission} level, e.g. "Parent"
+     * @return The index of the specified {@code level}, or -1 if there is no such level
+     */
+    public static int levelOf(String level) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equals(level)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The number of {@code Permission} levels in a {@code PermissionMatrix}
+     */
+    public static int levels() {
+        return LEVELS.length;
+    }
+
+    /**
+     * Tells whether the {@code Permission} level at the specified index is allowed to take the specified {@code
+     * action}.
+     *
+     * @param level The index of the specified {@code Permission} level
+     * @param action The specified {@code Action}
+     * @return {@code true} if the specified {@code level} is allowed to take the specified {@code action}
+     * @throws ArrayIndexOutOfBoundsException If there is no {@code Permission} level at the specified index
+     * @throws NullPointerException If the specified {@code action} is {@code null}
+     */
+    public boolean isAllowed(int level, Action action) {
+        return (masks[level] & bit(action)) != 0;
+    }
+
+    /**
+     * Provides the bitmask of the {@code Action}s that the {@code Permission} level at the specified index is allowed to
+     * take.
+     *
+     * @param level The index of the specified {@code Permission} level
+     * @return The bitmask of the {@code Action}s allowed at the specified {@code level}
+     * @throws ArrayIndexOutOfBoundsException If there is no {@code Permission} level at the specified index
+     */
+    public long maskOf(int level) {
+        return masks[level];
+    }
+
+    /**
+     * Summarizes the permissibility of the specified {@code action} by each {@code Permission} level, in the order of
+     * their indices.
+     *
+     * @param action The specified {@code Action}
+     * @return Whether each {@code Permission} level is allowed to take the specified {@code action}
+     * @throws NullPointerException If the specified {@code action} is {@code null}
+     */
+    public boolean[] permissibilityOf(Action action) {
+        boolean[] permissible = new boolean[masks.length];
+        long bit = bit(action);
+        for (int i = 0; i < masks.length; i++) {
+            permissible[i] = (masks[i] & bit) != 0;
+        }
+        return permissible;
+    }
+
+    /**
+     * Provides the bit that stands for the specified {@code action} in a mask.
+     *
+     * @param action The specified {@code Action}
+     * @return The bit of the specified {@code action}
+     * @throws NullPointerException If the specified {@code action} is {@code null}
+     */
+    public static long bit(Action action) {
+        return 1L << action.ordinal();
+    }
+
+    /*
+     * The mask of the Actions that the specified permission is allowed to take.
+     */
+    static long maskOf(Permission permission) {
+        if (permission instanceof AbstractPermission) {
+            return ((AbstractPermission) permission).mask();
+        }
+        return maskOf(permission.allowed());
+    }
+
+    static long maskOf(Set<Action> actions) {
+        long mask = 0;
+        if (actions != null) {
+            for (Action action : actions) {
+                mask |= bit(action);
+            }
+        }
+        return mask;
+    }
+
+}
@@ -2,6 +2,7 @@ package main.model.parameters.permissions;
 
 import main.model.Action;
 
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
 
@@ -14,11 +15,13 @@ import java.util.Set;
 public class StrangerPermission extends AbstractPermission {
 
     // A stranger can perform no actions.
-    private static final Set<Action> ALLOWED = EnumSet.noneOf(Action.class);
+    private static final Set<Action> DEFAULT = Collections.unmodifiableSet(EnumSet.noneOf(Action.class));
 
-    @Override
-    public Set<Action> allowed() {
-        return ALLOWED;
+    /**
+     * Constructs a new {@code StrangerPermission} that allows the {@code Action}s a stranger is allowed by default.
+     */
+    public StrangerPermission() {
+        super(DEFAULT);
     }
 
 }
@@ -0,0 +1,456 @@
+package main.model.simulation;
+
+import main.model.Action;
+import main.model.Manipulable;
+import main.model.MultiValueManipulable;
+import main.model.ValueManipulable;
+import main.model.elements.*;
+import main.model.parameters.AwayMode;
+import main.model.parameters.Parameters;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The {@code ActionJournal} class records every authorized {@code Action} taken on a simulation in an append-only
+ * binary file, so that the simulation can later be reproduced by replaying the journal against the {@code House} and
+ * {@code Parameters} it started from. Each record holds the simulated time at which the {@code Action} was taken, the
+ * {@code Action} itself, its target and the values it was given: a {@code Door}, {@code Light} or {@code Window} is
+ * recorded as the location of its {@code Room} and its wall, the away mode as such, and a {@code ValueManipulable} or
+ * {@code MultiValueManipulable} as the values it holds.
+ * <p>
+ * Records are handed to the operating system as soon as they are recorded, so a crash of the application loses none of
+ * them. They are only forced to disk when the journal is closed, however, so a crash of the operating system or a power
+ * failure may lose the latest records, unless the journal was opened to {@link #ActionJournal(File, boolean) force}
+ * each record to disk as it is written. A record that was only partially written when the application stopped is
+ * ignored when the journal is replayed, as is anything after it. Replaying does not authorize {@code Action}s again,
+ * since they were authorized when recorded.
+ *
+ * @author Jeff Wilgus
+ * @see SimulationCheckpoint
+ */
+public class ActionJournal implements Closeable {
+
+    private static final int MAGIC = 0x4A524E4C; // "JRNL"
+    private static final int VERSION = 1;
+    private static final int INITIAL_CAPACITY = 256;
+
+    /*
+     * The kinds of target that an Action may be recorded with.
+     */
+    private static final byte DOOR = 0, LIGHT = 1, WINDOW = 2, AWAY_MODE = 3, VALUE = 4, MULTI_VALUE = 5;
+
+    /*
+     * The types of value that a ValueManipulable may hold, which are all those the Actions expect.
+     */
+    private static final byte NULL = 0, BOOLEAN = 1, INTEGER = 2, LONG = 3, DOUBLE = 4, STRING = 5, LOCAL_TIME = 6,
+            STRINGS = 7;
+
+    private final FileChannel channel;
+    private final boolean durable; // Whether each record is forced to disk as it is written
+    private ByteBuffer record = ByteBuffer.allocate(INITIAL_CAPACITY);
+    private int records;
+
+    /**
+     * Opens the journal held by the specified {@code file} for recording, creating it if it does not exist.
+     * {@code Action}s recorded by this {@code ActionJournal} are appended to those already in the journal.
+     *
+     * @param file The specified file
+     * @throws IOException If the journal could not be opened
+     * @throws IllegalArgumentException If the specified {@code file} exists, but does not hold a journal
+     */
+    public ActionJournal(File file) throws IOException {
+        this(file, false);
+    }
+
+    /**
+     * Opens the journal held by the specified {@code file} for recording, creating it if it does not exist, and forcing
+     * each record to disk as it is written if the specified {@code durable} flag is set. {@code Action}s recorded by
+     * this {@code ActionJournal} are appended to those already in the journal.
+     *
+     * @param file The specified file
+     * @param durable If {@code true}, each record is forced to disk before {@link #record(long, Action, Manipulable,
+     * House) record} returns, at the cost of a write to disk per record
+     * @throws IOException If the journal could not be opened
+     * @throws IllegalArgumentException If the specified {@code file} exists, but does not hold a journal
+     */
+    public ActionJournal(File file, boolean durable) throws IOException {
+        this.durable = durable;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                writeHeader();
+            } else {
+                ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                readHeader(in);
+                while (nextRecord(in) != null) {
+                    records++;
+                }
+                // Drops a record whose writing was interrupted, so that those recorded from now on can be replayed
+                channel.truncate(in.position());
+                channel.position(in.position());
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the specified {@code action}, taken on the specified {@code target} at the specified simulated {@code
+     * time}, to this {@code ActionJournal}.
+     *
+     * @param time The specified time, in simulated seconds since the start of the simulation
+     * @param action The specified {@code Action}
+     * @param target The {@code Manipulable} on which the specified {@code action} was taken
+     * @param house The {@code House} containing the specified {@code target}, if it is an element of one
+     * @throws IOException If the record could not be written
+     * @throws IllegalArgumentException If the specified {@code target} is an element that does not belong to the
+     * specified {@code house}, or is of a type that cannot be recorded, or holds a value that cannot be recorded
+     * @throws NullPointerException If the specified {@code action} or {@code target} is {@code null}
+     */
+    public synchronized void record(long time, Action action, Manipulable target, House house) throws IOException {
+        while (true) {
+            record.clear();
+            try {
+                record.putInt(0); // The length, which is filled in once the rest has been written
+                record.putLong(time);
+                record.putShort((short) action.ordinal());
+                putTarget(target, house);
+                break;
+            } catch (BufferOverflowException e) {
+                record = ByteBuffer.allocate(record.capacity() * 2);
+            }
+        }
+        record.putInt(0, record.position() - Integer.BYTES);
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        if (durable) {
+            channel.force(false);
+        }
+        records++;
+    }
+
+    /**
+     * @return The number of {@code Action}s in this {@code ActionJournal}, including those recorded before it was
+     * opened
+     */
+    public synchronized int size() {
+        return records;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Performs every {@code Action} recorded in the journal held by the specified {@code file} on the specified {@code
+     * house}, in the context of the specified {@code parameters}, as quickly as possible and without regard to the
+     * times at which they were recorded.
+     *
+     * @param file The specified file
+     * @param house The specified {@code House}, which must have the layout of that on which the journal was recorded
+     * @param parameters The specified {@code Parameters}
+     * @return The number of {@code Action}s performed
+     * @throws IOException If the journal could not be read, or refers to an element that does not exist in the
+     * specified {@code house}
+     * @throws IllegalArgumentException If the specified {@code file} does not hold a journal
+     */
+    public static int replay(File file, House house, Parameters parameters) throws IOException {
+        return replay(file, null, house, parameters);
+    }
+
+    /**
+     * Performs every {@code Action} recorded in the journal held by the specified {@code file} on the simulation driven
+     * by the specified {@code engine}. Before each {@code Action} is performed, the simulation is stepped up to the
+     * time at which it was recorded, so that the simulation evolves exactly as it did when the journal was recorded,
+     * only without waiting for the simulated time to pass.
+     *
+     * @param file The specified file
+     * @param engine The specified {@code SimulationEngine}, whose {@code House} must have the layout of that on which
+     * the journal was recorded
+     * @return The number of {@code Action}s performed
+     * @throws IOException If the journal could not be read, or refers to an element that does not exist in the {@code
+     * House} of the specified {@code engine}
+     * @throws IllegalArgumentException If the specified {@code file} does not hold a journal
+     */
+    public static int replay(File file, SimulationEngine engine) throws IOException {
+        return replay(file, engine, engine.getHouse(), engine.getParameters());
+    }
+
+    private static int replay(File file, SimulationEngine engine, House house, Parameters parameters)
+            throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        Action[] actions = readHeader(in);
+
+        int replayed = 0;
+        ByteBuffer record;
+        while ((record = nextRecord(in)) != null) {
+            long time = record.getLong();
+            int index = record.getShort();
+            if (index < 0 || index >= actions.length) {
+                throw new IOException("The journal refers to an unknown action.");
+            }
+            Manipulable target;
+            try {
+                target = getTarget(record, house, parameters);
+            } catch (BufferUnderflowException e) {
+                throw new IOException("The journal holds a malformed record.", e);
+            }
+            if (engine != null) {
+                engine.runUntil(time);
+            }
+            target.manipulate(actions[index], parameters, house);
+            replayed++;
+        }
+        return replayed;
+    }
+
+    /*
+     * Writes the magic number and version of a journal, followed by the names of the Actions in the order of their
+     * indices, so that a journal cannot be replayed by a version of the simulator in which they have changed.
+     */
+    private void writeHeader() throws IOException {
+        Action[] actions = Action.values();
+        ByteBuffer header = ByteBuffer.allocate(INITIAL_CAPACITY * actions.length);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putShort((short) actions.length);
+        for (Action action : actions) {
+            putString(header, action.name());
+        }
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /*
+     * Reads the header of a journal from the specified buffer, which is left positioned at its first record.
+     */
+    private static Action[] readHeader(ByteBuffer in) {
+        Action[] actions = Action.values();
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != VERSION || in.getShort() != actions.length) {
+                throw new IllegalArgumentException();
+            }
+            for (Action action : actions) {
+                if (!action.name().equals(getString(in))) {
+                    throw new IllegalArgumentException();
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("The file you've selected is not an action journal.");
+        }
+        return actions;
+    }
+
+    /*
+     * Provides a view of the next complete record in the specified buffer and moves past it, or returns null if there
+     * is none.
+     */
+    private static ByteBuffer nextRecord(ByteBuffer in) {
+        if (in.remaining() < Integer.BYTES) {
+            return null;
+        }
+        int length = in.getInt(in.position());
+        if (length < 0 || length > in.remaining() - Integer.BYTES) {
+            return null; // A record whose writing was interrupted
+        }
+        in.position(in.position() + Integer.BYTES);
+        ByteBuffer record = in.slice();
+        record.limit(length);
+        in.position(in.position() + length);
+        return record;
+    }
+
+    private void putTarget(Manipulable target, House house) {
+        if (target instanceof Door || target instanceof Light || target instanceof Window) {
+            String location = house == null ? null : house.locate(target);
+            if (location == null) {
+                throw new IllegalArgumentException("Only elements of the house can be recorded.");
+            }
+            Room room = house.getRoom(location);
+            if (target instanceof Door) {
+                record.put(DOOR);
+                putElement(location, room.getDoors(), target);
+            } else if (target instanceof Light) {
+                record.put(LIGHT);
+                putElement(location, room.getLights(), target);
+            } else {
+                record.put(WINDOW);
+                putElement(location, room.getWindows(), target);
+            }
+        } else if (target instanceof AwayMode) {
+            record.put(AWAY_MODE);
+        } else if (target instanceof MultiValueManipulable) {
+            MultiValueManipulable values = (MultiValueManipulable) target;
+            record.put(MULTI_VALUE);
+            putValue(values.getValue());
+            record.putShort((short) values.size());
+            for (int i = 0; i < values.size(); i++) {
+                putValue(values.getValueAt(i).getValue());
+            }
+        } else if (target instanceof ValueManipulable) {
+            record.put(VALUE);
+            putValue(((ValueManipulable<?>) target).getValue());
+        } else {
+            throw new IllegalArgumentException("Actions on " + target.getClass().getSimpleName()
+                    + " cannot be recorded.");
+        }
+    }
+
+    private void putElement(String location, Object[] elements, Manipulable element) {
+        putString(record, location);
+        for (byte slot = 0; slot < elements.length; slot++) {
+            if (elements[slot] == element) {
+                record.put(slot);
+                return;
+            }
+        }
+        throw new AssertionError(); // The element was located in this room.
+    }
+
+    private void putValue(Object value) {
+        if (value == null) {
+            record.put(NULL);
+        } else if (value instanceof Boolean) {
+            record.put(BOOLEAN);
+            record.put((byte) ((Boolean) value ? 1 : 0));
+        } else if (value instanceof Integer) {
+            record.put(INTEGER);
+            record.putInt((Integer) value);
+        } else if (value instanceof Long) {
+            record.put(LONG);
+            record.putLong((Long) value);
+        } else if (value instanceof Double) {
+            record.put(DOUBLE);
+            record.putDouble((Double) value);
+        } else if (value instanceof String) {
+            record.put(STRING);
+            putString(record, (String) value);
+        } else if (value instanceof LocalTime) {
+            record.put(LOCAL_TIME);
+            record.putLong(((LocalTime) value).toNanoOfDay());
+        } else if (value instanceof Collection && ((Collection<?>) value).stream().allMatch(String.class::isInstance)) {
+            Collection<?> strings = (Collection<?>) value;
+            record.put(STRINGS);
+            record.putInt(strings.size());
+            for (Object string : strings) {
+                putString(record, (String) string);
+            }
+        } else {
+            throw new IllegalArgumentException("Values of type " + value.getClass().getSimpleName()
+                    + " cannot be recorded.");
+        }
+    }
+
+    private static Manipulable getTarget(ByteBuffer in, House house, Parameters parameters) throws IOException {
+        byte kind = in.get();
+        switch (kind) {
+            case DOOR:
+                return getElement(in, house, Room::getDoors);
+            case LIGHT:
+                return getElement(in, house, Room::getLights);
+            case WINDOW:
+                return getElement(in, house, Room::getWindows);
+            case AWAY_MODE:
+                return parameters.getAwayMode();
+            case VALUE:
+                return new ValueManipulable<>(getValue(in));
+            case MULTI_VALUE:
+                MultiValueManipulable values = new MultiValueManipulable(getValue(in));
+                for (int i = in.getShort(); i > 0; i--) {
+                    values.addValue(getValue(in));
+                }
+                return values;
+            default:
+                throw new IOException("The journal refers to an unknown kind of target: " + kind);
+        }
+    }
+
+    private static Manipulable getElement(ByteBuffer in, House house, Function<Room, Manipulable[]> elements)
+            throws IOException {
+        String location = getString(in);
+        int slot = in.get();
+        Manipulable element = null;
+        if (house != null && house.getLocations().contains(location)) {
+            Manipulable[] candidates = elements.apply(house.getRoom(location));
+            element = slot >= 0 && slot < candidates.length ? candidates[slot] : null;
+        }
+        if (element == null) {
+            throw new IOException("The journal refers to an element that does not exist: " + location + "[" + slot
+                    + "]");
+        }
+        return element;
+    }
+
+    private static Object getValue(ByteBuffer in) throws IOException {
+        byte type = in.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return in.get() != 0;
+            case INTEGER:
+                return in.getInt();
+            case LONG:
+                return in.getLong();
+            case DOUBLE:
+                return in.getDouble();
+            case STRING:
+                return getString(in);
+            case LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(in.getLong());
+            case STRINGS:
+                Set<String> strings = new LinkedHashSet<>();
+                for (int i = in.getInt(); i > 0; i--) {
+                    strings.add(getString(in));
+                }
+                return strings;
+            default:
+                throw new IOException("The journal holds a value of an unknown type: " + type);
+        }
+    }
+
+    // Strings are written as their number of bytes in UTF-8 followed by those bytes
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,98 @@
+package main.model.simulation;
+
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code EventScheduler} class is a queue of {@code SimulationEvent}s ordered by the simulated time at which they
+ * are due. Events due at the same time are taken from the queue in the order in which they were scheduled. An {@code
+ * EventScheduler} has no notion of the current time; whatever advances the simulation asks it for the events that have
+ * come due (see {@link #poll(long)}), and for the time of the next one (see {@link #nextTime()}) so that the stretch up
+ * to it can be covered in one go.
+ *
+ * @author Jeff Wilgus
+ * @see SimulationEngine
+ */
+public class EventScheduler {
+
+    private final PriorityQueue<ScheduledEvent> queue = new PriorityQueue<>();
+    private long sequence;
+
+    /**
+     * Schedules the specified {@code event} to fire at the specified simulated {@code time}.
+     *
+     * @param time The specified simulated time
+     * @param event The specified {@code SimulationEvent}
+     * @return The {@code ScheduledEvent} through which the specified {@code event} may be cancelled
+     * @throws NullPointerException If the specified {@code event} is {@code null}
+     */
+    public ScheduledEvent schedule(long time, SimulationEvent event) {
+        ScheduledEvent scheduled = new ScheduledEvent(Objects.requireNonNull(event), this);
+        reschedule(scheduled, time, false);
+        return scheduled;
+    }
+
+    /*
+     * Moves the specified event, pending or not, to the specified time, ahead of any other events due then if ahead is
+     * true. Unlike scheduling a new event, this does not allocate, so it suits events that recur on every step of a
+     * simulation.
+     */
+    void reschedule(ScheduledEvent scheduled, long time, boolean ahead) {
+        remove(scheduled);
+        scheduled.time = time;
+        scheduled.sequence = ahead ? Long.MIN_VALUE : sequence++;
+        scheduled.pending = true;
+        queue.add(scheduled);
+    }
+
+    boolean remove(ScheduledEvent scheduled) {
+        if (!scheduled.pending) {
+            return false;
+        }
+        scheduled.pending = false;
+        return queue.remove(scheduled);
+    }
+
+    /**
+     * @return The simulated time at which the next pending event is due, or {@code Long.MAX_VALUE} if there is none
+     */
+    public long nextTime() {
+        ScheduledEvent next = queue.peek();
+        return next == null ? Long.MAX_VALUE : next.time;
+    }
+
+    /**
+     * Removes the next pending event from this {@code EventScheduler}, provided it is due at or before the specified
+     * simulated time.
+     *
+     * @param now The specified simulated time
+     * @return The next event due by the specified time, or {@code null} if there is none
+     */
+    public ScheduledEvent poll(long now) {
+        ScheduledEvent next = queue.peek();
+        if (next == null || next.time > now) {
+            return null;
+        }
+        queue.poll();
+        next.pending = false;
+        return next;
+    }
+
+    /**
+     * @return The number of pending events
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Cancels every pending event.
+     */
+    public void clear() {
+        for (ScheduledEvent scheduled : queue) {
+            scheduled.pending = false;
+        }
+        queue.clear();
+    }
+
+}
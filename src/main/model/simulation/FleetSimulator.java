@@ -0,0 +1,181 @@
+package main.model.simulation;
+
+import main.model.elements.House;
+import main.model.parameters.Parameters;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The {@code FleetSimulator} class advances many independent {@code House}s, each with its own {@code Parameters}, in
+ * parallel on a work-stealing {@code ForkJoinPool}. Every {@code House} is driven by its own {@code SimulationEngine};
+ * since engines share no mutable state, the work divides evenly among the threads of the pool, and the state of every
+ * {@code House} is {@link SimulationSummary summarized} once it has been advanced.
+ * <p>
+ * A {@code FleetSimulator} is not itself thread-safe: it must not be modified or stepped while it is being stepped.
+ *
+ * @author Jeff Wilgus
+ * @see SimulationEngine
+ */
+public class FleetSimulator {
+
+    // Engines are advanced in batches no larger than this, so that the pool has enough tasks to balance its threads
+    private static final int MAX_BATCH_SIZE = 16;
+
+    private static class AlertCounter implements SimulationObserver {
+
+        long warnings;
+        long errors;
+
+        @Override
+        public void stepped(SimulationEngine engine) {
+        }
+
+        @Override
+        public void alerted(String message, Severity severity) {
+            if (severity == Severity.ERROR) {
+                errors++;
+            } else {
+                warnings++;
+            }
+        }
+
+    }
+
+    private class Advance extends RecursiveTask<SimulationSummary> {
+
+        final int from;
+        final int to;
+        final long steps;
+
+        Advance(int from, int to, long steps) {
+            this.from = from;
+            this.to = to;
+            this.steps = steps;
+        }
+
+        @Override
+        protected SimulationSummary compute() {
+            if (to - from <= batchSize) {
+                SimulationSummary summary = SimulationSummary.EMPTY;
+                for (int i = from; i < to; i++) {
+                    engines.get(i).step(steps);
+                    summary = summary.merge(summarize(i));
+                }
+                return summary;
+            }
+            int middle = (from + to) >>> 1;
+            Advance left = new Advance(from, middle, steps);
+            left.fork();
+            SimulationSummary right = (new Advance(middle, to, steps)).compute();
+            return left.join().merge(right);
+        }
+
+    }
+
+    private final ForkJoinPool pool;
+    private final List<SimulationEngine> engines;
+    private final List<AlertCounter> counters;
+    private final Set<House> houses;
+    private final Set<Parameters> parameterSets;
+    private int batchSize;
+
+    /**
+     * Constructs a new {@code FleetSimulator} with no {@code House}s that runs on the common {@code ForkJoinPool}.
+     */
+    public FleetSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new {@code FleetSimulator} with no {@code House}s that runs on the specified {@code pool}.
+     *
+     * @param pool The specified {@code ForkJoinPool}
+     * @throws NullPointerException If the specified {@code pool} is {@code null}
+     */
+    public FleetSimulator(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+        this.engines = new ArrayList<>();
+        this.counters = new ArrayList<>();
+        this.houses = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.parameterSets = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.batchSize = 1;
+    }
+
+    /**
+     * Adds the specified {@code house} to this {@code FleetSimulator}, to be simulated under the specified {@code
+     * parameters}. Neither the {@code House} nor the {@code Parameters} may be shared with another {@code House} of
+     * this {@code FleetSimulator}.
+     *
+     * @param house The specified {@code House}
+     * @param parameters The specified {@code Parameters}
+     * @return The {@code SimulationEngine} that will drive the specified {@code house}
+     * @throws IllegalArgumentException If the specified {@code house} or {@code parameters} already belong to this
+     * {@code FleetSimulator}
+     * @throws NullPointerException If the specified {@code house} or {@code parameters} are {@code null}
+     */
+    public SimulationEngine add(House house, Parameters parameters) {
+        Objects.requireNonNull(house);
+        Objects.requireNonNull(parameters);
+        if (houses.contains(house) || parameterSets.contains(parameters)) {
+            throw new IllegalArgumentException("Houses in a fleet cannot share their state with one another.");
+        }
+        houses.add(house);
+        parameterSets.add(parameters);
+
+        SimulationEngine engine = new SimulationEngine(house, parameters);
+        AlertCounter counter = new AlertCounter();
+        engine.addObserver(counter);
+        engines.add(engine);
+        counters.add(counter);
+        batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, engines.size() / (pool.getParallelism() * 8)));
+        return engine;
+    }
+
+    /**
+     * Advances every {@code House} in this {@code FleetSimulator} by the specified number of steps, in parallel.
+     *
+     * @param steps The specified number of steps
+     * @return A summary of every {@code House} in this {@code FleetSimulator} after it has been advanced
+     * @throws IllegalArgumentException If the specified number of {@code steps} is negative
+     * @see SimulationEngine#step(long)
+     */
+    public SimulationSummary step(long steps) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("Cannot take a negative number of steps.");
+        }
+        if (engines.isEmpty()) {
+            return SimulationSummary.EMPTY;
+        }
+        return pool.invoke(new Advance(0, engines.size(), steps));
+    }
+
+    /**
+     * Summarizes the {@code House} at the specified {@code index} of this {@code FleetSimulator}.
+     *
+     * @param index The specified index, in the order in which {@code House}s were added
+     * @return A summary of a single {@code House}
+     * @throws IndexOutOfBoundsException If the specified {@code index} is out of range
+     */
+    public SimulationSummary summarize(int index) {
+        AlertCounter counter = counters.get(index);
+        return SimulationSummary.of(engines.get(index), counter.warnings, counter.errors);
+    }
+
+    /**
+     * @return The {@code SimulationEngine}s of this {@code FleetSimulator}, in the order in which their {@code House}s
+     * were added
+     */
+    public List<SimulationEngine> getEngines() {
+        return Collections.unmodifiableList(engines);
+    }
+
+    /**
+     * @return The number of {@code House}s in this {@code FleetSimulator}
+     */
+    public int size() {
+        return engines.size();
+    }
+
+}
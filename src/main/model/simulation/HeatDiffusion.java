@@ -0,0 +1,387 @@
+package main.model.simulation;
+
+import main.model.elements.House;
+import main.model.elements.Room;
+import main.model.elements.RoomGraph;
+import main.model.elements.RoomStateStore;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code HeatDiffusion} class couples the temperatures of the {@code Room}s of a {@code House}: heat flows between
+ * adjacent {@code Room}s, through their walls and all the more so through their open {@code Door}s, and between each
+ * {@code Room} and the outside, through its walls and all the more so through its open {@code Window}s. The flow into
+ * every {@code Room} at once is the product of the sparse conductance matrix of the {@code House}, laid out along its
+ * {@link RoomGraph}, with the vector of its temperatures.
+ * <p>
+ * Rows of the product are computed in partitions of the {@code House} in parallel on a {@code ForkJoinPool}, unless
+ * the {@code House} is small enough for a single partition. Each row depends only on the temperatures as of the start
+ * of the step, so the result does not depend on how the rows are partitioned. Heat is exchanged in equal amounts
+ * between two {@code Room}s, so diffusion alone conserves the total heat of a {@code House} that is cut off from the
+ * outside.
+ * <p>
+ * Steps are either explicit or implicit. An {@link #diffuse(House, double, double) explicit} step that would be too
+ * long to be stable for the conductances of the {@code House} is divided into as many sub-steps as needed, so that its
+ * cost grows with its length. An {@link #diffuseImplicitly(House, double, double) implicit} step is a single backward
+ * Euler step of any length, which is stable however long it is, at the cost of solving a sparse linear system by
+ * conjugate gradients. A {@code HeatDiffusion} keeps working arrays from one step to the next, so it must not be used
+ * for more than one {@code House} at a time.
+ *
+ * @author Jeff Wilgus
+ * @see SimulationEngine#setHeatDiffusion(HeatDiffusion)
+ */
+public class HeatDiffusion {
+
+    /**
+     * The share of the difference in temperature between adjacent {@code Room}s that flows through their walls per
+     * second.
+     */
+    public static final double WALL_CONDUCTANCE = 1e-4;
+
+    /**
+     * The share of the difference in temperature between adjacent {@code Room}s that flows per second through each
+     * {@code Door} open between them, counted as the average of the open {@code Door}s of the two {@code Room}s.
+     */
+    public static final double DOOR_CONDUCTANCE = 2e-3;
+
+    /**
+     * The share of the difference in temperature between a {@code Room} and the outside that flows through its walls
+     * per second.
+     */
+    public static final double EXTERIOR_CONDUCTANCE = 5e-5;
+
+    /**
+     * The share of the difference in temperature between a {@code Room} and the outside that flows per second through
+     * each of its open {@code Window}s.
+     */
+    public static final double WINDOW_CONDUCTANCE = 1e-3;
+
+    private static final double STABILITY_LIMIT = 0.5; // The largest share of its heat a room may give up in a step
+    private static final int PARTITION_SIZE = 4096; // Partitions of at most this many rooms are not divided further
+    private static final double SOLVER_TOLERANCE = 1e-12; // The residual at which a solve stops, relative to its input
+    private static final int MAX_ITERATIONS = 10_000;
+
+    /*
+     * Applies some computation to the rooms between the specified indices.
+     */
+    @FunctionalInterface
+    private interface Rows {
+
+        void apply(int from, int to);
+
+    }
+
+    /*
+     * A node of the tree of partitions of a house. The tree is built once for a given number of rooms, and reused for
+     * every pass over them, so that passes do not allocate.
+     */
+    private static class Partition extends RecursiveAction {
+
+        final int from;
+        final int to;
+        final Partition left;
+        final Partition right;
+        Rows rows;
+
+        Partition(int from, int to) {
+            this.from = from;
+            this.to = to;
+            if (to - from <= PARTITION_SIZE) {
+                left = null;
+                right = null;
+            } else {
+                int middle = (from + to) >>> 1;
+                left = new Partition(from, middle);
+                right = new Partition(middle, to);
+            }
+        }
+
+        // Readies this partition and those below it to apply the specified rows
+        void prepare(Rows rows) {
+            reinitialize();
+            this.rows = rows;
+            if (left != null) {
+                left.prepare(rows);
+                right.prepare(rows);
+            }
+        }
+
+        @Override
+        protected void compute() {
+            if (left == null) {
+                rows.apply(from, to);
+            } else {
+                invokeAll(left, right);
+            }
+        }
+
+    }
+
+    private final ForkJoinPool pool;
+    private Partition partitions; // The tree of partitions of the current house, or null if it is not built yet
+
+    // The passes over the rooms, which read the state of the current step from the fields below
+    private final Rows gather = this::gather;
+    private final Rows sum = this::sum;
+    private final Rows advance = this::advance;
+    private final Rows start = this::start;
+    private final Rows product = this::product;
+    private final Rows descend = this::descend;
+    private final Rows turn = this::turn;
+
+    // The state of the current step
+    private RoomStateStore store;
+    private RoomGraph graph;
+    private double[] temperatures;
+    private double externalTemperature;
+    private double seconds;
+    private double length; // How far the current iteration of a solve moves along its direction
+    private double ratio; // How much of the previous direction the next one keeps
+
+    // Working arrays, reused from step to step and grown as needed
+    private int[] openDoors = new int[0];
+    private double[] exterior = new double[0]; // The conductance between each room and the outside
+    private double[] rowSums = new double[0]; // The total conductance of each room
+    private double[] next = new double[0];
+    private double[] residual = new double[0];
+    private double[] preconditioned = new double[0];
+    private double[] direction = new double[0];
+
+    /**
+     * Constructs a new {@code HeatDiffusion} that runs on the common {@code ForkJoinPool}.
+     */
+    public HeatDiffusion() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new {@code HeatDiffusion} that runs on the specified {@code pool}, or on the thread that steps it if
+     * the specified {@code pool} is {@code null}.
+     *
+     * @param pool The specified {@code ForkJoinPool}, which may be {@code null}
+     */
+    public HeatDiffusion(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Lets heat flow through the specified {@code house} for the specified number of {@code seconds}, with the outside
+     * at the specified {@code externalTemperature}. The {@code house} is {@link House#pack() packed} if it is not
+     * already.
+     *
+     * @param house The specified {@code House}
+     * @param externalTemperature The specified temperature outside
+     * @param seconds The specified number of seconds
+     * @throws IllegalArgumentException If the specified number of {@code seconds} is negative
+     * @throws NullPointerException If the specified {@code house} is {@code null}
+     */
+    public void diffuse(House house, double externalTemperature, double seconds) {
+        if (!prepare(house, externalTemperature, seconds)) {
+            return;
+        }
+        int size = store.size();
+
+        double maximum = 0;
+        for (int i = 0; i < size; i++) {
+            maximum = Math.max(maximum, rowSums[i]);
+        }
+        long steps = Math.max(1, (long) Math.ceil(seconds * maximum / STABILITY_LIMIT));
+        this.seconds = seconds / steps;
+        for (long k = 0; k < steps; k++) {
+            run(size, advance);
+            System.arraycopy(next, 0, temperatures, 0, size);
+        }
+        release();
+    }
+
+    /**
+     * Lets heat flow through the specified {@code house} for the specified number of {@code seconds} in a single
+     * backward Euler step, with the outside at the specified {@code externalTemperature}. The temperatures at the end
+     * of the step are those from which the flow of heat over the step leads back to the current temperatures, found by
+     * preconditioned conjugate gradients. The step is stable however many {@code seconds} it covers: temperatures
+     * always move toward each other and toward the outside, and settle there as the number of {@code seconds} grows.
+     * The {@code house} is {@link House#pack() packed} if it is not already.
+     *
+     * @param house The specified {@code House}
+     * @param externalTemperature The specified temperature outside
+     * @param seconds The specified number of seconds
+     * @throws IllegalArgumentException If the specified number of {@code seconds} is negative
+     * @throws NullPointerException If the specified {@code house} is {@code null}
+     */
+    public void diffuseImplicitly(House house, double externalTemperature, double seconds) {
+        if (!prepare(house, externalTemperature, seconds)) {
+            return;
+        }
+        int size = store.size();
+
+        /*
+         * Solves (I + h * A) x = t + h * e * t_out, where A holds the conductances between rooms and to the outside and
+         * is symmetric positive definite. Starting from x = t, the first residual is h times the flow at t. Dot
+         * products are summed serially, so that the result does not depend on how the rows are partitioned.
+         */
+        double bound = 0;
+        for (int i = 0; i < size; i++) {
+            double input = temperatures[i] + seconds * exterior[i] * externalTemperature;
+            bound += input * input;
+        }
+        bound *= SOLVER_TOLERANCE * SOLVER_TOLERANCE;
+
+        run(size, start);
+        double alignment = dot(residual, preconditioned, size);
+        for (int k = 0; k < MAX_ITERATIONS && dot(residual, residual, size) > bound; k++) {
+            run(size, product);
+            length = alignment / dot(direction, next, size);
+            run(size, descend);
+            double previous = alignment;
+            alignment = dot(residual, preconditioned, size);
+            ratio = alignment / previous;
+            run(size, turn);
+        }
+        release();
+    }
+
+    /*
+     * Takes on the state of a step, and gathers the conductances of every room. Returns false if there is nothing to
+     * diffuse.
+     */
+    private boolean prepare(House house, double externalTemperature, double seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("Cannot diffuse heat for a negative number of seconds.");
+        }
+        store = house.getStateStore() != null ? house.getStateStore() : house.pack();
+        int size = store.size();
+        if (size == 0 || seconds == 0) {
+            store = null;
+            return false;
+        }
+        graph = house.getGraph();
+        temperatures = store.temperatures();
+        this.externalTemperature = externalTemperature;
+        this.seconds = seconds;
+        ensureCapacity(size);
+        run(size, gather);
+        run(size, sum);
+        return true;
+    }
+
+    // Lets go of the house, so that it is not kept reachable between steps
+    private void release() {
+        store = null;
+        graph = null;
+        temperatures = null;
+    }
+
+    // Gathers the open doors and exterior conductance of every room
+    private void gather(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Room room = store.getRoom(i);
+            openDoors[i] = room.getNumberOfOpenDoors();
+            exterior[i] = EXTERIOR_CONDUCTANCE + WINDOW_CONDUCTANCE * room.getNumberOfWindowsOpen();
+        }
+    }
+
+    // Sums the conductances of every room
+    private void sum(int from, int to) {
+        for (int i = from; i < to; i++) {
+            double sum = exterior[i];
+            for (int edge = graph.start(i); edge < graph.end(i); edge++) {
+                sum += conductance(i, graph.target(edge));
+            }
+            rowSums[i] = sum;
+        }
+    }
+
+    // Takes an explicit step
+    private void advance(int from, int to) {
+        for (int i = from; i < to; i++) {
+            next[i] = temperatures[i] + seconds * flow(i);
+        }
+    }
+
+    // Starts a solve from the current temperatures
+    private void start(int from, int to) {
+        for (int i = from; i < to; i++) {
+            residual[i] = seconds * flow(i);
+            preconditioned[i] = residual[i] / (1 + seconds * rowSums[i]);
+            direction[i] = preconditioned[i];
+        }
+    }
+
+    // Multiplies the direction of a solve by the matrix of its system
+    private void product(int from, int to) {
+        for (int i = from; i < to; i++) {
+            double value = (1 + seconds * rowSums[i]) * direction[i];
+            for (int edge = graph.start(i); edge < graph.end(i); edge++) {
+                int j = graph.target(edge);
+                value -= seconds * conductance(i, j) * direction[j];
+            }
+            next[i] = value;
+        }
+    }
+
+    // Moves a solve along its direction
+    private void descend(int from, int to) {
+        for (int i = from; i < to; i++) {
+            temperatures[i] += length * direction[i];
+            residual[i] -= length * next[i];
+            preconditioned[i] = residual[i] / (1 + seconds * rowSums[i]);
+        }
+    }
+
+    // Turns the direction of a solve toward its residual
+    private void turn(int from, int to) {
+        for (int i = from; i < to; i++) {
+            direction[i] = preconditioned[i] + ratio * direction[i];
+        }
+    }
+
+    // The flow of heat per second into the room at the specified index, at the current temperatures
+    private double flow(int index) {
+        double temperature = temperatures[index];
+        double flow = exterior[index] * (externalTemperature - temperature);
+        for (int edge = graph.start(index); edge < graph.end(index); edge++) {
+            int j = graph.target(edge);
+            flow += conductance(index, j) * (temperatures[j] - temperature);
+        }
+        return flow;
+    }
+
+    private static double dot(double[] one, double[] two, int size) {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += one[i] * two[i];
+        }
+        return sum;
+    }
+
+    private double conductance(int one, int two) {
+        return WALL_CONDUCTANCE + DOOR_CONDUCTANCE * 0.5 * (openDoors[one] + openDoors[two]);
+    }
+
+    private void run(int size, Rows rows) {
+        if (pool == null || size <= PARTITION_SIZE) {
+            rows.apply(0, size);
+        } else {
+            if (partitions == null || partitions.to != size) {
+                partitions = new Partition(0, size);
+            }
+            partitions.prepare(rows);
+            pool.invoke(partitions);
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (next.length < size) {
+            openDoors = Arrays.copyOf(openDoors, size);
+            exterior = Arrays.copyOf(exterior, size);
+            rowSums = Arrays.copyOf(rowSums, size);
+            next = Arrays.copyOf(next, size);
+            residual = Arrays.copyOf(residual, size);
+            preconditioned = Arrays.copyOf(preconditioned, size);
+            direction = Arrays.copyOf(direction, size);
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package main.model.simulation;
+
+/**
+ * The {@code ScenarioReport} class is an immutable account of a scenario run by a {@code ScenarioRunner}: how many of
+ * its commands were executed, how many of the {@code Action}s they took were authorized or denied, how long it took to
+ * run, and the state of the simulation once it had run.
+ *
+ * @author Jeff Wilgus
+ * @see ScenarioRunner
+ */
+public final class ScenarioReport {
+
+    private final long commands;
+    private final long authorized;
+    private final long denied;
+    private final long intrusions;
+    private final long simulatedTime;
+    private final long wallTime;
+    private final SimulationSummary summary;
+
+    ScenarioReport(long commands, long authorized, long denied, long intrusions, long simulatedTime, long wallTime,
+            SimulationSummary summary) {
+        this.commands = commands;
+        this.authorized = authorized;
+        this.denied = denied;
+        this.intrusions = intrusions;
+        this.simulatedTime = simulatedTime;
+        this.wallTime = wallTime;
+        this.summary = summary;
+    }
+
+    /**
+     * @return The number of commands executed
+     */
+    public long getCommands() {
+        return commands;
+    }
+
+    /**
+     * @return The number of {@code Action}s that were authorized, and so performed
+     */
+    public long getAuthorized() {
+        return authorized;
+    }
+
+    /**
+     * @return The number of {@code Action}s that were denied for lack of {@code Permission}
+     */
+    public long getDenied() {
+        return denied;
+    }
+
+    /**
+     * @return The number of times the authorities were alerted of someone who entered the {@code House} while it was
+     * in away mode
+     */
+    public long getIntrusions() {
+        return intrusions;
+    }
+
+    /**
+     * @return The number of simulated seconds the scenario covered
+     */
+    public long getSimulatedTime() {
+        return simulatedTime;
+    }
+
+    /**
+     * @return The number of nanoseconds it took to run the scenario
+     */
+    public long getWallTime() {
+        return wallTime;
+    }
+
+    /**
+     * @return The number of simulated seconds covered per second of running the scenario
+     */
+    public double getSpeedup() {
+        return wallTime == 0 ? Double.POSITIVE_INFINITY : simulatedTime * 1e9 / wallTime;
+    }
+
+    /**
+     * @return A summary of the state of the simulation once the scenario had run, including the alerts it raised
+     */
+    public SimulationSummary getSummary() {
+        return summary;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d commands, %d actions authorized, %d denied, %d intrusions%n"
+                        + "%d simulated seconds in %.3f ms (%.0fx real time)%n%s", commands, authorized, denied,
+                intrusions, simulatedTime, wallTime / 1e6, getSpeedup(), summary);
+    }
+
+}
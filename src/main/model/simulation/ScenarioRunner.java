@@ -0,0 +1,474 @@
+package main.model.simulation;
+
+import main.model.Action;
+import main.model.Manipulable;
+import main.model.MultiValueManipulable;
+import main.model.ValueManipulable;
+import main.model.elements.*;
+import main.model.parameters.Parameters;
+import main.model.parameters.permissions.Permission;
+import main.util.HouseReader;
+import main.util.PermissionDeniedException;
+
+import java.io.*;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * The {@code ScenarioRunner} class runs a scripted scenario against a simulation without a user interface, as quickly
+ * as the simulation can be advanced. A script is a sequence of lines, each holding a time followed by a command, which
+ * is executed once the simulation has been advanced to that time. Times are given in simulated seconds since the start of
+ * the scenario, either as a number or as {@code [h:]mm:ss}, and may not decrease from one line to the next. Blank
+ * lines, and anything following a {@code #}, are ignored. Names are separated by whitespace, so they cannot contain
+ * any, and walls are given as one of {@code N}, {@code E}, {@code S} or {@code W}.
+ * <p>
+ * Commands that change the {@code House} or the {@code Parameters} as a user would through a module are taken as
+ * {@code Action}s, which are authorized by the {@code Permission} of the current user exactly as in the dashboard:
+ * <pre>
+ *   door &lt;room&gt; &lt;wall&gt;              Opens or closes a door
+ *   lock &lt;room&gt; &lt;wall&gt;              Locks or unlocks a door
+ *   window &lt;room&gt; &lt;wall&gt;            Opens or closes a window
+ *   block &lt;room&gt; &lt;wall&gt;             Blocks or unblocks a window
+ *   light &lt;room&gt; &lt;wall&gt;             Turns a light on or off
+ *   autolight                        Turns automatic lighting on or off
+ *   zone &lt;zone&gt; &lt;t1&gt; &lt;t2&gt; &lt;t3&gt; &lt;room&gt;... Creates or edits a zone; - leaves t2 or t3 unset
+ *   unzone &lt;zone&gt;                    Removes a zone
+ *   temperature &lt;room&gt; &lt;t&gt;          Overrides the desired temperature of a room
+ *   defaults &lt;summer&gt; &lt;winter&gt;      Sets the default temperatures used in away mode
+ *   away                             Turns away mode on or off
+ *   delay &lt;seconds&gt;                  Sets the delay before the authorities are alerted in away mode
+ *   awaylights &lt;hh:mm&gt; &lt;hh:mm&gt; &lt;room&gt;... Sets the rooms and times of away lights
+ * </pre>
+ * The other commands change the simulation directly, as its user does through the dashboard:
+ * <pre>
+ *   as &lt;level or actor&gt;               Makes the user act with the {@code Permission} of a level or an actor
+ *   enter &lt;actor&gt; &lt;level&gt; &lt;room&gt;     Adds an actor, and places them in a room or the yard
+ *   move &lt;actor&gt; &lt;room&gt;              Moves an actor to a room or the yard
+ *   leave &lt;actor&gt;                    Takes an actor out of the house
+ *   outside &lt;t&gt;                      Sets the outside temperature
+ *   start                            Starts the simulation, once every room belongs to a zone
+ *   stop                             Stops the simulation
+ *   end                              Does nothing, but advances the simulation to its time
+ * </pre>
+ * An {@code Action} that the current user is not allowed to take, or that is taken before any user has been chosen, is
+ * denied and counted as such in the {@link ScenarioReport report} of the scenario; a malformed line stops it.
+ * <p>
+ * Someone entering the {@code House} while the simulation runs in away mode sets off an alarm, which alerts the
+ * authorities once the away mode delay has elapsed, as in the dashboard. Intrusions are counted when their alarm goes
+ * off, and a script has no way to call the alarm off. Alarms that are still pending when a scenario ends are dropped
+ * with it, so the last line of a script should leave time for them to go off.
+ *
+ * @author Jeff Wilgus
+ * @see ScenarioReport
+ */
+public class ScenarioRunner {
+
+    private static final String WALLS = "NESW";
+
+    private final SimulationEngine engine;
+    private final House house;
+    private final Parameters parameters;
+    private long commands;
+    private long authorized;
+    private long denied;
+    private long intrusions;
+    private long warnings;
+    private long errors;
+    private long time;
+    private int line;
+    private final List<ScheduledEvent> alarms = new ArrayList<>(); // Alarms set off during the current scenario
+
+    private final SimulationObserver alertCounter = new SimulationObserver() {
+
+        @Override
+        public void stepped(SimulationEngine engine) {
+        }
+
+        @Override
+        public void alerted(String message, Severity severity) {
+            if (severity == Severity.ERROR) {
+                errors++;
+            } else {
+                warnings++;
+            }
+        }
+
+    };
+
+    /**
+     * Constructs a new {@code ScenarioRunner} that runs scenarios against the simulation driven by the specified {@code
+     * engine}. The simulation is advanced by stepping the {@code engine}, or by fast-forwarding it if it is {@link
+     * SimulationEngine#isFastForwarding() fast-forwarding}.
+     *
+     * @param engine The specified {@code SimulationEngine}
+     * @throws IllegalArgumentException If the specified {@code engine} has no {@code House}
+     * @throws NullPointerException If the specified {@code engine} is {@code null}
+     */
+    public ScenarioRunner(SimulationEngine engine) {
+        this.engine = engine;
+        this.house = engine.getHouse();
+        this.parameters = engine.getParameters();
+        if (house == null) {
+            throw new IllegalArgumentException("A scenario can only be run against a house.");
+        }
+    }
+
+    /**
+     * Runs the scenario held by the specified {@code script}. Its times are counted from the current time of the
+     * simulation.
+     *
+     * @param script The specified script
+     * @return A report of the scenario
+     * @throws IOException If the specified {@code script} could not be read
+     * @throws IllegalArgumentException If a line of the specified {@code script} is malformed, refers to a room,
+     * element, zone or actor that does not exist, or otherwise fails; its message gives the number of the line
+     */
+    public ScenarioReport run(Reader script) throws IOException {
+        commands = authorized = denied = intrusions = warnings = errors = time = line = 0;
+        long start = time = engine.getElapsedTime();
+        long wallStart = System.nanoTime();
+        engine.addObserver(alertCounter);
+        try {
+            BufferedReader reader = new BufferedReader(script);
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                int comment = text.indexOf('#');
+                String[] tokens = (comment < 0 ? text : text.substring(0, comment)).trim().split("\\s+");
+                if (!tokens[0].isEmpty()) {
+                    try {
+                        advanceTo(start + parseTime(tokens[0]));
+                        execute(tokens);
+                    } catch (RuntimeException e) {
+                        String reason = e.getMessage() != null ? e.getMessage() : e.toString();
+                        throw new IllegalArgumentException("Line " + line + ": " + reason, e);
+                    }
+                    commands++;
+                }
+            }
+        } finally {
+            engine.removeObserver(alertCounter);
+            for (ScheduledEvent alarm : alarms) {
+                alarm.cancel();
+            }
+            alarms.clear();
+        }
+        return new ScenarioReport(commands, authorized, denied, intrusions, engine.getElapsedTime() - start,
+                System.nanoTime() - wallStart, SimulationSummary.of(engine, warnings, errors));
+    }
+
+    /**
+     * Runs the scenario held by the specified {@code file}.
+     *
+     * @param file The specified file
+     * @return A report of the scenario
+     * @throws IOException If the specified {@code file} could not be read
+     * @throws IllegalArgumentException If a line of the scenario is malformed, or refers to a room, element, zone or
+     * actor that does not exist
+     */
+    public ScenarioReport run(File file) throws IOException {
+        try (Reader reader = new FileReader(file)) {
+            return run(reader);
+        }
+    }
+
+    /**
+     * Runs a scenario from the command line, and prints its report. The arguments are a house layout, a script and,
+     * optionally, {@code --fast} to fast-forward the simulation between commands rather than step it.
+     *
+     * @param args The command-line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3 || args.length == 3 && !args[2].equals("--fast")) {
+            System.err.println("Usage: ScenarioRunner <layout> <script> [--fast]");
+            System.exit(2);
+        }
+        House house = (new HouseReader(new File(args[0]))).readHouse();
+        if (house == null) {
+            System.exit(1);
+        }
+        SimulationEngine engine = new SimulationEngine(house, new Parameters());
+        engine.setFastForwarding(args.length == 3);
+        try {
+            System.out.println(new ScenarioRunner(engine).run(new File(args[1])));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private void advanceTo(long time) {
+        if (time < this.time) {
+            throw new IllegalArgumentException("Times may not decrease.");
+        }
+        this.time = time;
+        engine.runUntil(time);
+    }
+
+    private void execute(String[] tokens) {
+        String command = tokens.length > 1 ? tokens[1] : "";
+        switch (command) {
+            case "door":
+                expect(tokens, 4);
+                perform(Action.TOGGLE_DOOR, element(house.getRoom(tokens[2]).getDoors(), tokens[3]));
+                break;
+            case "lock":
+                expect(tokens, 4);
+                perform(Action.TOGGLE_LOCK_DOOR, element(house.getRoom(tokens[2]).getDoors(), tokens[3]));
+                break;
+            case "window":
+                expect(tokens, 4);
+                perform(Action.TOGGLE_WINDOW, element(house.getRoom(tokens[2]).getWindows(), tokens[3]));
+                break;
+            case "block":
+                expect(tokens, 4);
+                perform(Action.TOGGLE_BLOCK_WINDOW, element(house.getRoom(tokens[2]).getWindows(), tokens[3]));
+                break;
+            case "light":
+                expect(tokens, 4);
+                perform(Action.TOGGLE_LIGHT, element(house.getRoom(tokens[2]).getLights(), tokens[3]));
+                break;
+            case "autolight":
+                expect(tokens, 2);
+                if (perform(Action.TOGGLE_AUTO_LIGHT, new ValueManipulable<>(!parameters.isAutoLight()))) {
+                    toggleAutoLight();
+                }
+                break;
+            case "zone": {
+                if (tokens.length < 6) {
+                    throw malformed();
+                }
+                MultiValueManipulable zone = new MultiValueManipulable(tokens[2]);
+                zone.addValue(parseDouble(tokens[3]));
+                zone.addValue(tokens[4].equals("-") ? null : parseDouble(tokens[4]));
+                zone.addValue(tokens[5].equals("-") ? null : parseDouble(tokens[5]));
+                zone.addValue(rooms(tokens, 6));
+                perform(Action.MANAGE_TEMPERATURE_CONTROL_ZONES, zone);
+                break;
+            }
+            case "unzone": {
+                expect(tokens, 3);
+                if (parameters.getZone(tokens[2]) == null) {
+                    throw new NoSuchElementException("There is no zone named " + tokens[2] + ".");
+                }
+                MultiValueManipulable zone = new MultiValueManipulable(null);
+                zone.addValue(tokens[2]);
+                perform(Action.MANAGE_TEMPERATURE_CONTROL_ZONES, zone);
+                break;
+            }
+            case "temperature": {
+                expect(tokens, 4);
+                house.getRoom(tokens[2]);
+                if (parameters.zoneOf(tokens[2]) == null) {
+                    throw new NoSuchElementException(tokens[2] + " does not belong to a zone.");
+                }
+                MultiValueManipulable temperature = new MultiValueManipulable(tokens[2]);
+                temperature.addValue(parseDouble(tokens[3]));
+                perform(Action.CHANGE_TEMPERATURE, temperature);
+                break;
+            }
+            case "defaults": {
+                expect(tokens, 4);
+                MultiValueManipulable defaults = new MultiValueManipulable(parseDouble(tokens[2]));
+                defaults.addValue(parseDouble(tokens[3]));
+                perform(Action.SET_DEFAULT_TEMPERATURE, defaults);
+                break;
+            }
+            case "away":
+                expect(tokens, 2);
+                perform(Action.SET_AWAY_MODE, parameters.getAwayMode());
+                break;
+            case "delay":
+                expect(tokens, 3);
+                perform(Action.SET_AWAY_MODE_DELAY, new ValueManipulable<>(parseInt(tokens[2])));
+                break;
+            case "awaylights": {
+                if (tokens.length < 4) {
+                    throw malformed();
+                }
+                MultiValueManipulable awayLights = new MultiValueManipulable(new HashSet<>(rooms(tokens, 4)));
+                awayLights.addValue(parseClockTime(tokens[2]));
+                awayLights.addValue(parseClockTime(tokens[3]));
+                perform(Action.SET_AWAY_MODE_LIGHTS, awayLights);
+                break;
+            }
+            case "as": {
+                expect(tokens, 3);
+                Permission permission = parameters.permissionOf(tokens[2]);
+                if (permission == null) {
+                    permission = parameters.getPermissionOf(tokens[2]);
+                }
+                if (permission == null) {
+                    throw new NoSuchElementException("There is no actor or permission level named " + tokens[2] + ".");
+                }
+                parameters.setPermission(permission);
+                break;
+            }
+            case "enter": {
+                expect(tokens, 5);
+                Permission permission = parameters.getPermissionOf(tokens[3]);
+                if (permission == null) {
+                    throw new NoSuchElementException("There is no permission level named " + tokens[3] + ".");
+                }
+                parameters.addActor(tokens[2], permission);
+                place(tokens[2], permission, tokens[4]);
+                break;
+            }
+            case "move": {
+                expect(tokens, 4);
+                Permission permission = parameters.permissionOf(tokens[2]);
+                if (permission == null) {
+                    throw new NoSuchElementException("There is no actor named " + tokens[2] + ".");
+                }
+                place(tokens[2], permission, tokens[3]);
+                break;
+            }
+            case "leave":
+                expect(tokens, 3);
+                house.removePerson(tokens[2]);
+                toggleAutoLight();
+                break;
+            case "outside":
+                expect(tokens, 3);
+                parameters.setExternalTemperature(parseDouble(tokens[2]));
+                break;
+            case "start":
+                expect(tokens, 2);
+                for (String location : house.getLocations()) {
+                    if (parameters.zoneOf(location) == null) {
+                        throw new IllegalArgumentException(
+                                "All rooms must belong to a heating zone before starting the simulation.");
+                    }
+                }
+                parameters.setOn(true);
+                toggleAutoLight();
+                if (parameters.isAwayMode() && house.isOccupied()) {
+                    setOffAlarm();
+                }
+                break;
+            case "stop":
+                expect(tokens, 2);
+                parameters.setOn(false);
+                break;
+            case "end":
+                expect(tokens, 2);
+                break;
+            default:
+                throw malformed();
+        }
+    }
+
+    /*
+     * Authorizes the specified action for the current user and, if it is authorized, performs it on the specified
+     * target. Returns whether it was authorized.
+     */
+    private boolean perform(Action action, Manipulable target) {
+        Permission permission = parameters.getPermission();
+        try {
+            if (permission == null) {
+                throw new PermissionDeniedException("Please select a permission to choose an action.");
+            }
+            target.manipulate(permission.authorize(action), parameters, house);
+            authorized++;
+            return true;
+        } catch (PermissionDeniedException e) {
+            denied++;
+            return false;
+        }
+    }
+
+    private void place(String actor, Permission permission, String location) {
+        house.addPerson(actor, permission, location);
+        toggleAutoLight();
+        if (parameters.isOn() && parameters.isAwayMode() && !location.equals(House.EXTERIOR_NAME)) {
+            setOffAlarm();
+        }
+    }
+
+    // Alerts the authorities of an intrusion once the away mode delay has elapsed, as the security module does
+    private void setOffAlarm() {
+        alarms.add(engine.scheduleAwayAlarm(engine -> intrusions++));
+    }
+
+    // Turns lights on and off as per occupancy, as the core module does, if lights are automatic
+    private void toggleAutoLight() {
+        if (parameters.isAutoLight()) {
+            for (Room room : house) {
+                room.toggleLights(room.isOccupied());
+            }
+            Yard yard = house.getYard();
+            yard.setLightOn(yard.isOccupied());
+        }
+    }
+
+    private Manipulable element(Manipulable[] elements, String wall) {
+        int index = WALLS.indexOf(wall.toUpperCase());
+        if (wall.length() != 1 || index < 0) {
+            throw new IllegalArgumentException(wall + " is not a wall.");
+        }
+        if (elements[index] == null) {
+            throw new NoSuchElementException("There is no such element on that wall.");
+        }
+        return elements[index];
+    }
+
+    private Set<String> rooms(String[] tokens, int from) {
+        Set<String> rooms = new HashSet<>();
+        for (int i = from; i < tokens.length; i++) {
+            house.getRoom(tokens[i]);
+            rooms.add(tokens[i]);
+        }
+        return rooms;
+    }
+
+    private void expect(String[] tokens, int length) {
+        if (tokens.length != length) {
+            throw malformed();
+        }
+    }
+
+    private IllegalArgumentException malformed() {
+        return new IllegalArgumentException("This is not a valid command.");
+    }
+
+    private long parseTime(String token) {
+        String[] fields = token.split(":");
+        if (fields.length > 3) {
+            throw malformed();
+        }
+        long seconds = 0;
+        for (int i = 0; i < fields.length; i++) {
+            long value = parseInt(fields[i]);
+            if (value < 0 || i > 0 && value >= 60) {
+                throw malformed();
+            }
+            seconds = seconds * 60 + value;
+        }
+        return seconds;
+    }
+
+    private LocalTime parseClockTime(String token) {
+        try {
+            return LocalTime.parse(token);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(token + " is not a time of day.");
+        }
+    }
+
+    private int parseInt(String token) {
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(token + " is not a whole number.");
+        }
+    }
+
+    private double parseDouble(String token) {
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(token + " is not a number.");
+        }
+    }
+
+}
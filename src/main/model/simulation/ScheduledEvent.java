@@ -0,0 +1,57 @@
+package main.model.simulation;
+
+/**
+ * A {@code ScheduledEvent} is a {@code SimulationEvent} that has been placed on an {@code EventScheduler}, and through
+ * which it can be cancelled before it is due.
+ *
+ * @author Jeff Wilgus
+ * @see EventScheduler
+ */
+public final class ScheduledEvent implements Comparable<ScheduledEvent> {
+
+    private final SimulationEvent event;
+    private final EventScheduler scheduler;
+    long time;
+    long sequence; // Breaks ties between events due at the same time, in the order they were scheduled
+    boolean pending;
+
+    ScheduledEvent(SimulationEvent event, EventScheduler scheduler) {
+        this.event = event;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return The simulated time at which this {@code ScheduledEvent} is, or was, due
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return {@code true} if this {@code ScheduledEvent} has neither fired nor been cancelled
+     */
+    public boolean isPending() {
+        return pending;
+    }
+
+    /**
+     * Removes this {@code ScheduledEvent} from its {@code EventScheduler}, so that it does not fire. If it has already
+     * fired or been cancelled, this method has no effect.
+     *
+     * @return {@code true} if this {@code ScheduledEvent} was still pending
+     */
+    public boolean cancel() {
+        return scheduler.remove(this);
+    }
+
+    SimulationEvent getEvent() {
+        return event;
+    }
+
+    @Override
+    public int compareTo(ScheduledEvent other) {
+        int c = Long.compare(time, other.time);
+        return c != 0 ? c : Long.compare(sequence, other.sequence);
+    }
+
+}
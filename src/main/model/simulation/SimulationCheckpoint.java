@@ -0,0 +1,429 @@
+package main.model.simulation;
+
+import main.model.Action;
+import main.model.elements.House;
+import main.model.elements.HouseSnapshot;
+import main.model.elements.TemperatureControlZone;
+import main.model.parameters.Parameters;
+import main.model.parameters.permissions.Permission;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The {@code SimulationCheckpoint} class saves the complete state of one or more running simulations to a file, and
+ * restores them from it, so that a long simulation can be resumed rather than restarted. A checkpoint holds, for each
+ * {@code SimulationEngine}, the number of seconds it has simulated; a {@link HouseSnapshot snapshot} of its {@code
+ * House}, along with the people in it and the state of its {@code Yard}; and every attribute of its {@code Parameters},
+ * including its actors, {@code Permission} levels, {@code TemperatureControlZone}s and {@code Clock}. Observers are not
+ * part of a checkpoint.
+ * <p>
+ * Checkpoints are written through a buffer to a temporary file, which then replaces the checkpoint atomically where
+ * the file system allows it, so that a crash while saving leaves the previous checkpoint intact. They are restored by
+ * mapping the file into memory. Note: this class is not instantiable.
+ *
+ * @author Jeff Wilgus
+ * @see FleetSimulator
+ */
+public class SimulationCheckpoint {
+
+    private static final int MAGIC = 0x434B5054; // "CKPT"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NUM_PERIODS = 3;
+    private static final String PERMISSION_PACKAGE = "main.model.parameters.permissions.";
+
+    /*
+     * Writes primitive values and strings to a channel through a direct buffer, which is drained whenever it cannot
+     * hold the next value.
+     */
+    private static final class Output implements Closeable {
+
+        final FileChannel channel;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void require(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void putInt(int value) throws IOException {
+            require(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            require(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            require(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        void putBoolean(boolean value) throws IOException {
+            require(1);
+            buffer.put((byte) (value ? 1 : 0));
+        }
+
+        // Strings are written as their number of bytes in UTF-8, or -1 if they are null, followed by those bytes
+        void putString(String value) throws IOException {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            put(ByteBuffer.wrap(bytes));
+        }
+
+        void put(ByteBuffer source) throws IOException {
+            if (buffer.remaining() >= source.remaining()) {
+                buffer.put(source);
+                return;
+            }
+            flush();
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+
+    }
+
+    /**
+     * Saves the state of the simulation driven by the specified {@code engine} to the specified {@code file},
+     * replacing its contents.
+     *
+     * @param engine The specified {@code SimulationEngine}
+     * @param file The specified file
+     * @throws IOException If the specified {@code file} could not be written
+     * @throws NullPointerException If either argument is {@code null}
+     */
+    public static void save(SimulationEngine engine, File file) throws IOException {
+        save(Collections.singletonList(engine), file);
+    }
+
+    /**
+     * Saves the state of every simulation of the specified {@code fleet} to the specified {@code file}, replacing its
+     * contents.
+     *
+     * @param fleet The specified {@code FleetSimulator}
+     * @param file The specified file
+     * @throws IOException If the specified {@code file} could not be written
+     * @throws NullPointerException If either argument is {@code null}
+     */
+    public static void save(FleetSimulator fleet, File file) throws IOException {
+        save(fleet.getEngines(), file);
+    }
+
+    /**
+     * Restores the simulation saved to the specified {@code file}.
+     *
+     * @param file The specified file
+     * @return A {@code SimulationEngine} in the state of the one that was saved, with no observers
+     * @throws IOException If the specified {@code file} could not be read
+     * @throws IllegalArgumentException If the specified {@code file} is not a checkpoint of a single simulation
+     */
+    public static SimulationEngine restore(File file) throws IOException {
+        List<SimulationEngine> engines = read(file);
+        if (engines.size() != 1) {
+            throw new IllegalArgumentException("The file you've selected holds " + engines.size() + " simulations.");
+        }
+        return engines.get(0);
+    }
+
+    /**
+     * Restores the simulations saved to the specified {@code file} into a new {@code FleetSimulator} that runs on the
+     * specified {@code pool}. Warnings and errors raised before the checkpoint was saved are not restored.
+     *
+     * @param file The specified file
+     * @param pool The specified {@code ForkJoinPool}
+     * @return A {@code FleetSimulator} whose {@code House}s are in the state of those that were saved, in the same
+     * order
+     * @throws IOException If the specified {@code file} could not be read
+     * @throws IllegalArgumentException If the specified {@code file} is not a checkpoint
+     * @throws NullPointerException If one of the simulations saved to the specified {@code file} has no {@code House}
+     */
+    public static FleetSimulator restoreFleet(File file, ForkJoinPool pool) throws IOException {
+        FleetSimulator fleet = new FleetSimulator(pool);
+        for (SimulationEngine saved : read(file)) {
+            SimulationEngine engine = fleet.add(saved.getHouse(), saved.getParameters());
+            engine.setElapsedTime(saved.getElapsedTime());
+            engine.setFastForwarding(saved.isFastForwarding());
+            engine.setMonitorWindows(saved.isMonitoringWindows());
+        }
+        return fleet;
+    }
+
+    private static void save(List<SimulationEngine> engines, File file) throws IOException {
+        Path target = file.toPath();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Output out = new Output(FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(engines.size());
+            for (SimulationEngine engine : engines) {
+                out.putLong(engine.getElapsedTime());
+                out.putBoolean(engine.isFastForwarding());
+                out.putBoolean(engine.isMonitoringWindows());
+                // Parameters come first, as the people in a house are restored with their permission levels
+                writeParameters(out, engine.getParameters());
+                writeHouse(out, engine.getHouse());
+            }
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeHouse(Output out, House house) throws IOException {
+        out.putBoolean(house != null);
+        if (house == null) {
+            return;
+        }
+        ByteBuffer snapshot = HouseSnapshot.toBuffer(house);
+        out.putInt(snapshot.remaining());
+        out.put(snapshot);
+
+        out.putInt(house.getPeople().size());
+        for (String person : house.getPeople()) {
+            out.putString(person);
+            out.putString(house.locationOf(person));
+            out.putString(house.permissionOf(person).toString());
+        }
+        out.putBoolean(house.getYard().isLightOn());
+    }
+
+    private static void writeParameters(Output out, Parameters parameters) throws IOException {
+        Map<String, Permission> permissions = parameters.getPermissions();
+        out.putInt(permissions.size());
+        for (Map.Entry<String, Permission> level : permissions.entrySet()) {
+            out.putString(level.getKey());
+            out.putInt(level.getValue().allowed().size());
+            for (Action action : level.getValue().allowed()) {
+                out.putString(action.name());
+            }
+        }
+        out.putString(parameters.getPermission() == null ? null : parameters.getPermission().toString());
+        out.putInt(parameters.getActorsIdentifier().size());
+        for (String actor : parameters.getActorsIdentifier()) {
+            out.putString(actor);
+            out.putString(parameters.permissionOf(actor).toString());
+        }
+
+        out.putString(parameters.getLocation());
+        out.putLong(parameters.getDate().getTime());
+        out.putDouble(parameters.getExternalTemperature());
+        out.putDouble(parameters.getDefaultWinterTemperature());
+        out.putDouble(parameters.getDefaultSummerTemperature());
+        out.putBoolean(parameters.isOn());
+        out.putBoolean(parameters.isAutoLight());
+        out.putBoolean(parameters.isAwayMode());
+        out.putInt(parameters.getAwayDelay());
+        out.putInt(parameters.getAwayLightStart().toSecondOfDay());
+        out.putInt(parameters.getAwayLightEnd().toSecondOfDay());
+        out.putInt(parameters.getSecondOfDay());
+        out.putInt(parameters.getTimeMultiplier());
+
+        out.putInt(parameters.getZones().size());
+        for (String id : parameters.getZones()) {
+            TemperatureControlZone zone = parameters.getZone(id);
+            out.putString(id);
+            for (Double temperature : zone.getDesiredTemperatures()) {
+                out.putDouble(temperature == null ? Double.NaN : temperature);
+            }
+            out.putInt(zone.getRooms().size());
+            for (String room : zone.getRooms()) {
+                out.putString(room);
+                boolean overridden = zone.isOverridden(room);
+                out.putBoolean(overridden);
+                if (overridden) {
+                    out.putDouble(zone.getDesiredTemperatureFor(room, 0));
+                }
+            }
+        }
+    }
+
+    private static List<SimulationEngine> read(File file) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (in.remaining() < 3 * Integer.BYTES || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IllegalArgumentException("The file you've selected is not a simulation checkpoint.");
+        }
+
+        int size = in.getInt();
+        List<SimulationEngine> engines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long elapsedTime = in.getLong();
+            boolean fastForwarding = getBoolean(in);
+            boolean monitorWindows = getBoolean(in);
+
+            Parameters parameters = readParameters(in);
+            House house = null;
+            if (getBoolean(in)) {
+                int length = in.getInt();
+                ByteBuffer snapshot = in.slice();
+                snapshot.limit(length);
+                house = HouseSnapshot.wrap(snapshot).toHouse();
+                in.position(in.position() + length);
+                readPeople(in, house, parameters);
+            }
+
+            SimulationEngine engine = new SimulationEngine(house, parameters);
+            engine.setElapsedTime(elapsedTime);
+            engine.setFastForwarding(fastForwarding);
+            engine.setMonitorWindows(monitorWindows);
+            engines.add(engine);
+        }
+        return engines;
+    }
+
+    private static void readPeople(ByteBuffer in, House house, Parameters parameters) throws IOException {
+        int people = in.getInt();
+        for (int i = 0; i < people; i++) {
+            String person = getString(in);
+            String location = getString(in);
+            house.addPerson(person, permissionOf(parameters, getString(in)), location);
+        }
+        house.getYard().setLightOn(getBoolean(in));
+    }
+
+    private static Parameters readParameters(ByteBuffer in) throws IOException {
+        Parameters parameters = new Parameters();
+        Map<String, Permission> permissions = new HashMap<>();
+        int levels = in.getInt();
+        for (int i = 0; i < levels; i++) {
+            String level = getString(in);
+            Permission permission = newPermission(level);
+            for (Action action : EnumSet.copyOf(permission.allowed())) {
+                permission.disallow(action);
+            }
+            int allowed = in.getInt();
+            for (int k = 0; k < allowed; k++) {
+                permission.allow(Action.valueOf(getString(in)));
+            }
+            permissions.put(level, permission);
+        }
+        parameters.setPermissions(permissions);
+
+        String permission = getString(in);
+        parameters.setPermission(permission == null ? null : permissionOf(parameters, permission));
+        int actors = in.getInt();
+        for (int i = 0; i < actors; i++) {
+            String actor = getString(in);
+            parameters.addActor(actor, permissionOf(parameters, getString(in)));
+        }
+
+        parameters.setLocation(getString(in));
+        parameters.setDate(new Date(in.getLong()));
+        parameters.setExternalTemperature(in.getDouble());
+        parameters.setDefaultWinterTemperature(in.getDouble());
+        parameters.setDefaultSummerTemperature(in.getDouble());
+        parameters.setOn(getBoolean(in));
+        parameters.setAutoLight(getBoolean(in));
+        parameters.setAwayMode(getBoolean(in));
+        parameters.setAwayDelay(in.getInt());
+        parameters.setAwayLightStart(LocalTime.ofSecondOfDay(in.getInt()));
+        parameters.setAwayLightEnd(LocalTime.ofSecondOfDay(in.getInt()));
+        parameters.setTime(new int[] {0, 0, 0});
+        parameters.advanceClock(in.getInt());
+        parameters.setClockTimeMultiplier(in.getInt());
+
+        int zones = in.getInt();
+        for (int i = 0; i < zones; i++) {
+            TemperatureControlZone zone = parameters.addZone(getString(in));
+            for (int period = 0; period < NUM_PERIODS; period++) {
+                double temperature = in.getDouble();
+                if (!Double.isNaN(temperature)) {
+                    zone.setPeriodTemp(period, temperature);
+                }
+            }
+            int rooms = in.getInt();
+            for (int k = 0; k < rooms; k++) {
+                String room = getString(in);
+                zone.addRoom(room);
+                if (getBoolean(in)) {
+                    zone.overrideTempFor(room, in.getDouble());
+                }
+            }
+        }
+        return parameters;
+    }
+
+    /*
+     * Resolves the specified permission level against those of the specified parameters, as the level of an actor
+     * must be one of them, falling back on a new instance of the level should they not define it.
+     */
+    private static Permission permissionOf(Parameters parameters, String level) throws IOException {
+        Permission permission = parameters.getPermissionOf(level);
+        return permission != null ? permission : newPermission(level);
+    }
+
+    // Permission levels are named after their classes, as they are by PermissionManager
+    private static Permission newPermission(String level) throws IOException {
+        try {
+            return (Permission) Class.forName(PERMISSION_PACKAGE + level + "Permission").getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IOException("The checkpoint refers to an unknown permission level: " + level, e);
+        }
+    }
+
+    private static boolean getBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Clients cannot instantiate this class.
+    private SimulationCheckpoint() {
+        // Just in case a maintainer tries to do so from within this class.
+        throw new AssertionError();
+    }
+
+}
@@ -0,0 +1,734 @@
+package main.model.simulation;
+
+import main.model.elements.House;
+import main.model.elements.Room;
+import main.model.elements.RoomStateStore;
+import main.model.elements.TemperatureControlZone;
+import main.model.parameters.Clock;
+import main.model.parameters.Parameters;
+import main.util.SeasonCheck;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code SimulationEngine} class advances a simulated {@code House} through time under the conditions specified by
+ * its {@code Parameters}. It has no notion of wall-clock time; clients decide how often, and how many times, it is
+ * stepped. A UI is just one possible {@link SimulationObserver observer} of an engine.
+ * <p>
+ * A {@code SimulationEngine} {@link House#pack() packs} the {@code House} it simulates, so that each step sweeps
+ * through the arrays of its {@code RoomStateStore}.
+ * <p>
+ * A {@code SimulationEngine} keeps an {@code EventScheduler} of the {@link #schedule(long, SimulationEvent) events} due
+ * at future simulated times, among which are the changes of period of the day and the start and end of away lights.
+ * Advancing the simulation stops at each event exactly when it is due, however long the step being taken, and stretches
+ * without events are covered in a single calculation when fast-forwarding. Scheduled events are not part of a {@code
+ * SimulationCheckpoint}.
+ *
+ * @author Jeff Wilgus
+ * @author Émilie Martin
+ * @see SimulationObserver
+ */
+public class SimulationEngine {
+
+    private static final double HVAC_ON_STEP = 0.1;
+    private static final double HVAC_OFF_STEP = 0.05;
+    private static final double TEMP_TOLERANCE = 0.25;
+    private static final double TEMP_EPSILON = 1e-9; // Absorbs rounding error in accumulated temperature steps
+    public static final int MORNING_START = 5, DAY_START = 11, NIGHT_START = 19;
+    public static final int PERIOD1 = 0, PERIOD2 = 1, PERIOD3 = 2;
+    private static final ThermalKernel KERNEL = ThermalKernel.create(HVAC_ON_STEP, HVAC_OFF_STEP, TEMP_TOLERANCE,
+            TEMP_EPSILON);
+
+    private House house;
+    private RoomStateStore rooms; // The state of the House, as of the start of the current step
+    private final Parameters parameters;
+    private final List<SimulationObserver> observers;
+    private final EventScheduler scheduler;
+    private final ScheduledEvent scheduleChange; // The next change of period of the day, or of the state of away lights
+    private boolean monitorWindows;
+    private boolean fastForwarding;
+    private HeatDiffusion diffusion; // Couples the temperatures of rooms, if set
+    private boolean implicit; // Whether temperatures are integrated by backward Euler steps
+    private long elapsedTime;
+    private Date seasonDate;
+    private SeasonCheck.Season season;
+    private RoomStateStore awayLightStore; // The rooms whose away lights are set, or null if they must all be set anew
+    private int awayLightChanges; // The changes to the away light flags of those rooms as of when they were set
+    private LocalTime awayLightStart, awayLightEnd; // The interval as of when they were set
+    private boolean awayLightsOn;
+    private double[] equilibria = new double[0]; // The equilibrium temperature of each room in the current step
+    private long[] settled = new long[0]; // The rooms within tolerance of their equilibrium in the current step
+
+    /**
+     * Constructs a new {@code SimulationEngine} with the specified {@code parameters} and no {@code House}.
+     *
+     * @param parameters The specified {@code Parameters}
+     * @throws NullPointerException If the specified {@code parameters} are {@code null}
+     */
+    public SimulationEngine(Parameters parameters) {
+        this(null, parameters);
+    }
+
+    /**
+     * Constructs a new {@code SimulationEngine} that simulates the specified {@code house} under the specified {@code
+     * parameters}.
+     *
+     * @param house The specified {@code House}, which may be {@code null}
+     * @param parameters The specified {@code Parameters}
+     * @throws NullPointerException If the specified {@code parameters} are {@code null}
+     */
+    public SimulationEngine(House house, Parameters parameters) {
+        this.house = house;
+        this.parameters = Objects.requireNonNull(parameters);
+        this.observers = new ArrayList<>();
+        this.monitorWindows = true;
+        this.scheduler = new EventScheduler();
+        this.scheduleChange = new ScheduledEvent(SimulationEngine::scheduleChanged, scheduler);
+    }
+
+    /**
+     * Schedules the specified {@code event} to fire once the specified number of simulated {@code seconds} have elapsed
+     * from now. Events due at the same time fire in the order in which they were scheduled.
+     *
+     * @param seconds The specified number of seconds
+     * @param event The specified {@code SimulationEvent}
+     * @return The {@code ScheduledEvent} through which the specified {@code event} may be cancelled
+     * @throws IllegalArgumentException If the specified number of {@code seconds} is negative
+     * @throws NullPointerException If the specified {@code event} is {@code null}
+     */
+    public ScheduledEvent schedule(long seconds, SimulationEvent event) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("Cannot schedule an event in the past.");
+        }
+        return scheduler.schedule(elapsedTime + seconds, event);
+    }
+
+    /**
+     * Schedules the specified {@code alarm} to fire once the away mode delay of the {@code Parameters} of this {@code
+     * SimulationEngine} has elapsed in simulated time from now. The delay is kept in milliseconds, and is rounded down
+     * to whole simulated seconds.
+     *
+     * @param alarm The specified alarm
+     * @return The {@code ScheduledEvent} through which the specified {@code alarm} may be cancelled
+     * @throws NullPointerException If the specified {@code alarm} is {@code null}
+     */
+    public ScheduledEvent scheduleAwayAlarm(SimulationEvent alarm) {
+        return schedule(parameters.getAwayDelay() / Clock.SECONDS_PER_MILLISECOND, alarm);
+    }
+
+    /**
+     * @return The simulated time at which the next scheduled event is due, or {@code Long.MAX_VALUE} if there is none
+     */
+    public long getNextEventTime() {
+        armScheduleChange();
+        return scheduler.nextTime();
+    }
+
+    /**
+     * Registers the specified {@code observer} with this {@code SimulationEngine}.
+     *
+     * @param observer The specified {@code SimulationObserver}
+     * @throws NullPointerException If the specified {@code observer} is {@code null}
+     */
+    public void addObserver(SimulationObserver observer) {
+        observers.add(Objects.requireNonNull(observer));
+    }
+
+    /**
+     * Deregisters the specified {@code observer} from this {@code SimulationEngine}. If the specified {@code observer}
+     * was never registered, this method has no effect.
+     *
+     * @param observer The specified {@code SimulationObserver}
+     */
+    public void removeObserver(SimulationObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Advances the simulation by the specified number of steps. Each step advances the {@code Clock} of this {@code
+     * SimulationEngine}'s {@code Parameters} by its multiplier.
+     *
+     * @param steps The specified number of steps
+     * @throws IllegalArgumentException If the specified number of {@code steps} is negative
+     */
+    public void step(long steps) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("Cannot take a negative number of steps.");
+        }
+        for (long i = 0; i < steps; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Advances the simulation until at least the specified {@code simTime} (in simulated seconds since this {@code
+     * SimulationEngine} was constructed) has elapsed. A fast-forwarding {@code SimulationEngine} is fast-forwarded to
+     * exactly the specified {@code simTime} as a single step, however many events fall along the way.
+     *
+     * @param simTime The specified simulated time
+     */
+    public void runUntil(long simTime) {
+        if (fastForwarding) {
+            if (elapsedTime < simTime) {
+                fastForward(simTime - elapsedTime);
+                notifyStepped();
+            }
+        } else {
+            while (elapsedTime < simTime) {
+                step();
+            }
+        }
+    }
+
+    /**
+     * Advances the simulation by the specified number of simulated {@code seconds} as though it had been stepped once
+     * per second with a multiplier of one. Stretches of time during which every {@code Room} simply drifts toward its
+     * equilibrium temperature are covered in a single calculation, so the cost of this method depends on the number of
+     * changes that occur in the {@code House} rather than on the number of {@code seconds}. The resulting temperatures
+     * match those of second-by-second stepping up to floating-point rounding. Events fire as they come due.
+     *
+     * @param seconds The specified number of seconds
+     * @throws IllegalArgumentException If the specified number of {@code seconds} is negative
+     */
+    public void fastForward(long seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("Cannot fast-forward a negative number of seconds.");
+        }
+        long end = elapsedTime + seconds;
+        fireDueEvents();
+        while (elapsedTime < end) {
+            drift(Math.min(end, scheduler.nextTime()) - elapsedTime);
+            fireDueEvents();
+        }
+
+        if (house != null) {
+            rooms = getStateStore();
+            checkPipes();
+        }
+    }
+
+    // Covers the specified number of seconds, during which no events are due
+    private void drift(long seconds) {
+        elapsedTime += seconds;
+
+        if (house == null || !parameters.isOn()) {
+            parameters.advanceClock(seconds);
+        } else {
+            rooms = getStateStore();
+            double[] temperatures = rooms.temperatures();
+            long remaining = seconds;
+            while (remaining > 0) {
+                parameters.advanceClock(1);
+                boolean settled = updateDevices() && diffusion == null; // Coupled temperatures do not drift linearly
+                long span = settled ? Math.min(remaining, secondsUntilScheduleChange()) : 1;
+
+                for (int i = 0; i < temperatures.length && span >= 2; i++) {
+                    span = Math.min(span, stepsUntilChange(i));
+                }
+
+                if (span < 2) {
+                    updateTemperatures(1);
+                    diffuse(1);
+                    remaining--;
+                } else {
+                    for (int i = 0; i < temperatures.length; i++) {
+                        temperatures[i] += span * getDrift(i);
+                    }
+                    parameters.advanceClock(span - 1);
+                    remaining -= span;
+                }
+            }
+        }
+    }
+
+    /*
+     * Takes a step scaled by the multiplier of the Clock, divided into as many smaller steps as there are events due
+     * along the way.
+     */
+    private void step() {
+        if (fastForwarding) {
+            fastForward(parameters.getTimeMultiplier());
+        } else {
+            fireDueEvents();
+            int remaining = parameters.getTimeMultiplier();
+            while (remaining > 0) {
+                int span = (int) Math.min(remaining, scheduler.nextTime() - elapsedTime);
+                parameters.advanceClock(span);
+                elapsedTime += span;
+                remaining -= span;
+
+                if (house != null && parameters.isOn()) {
+                    rooms = getStateStore();
+                    updateDevices();
+                    updateTemperatures(span);
+                    diffuse(span);
+                }
+                fireDueEvents();
+            }
+
+            if (house != null) {
+                rooms = getStateStore();
+                checkPipes();
+            }
+        }
+        notifyStepped();
+    }
+
+    private void notifyStepped() {
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).stepped(this);
+        }
+    }
+
+    /*
+     * Fires every event that is due by now, including those scheduled by the events fired, and arms the next change
+     * of schedule.
+     */
+    private void fireDueEvents() {
+        armScheduleChange();
+        ScheduledEvent due;
+        while ((due = scheduler.poll(elapsedTime)) != null) {
+            due.getEvent().fire(this);
+            armScheduleChange();
+        }
+    }
+
+    /*
+     * Keeps the next change of schedule on the scheduler, moving it should the period, the away lights or away mode
+     * itself have been changed since it was armed.
+     */
+    private void armScheduleChange() {
+        long time = elapsedTime + secondsUntilScheduleChange();
+        if (!scheduleChange.isPending() || scheduleChange.getTime() != time && scheduleChange.getTime() > elapsedTime) {
+            scheduler.reschedule(scheduleChange, time, true); // Events due at the same time see the new schedule
+        }
+    }
+
+    /*
+     * Switches away lights at the start or end of their interval. The zone periods need no action, other than stopping
+     * here, which the scheduler takes care of.
+     */
+    private void scheduleChanged() {
+        if (awayLightStore == null) {
+            return;
+        }
+        if (house != null && parameters.isOn() && parameters.isAwayMode() && getStateStore() == awayLightStore) {
+            toggleAwayLights(isAwayLightTime());
+        } else {
+            awayLightStore = null; // Lights may have been changed in the meantime, so they shall all be set anew
+        }
+    }
+
+    // The House is packed on demand, in case it has been unpacked since it was last simulated
+    private RoomStateStore getStateStore() {
+        RoomStateStore store = house.getStateStore();
+        return store != null ? store : house.pack();
+    }
+
+    /*
+     * Sets up lights on AwayMode and manages windows in summer. Returns false if doing so again at the current time
+     * could have a different outcome.
+     */
+    private boolean updateDevices() {
+        if (parameters.isAwayMode()) {
+            updateAwayLights();
+        } else {
+            awayLightStore = null;
+            if (getSeason() == SeasonCheck.Season.SUMMER) {
+                double externalTemp = parameters.getExternalTemperature();
+                double[] temperatures = rooms.temperatures();
+                if (monitorWindows && hasTemperatureAberration(externalTemp + TEMP_EPSILON)
+                        && house.hasObstructedWindow()) {
+                    alert("A blocked window has prevented SHH from opening or closing the windows in this house.",
+                            SimulationObserver.Severity.ERROR);
+                    monitorWindows = false;
+                    return false;
+                } else {
+                    for (int i = 0; i < temperatures.length; i++) {
+                        rooms.toggleWindows(i, isAbove(temperatures[i], externalTemp));
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Lights the rooms flagged for it, and turns off every other light, on entering AwayMode or when the away lights
+     * have been changed since. Between those times lights only change at the start and end of the away light interval,
+     * when the change of schedule fires.
+     */
+    private void updateAwayLights() {
+        if (rooms != awayLightStore || rooms.getAwayLightChanges() != awayLightChanges) {
+            awayLightStore = rooms;
+            awayLightChanges = rooms.getAwayLightChanges();
+            awayLightStart = parameters.getAwayLightStart();
+            awayLightEnd = parameters.getAwayLightEnd();
+            awayLightsOn = isAwayLightTime();
+            for (int i = 0; i < rooms.size(); i++) {
+                rooms.getRoom(i).toggleLights(awayLightsOn && rooms.isAwayLight(i));
+            }
+        } else if (parameters.getAwayLightStart() != awayLightStart || parameters.getAwayLightEnd() != awayLightEnd) {
+            awayLightStart = parameters.getAwayLightStart();
+            awayLightEnd = parameters.getAwayLightEnd();
+            toggleAwayLights(isAwayLightTime());
+        }
+    }
+
+    // Touches the lights of the rooms flagged for AwayMode only, and only if they are to change
+    private void toggleAwayLights(boolean flag) {
+        if (flag != awayLightsOn) {
+            awayLightsOn = flag;
+            for (int i = awayLightStore.nextAwayLight(0); i >= 0; i = awayLightStore.nextAwayLight(i + 1)) {
+                awayLightStore.getRoom(i).toggleLights(flag);
+            }
+        }
+    }
+
+    private boolean isAwayLightTime() {
+        return isBetween(parameters.getSecondOfDay(), parameters.getAwayLightStart(), parameters.getAwayLightEnd());
+    }
+
+    private boolean hasTemperatureAberration(double temperature) {
+        for (double roomTemp : rooms.temperatures()) {
+            if (Double.compare(roomTemp, temperature) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updateTemperatures(int multiplier) {
+        double[] temperatures = rooms.temperatures();
+        int size = temperatures.length;
+        if (equilibria.length < size) {
+            equilibria = new double[size];
+            settled = new long[(size + Long.SIZE - 1) / Long.SIZE];
+        }
+        for (int i = 0; i < size; i++) {
+            equilibria[i] = getEquilibriumTemp(i);
+        }
+
+        KERNEL.step(temperatures, equilibria, rooms.hvac(), size, multiplier, implicit, settled);
+
+        // Rooms within tolerance of their equilibrium switch their HVAC, and are left where they are if implicit
+        for (int word = 0; word < (size + Long.SIZE - 1) / Long.SIZE; word++) {
+            for (long bits = settled[word]; bits != 0; bits &= bits - 1) {
+                int i = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                rooms.setHVAC(i, !rooms.isHVACOn(i));
+                if (!implicit) {
+                    int sign = (int) Math.signum(getEquilibriumTemp(i) - temperatures[i]);
+                    temperatures[i] = equilibria[i] + TEMP_TOLERANCE * sign;
+                }
+            }
+        }
+    }
+
+    private void diffuse(int seconds) {
+        if (diffusion != null && implicit) {
+            diffusion.diffuseImplicitly(house, parameters.getExternalTemperature(), seconds);
+        } else if (diffusion != null) {
+            diffusion.diffuse(house, parameters.getExternalTemperature(), seconds);
+        }
+    }
+
+    // check home temperature -> if <= 0 -> alert users about pipe burst potential
+    private void checkPipes() {
+        double sumHouseTemperature = 0;
+        for (double roomTemp : rooms.temperatures()) {
+            sumHouseTemperature += roomTemp;
+        }
+        if (Double.compare(sumHouseTemperature / rooms.size(), 0) <= 0) {
+            alert("WARNING : Temperature inside home is below 0C, pipes might burst.",
+                    SimulationObserver.Severity.WARNING);
+        }
+    }
+
+    /*
+     * The change in temperature the Room at the specified index undergoes in one second, provided it is not yet within
+     * tolerance of its equilibrium temperature.
+     */
+    private double getDrift(int index) {
+        double equilibriumTemp = getEquilibriumTemp(index);
+        return (rooms.isHVACOn(index) ? HVAC_ON_STEP : HVAC_OFF_STEP)
+                * Math.signum(equilibriumTemp - rooms.getTemperature(index));
+    }
+
+    /*
+     * The number of one-second steps the Room at the specified index may take before anything other than its
+     * temperature changes: before it reaches its equilibrium, crosses the external temperature while windows are being
+     * managed, or leaves or enters the band around an overridden desired temperature.
+     */
+    private long stepsUntilChange(int index) {
+        String location = rooms.getLocation(index);
+        double roomTemp = rooms.getTemperature(index);
+        double equilibriumTemp = getEquilibriumTemp(index);
+
+        if (isWithinTolerance(roomTemp, equilibriumTemp)) {
+            return 0;
+        }
+
+        double drift = getDrift(index);
+        long steps = stepsUntil(roomTemp, drift, equilibriumTemp - Math.signum(drift) * TEMP_TOLERANCE,
+                equilibriumTemp, true);
+
+        if (!parameters.isAwayMode() && getSeason() == SeasonCheck.Season.SUMMER) {
+            double externalTemp = parameters.getExternalTemperature();
+            steps = Math.min(steps, stepsUntil(roomTemp, drift, externalTemp, externalTemp, false));
+        }
+
+        TemperatureControlZone zone = parameters.zoneOf(location);
+        if (zone != null && zone.isOverridden(location)) {
+            double desired = zone.getDesiredTemperatureFor(location, getPeriod());
+            double bound = isWithinTolerance(roomTemp, desired) == drift > 0
+                    ? desired + TEMP_TOLERANCE : desired - TEMP_TOLERANCE;
+            steps = Math.min(steps, stepsUntil(roomTemp, drift, bound, desired, true));
+        }
+
+        return steps;
+    }
+
+    /*
+     * The smallest positive number of steps of the specified drift after which a temperature no longer compares with
+     * the specified spec as the specified start temperature does, given that the comparison changes at or near the
+     * specified bound. Temperatures are compared by whether they are within tolerance of the spec if band is true, or by
+     * whether they are above it otherwise.
+     */
+    private static long stepsUntil(double start, double drift, double bound, double spec, boolean band) {
+        boolean initial = compare(start, spec, band);
+        double distance = (bound - start) / drift;
+
+        if (distance < 0) {
+            return Long.MAX_VALUE; // Drifting away from the bound
+        }
+
+        long steps = Math.max(1, (long) Math.ceil(distance));
+        while (steps > 1 && compare(start + (steps - 1) * drift, spec, band) != initial) {
+            steps--;
+        }
+        for (long limit = steps + 2; steps <= limit; steps++) { // Allow for rounding in the estimate
+            if (compare(start + steps * drift, spec, band) != initial) {
+                return steps;
+            }
+        }
+        return Long.MAX_VALUE; // The comparison does not change near the bound
+    }
+
+    private static boolean compare(double actual, double spec, boolean band) {
+        return band ? isWithinTolerance(actual, spec) : isAbove(actual, spec);
+    }
+
+    /*
+     * The number of seconds, counting the current one, for which the period of the day and the state of away lights
+     * remain as they are now.
+     */
+    private long secondsUntilScheduleChange() {
+        int now = parameters.getSecondOfDay();
+        long seconds = Clock.SECONDS_PER_HOUR - now % Clock.SECONDS_PER_HOUR;
+
+        if (parameters.isAwayMode()) {
+            seconds = Math.min(seconds, secondsUntil(now, parameters.getAwayLightStart().toSecondOfDay()));
+            seconds = Math.min(seconds, secondsUntil(now, parameters.getAwayLightEnd().toSecondOfDay()));
+        }
+        return seconds;
+    }
+
+    private static long secondsUntil(int now, int then) {
+        int seconds = Math.floorMod(then - now, Clock.SECONDS_PER_DAY);
+        return seconds == 0 ? Clock.SECONDS_PER_DAY : seconds;
+    }
+
+    // Determining the season is costly, so it is only done when the date changes
+    private SeasonCheck.Season getSeason() {
+        if (parameters.getDate() != seasonDate) {
+            seasonDate = parameters.getDate();
+            season = SeasonCheck.getSeason(seasonDate);
+        }
+        return season;
+    }
+
+    private double getEquilibriumTemp(int index) {
+        String room = rooms.getLocation(index);
+        Room r = rooms.getRoom(index);
+        if (parameters.isAwayMode() && rooms.isHVACOn(index)) {
+            if (getSeason() == SeasonCheck.Season.SUMMER) {
+                return parameters.getDefaultSummerTemperature();
+            } else if (getSeason() == SeasonCheck.Season.WINTER) {
+                return parameters.getDefaultWinterTemperature();
+            }
+        }
+        TemperatureControlZone zone = parameters.zoneOf(room);
+        if (zone == null) {
+            return parameters.getExternalTemperature(); // There is no desired temperature to regulate towards
+        }
+        boolean overridden = zone.isOverridden(room);
+        if (overridden || rooms.isHVACOn(index)) {
+            double desired = zone.getDesiredTemperatureFor(room, getPeriod());
+            if (r.getNumberOfWindowsOpen() > 0 || Double.compare(desired, parameters.getExternalTemperature()) == 0
+                    || overridden && isWithinTolerance(rooms.getTemperature(index), desired)) {
+                if (rooms.isHVACOn(index)) {
+                    rooms.setHVAC(index, false);
+                }
+                return parameters.getExternalTemperature();
+            }
+            return desired;
+        }
+        return parameters.getExternalTemperature();
+    }
+
+    /**
+     * Gets the periods of day based on the time of the day
+     *
+     * @return The period ID that the time falls in
+     */
+    private int getPeriod() {
+        int hour = parameters.getSecondOfDay() / Clock.SECONDS_PER_HOUR;
+        if (hour > MORNING_START && hour < DAY_START) {
+            //morning
+            return PERIOD1;
+        } else if (hour > DAY_START && hour < NIGHT_START) {
+            //day
+            return PERIOD2;
+        } else {
+            //night
+            return PERIOD3;
+        }
+    }
+
+    private static boolean isWithinTolerance(double actual, double spec) {
+        return Double.compare(actual, spec - TEMP_TOLERANCE - TEMP_EPSILON) >= 0
+                && Double.compare(actual, spec + TEMP_TOLERANCE + TEMP_EPSILON) <= 0;
+    }
+
+    private static boolean isAbove(double actual, double spec) {
+        return Double.compare(actual, spec + TEMP_EPSILON) > 0;
+    }
+
+    private static boolean isBetween(int time, LocalTime origin, LocalTime bound) {
+        return origin.toSecondOfDay() <= time && bound.toSecondOfDay() > time;
+    }
+
+    private void alert(String message, SimulationObserver.Severity severity) {
+        for (int i = 0; i < observers.size(); i++) { // Indexing avoids allocating an iterator
+            observers.get(i).alerted(message, severity);
+        }
+    }
+
+    /**
+     * @return The {@code House} simulated by this {@code SimulationEngine}, or {@code null} if none has been set
+     */
+    public House getHouse() {
+        return house;
+    }
+
+    /**
+     * Sets the {@code House} simulated by this {@code SimulationEngine} to that specified.
+     *
+     * @param house The specified {@code House}, which may be {@code null}
+     */
+    public void setHouse(House house) {
+        this.house = house;
+    }
+
+    /**
+     * @return The {@code Parameters} under which this {@code SimulationEngine} simulates its {@code House}
+     */
+    public Parameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return The number of simulated seconds that have elapsed since this {@code SimulationEngine} was constructed
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /*
+     * Restores the number of simulated seconds that have elapsed, when resuming a simulation from a checkpoint.
+     */
+    void setElapsedTime(long elapsedTime) {
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * @return {@code true} if each step of this {@code SimulationEngine} is {@link #fastForward(long) fast-forwarded}
+     */
+    public boolean isFastForwarding() {
+        return fastForwarding;
+    }
+
+    /**
+     * Sets whether or not each step of this {@code SimulationEngine} should {@link #fastForward(long) fast-forward}
+     * through as many seconds as the multiplier of its {@code Clock}, rather than applying a single step scaled by that
+     * multiplier.
+     *
+     * @param flag If {@code true}, steps shall be fast-forwarded
+     */
+    public void setFastForwarding(boolean flag) {
+        fastForwarding = flag;
+    }
+
+    /**
+     * @return The {@code HeatDiffusion} that couples the temperatures of the {@code Room}s of the {@code House}
+     * simulated by this {@code SimulationEngine}, or {@code null} if they are not coupled
+     */
+    public HeatDiffusion getHeatDiffusion() {
+        return diffusion;
+    }
+
+    /**
+     * Sets the {@code HeatDiffusion} that couples the temperatures of the {@code Room}s of the {@code House} simulated
+     * by this {@code SimulationEngine} to that specified. Once each {@code Room} has been driven toward its equilibrium
+     * temperature in a step, heat is let flow between {@code Room}s and to the outside for the length of the step.
+     * Since coupled temperatures no longer drift independently, fast-forwarding then advances second by second.
+     *
+     * @param diffusion The specified {@code HeatDiffusion}, or {@code null} if temperatures should not be coupled
+     */
+    public void setHeatDiffusion(HeatDiffusion diffusion) {
+        this.diffusion = diffusion;
+    }
+
+    /**
+     * @return {@code true} if this {@code SimulationEngine} integrates temperatures by backward Euler steps
+     */
+    public boolean isImplicit() {
+        return implicit;
+    }
+
+    /**
+     * Sets whether or not this {@code SimulationEngine} should integrate temperatures by backward Euler steps. An
+     * explicit step moves each {@code Room} toward its equilibrium temperature by as much as the step is long, and may
+     * overshoot it by far under a large multiplier. An implicit step stops at the equilibrium temperature instead, and
+     * {@link HeatDiffusion#diffuseImplicitly(House, double, double) diffuses} heat in a single solve, so that steps of
+     * any length, up to hours at a time, remain stable. Both agree on steps that do not reach the equilibrium.
+     *
+     * @param flag If {@code true}, temperatures shall be integrated implicitly
+     */
+    public void setImplicit(boolean flag) {
+        implicit = flag;
+    }
+
+    /**
+     * Sets whether or not this {@code SimulationEngine} should report {@code Window}s that prevent it from regulating
+     * the temperature of its {@code House} to that specified.
+     *
+     * @param flag If {@code true}, obstructed {@code Window}s shall be reported
+     */
+    public void setMonitorWindows(boolean flag) {
+        monitorWindows = flag;
+    }
+
+    /**
+     * @return {@code true} if this {@code SimulationEngine} reports {@code Window}s that prevent it from regulating the
+     * temperature of its {@code House}
+     */
+    public boolean isMonitoringWindows() {
+        return monitorWindows;
+    }
+
+}
@@ -0,0 +1,20 @@
+package main.model.simulation;
+
+/**
+ * The {@code SimulationEvent} interface describes something that happens at a given simulated time, once a {@code
+ * SimulationEngine} has been advanced to that time.
+ *
+ * @author Jeff Wilgus
+ * @see SimulationEngine#schedule(long, SimulationEvent)
+ */
+@FunctionalInterface
+public interface SimulationEvent {
+
+    /**
+     * Invoked when this {@code SimulationEvent} is due.
+     *
+     * @param engine The {@code SimulationEngine} whose simulated time has reached this {@code SimulationEvent}
+     */
+    void fire(SimulationEngine engine);
+
+}
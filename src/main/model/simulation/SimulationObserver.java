@@ -0,0 +1,35 @@
+package main.model.simulation;
+
+/**
+ * The {@code SimulationObserver} interface describes objects that wish to be notified of the progress of a {@code
+ * SimulationEngine}.
+ *
+ * @author Jeff Wilgus
+ * @see SimulationEngine
+ */
+public interface SimulationObserver {
+
+    /**
+     * The seriousness of a condition raised during simulation.
+     */
+    enum Severity {
+        WARNING,
+        ERROR
+    }
+
+    /**
+     * Invoked after the specified {@code engine} has completed a step.
+     *
+     * @param engine The {@code SimulationEngine} that was stepped
+     */
+    void stepped(SimulationEngine engine);
+
+    /**
+     * Invoked when a condition that a user should be made aware of arises during simulation.
+     *
+     * @param message A description of the condition
+     * @param severity The seriousness of the condition
+     */
+    void alerted(String message, Severity severity);
+
+}
@@ -0,0 +1,164 @@
+package main.model.simulation;
+
+import main.model.elements.House;
+import main.model.elements.Room;
+
+/**
+ * The {@code SimulationSummary} class is an immutable snapshot of the state of one or more simulated {@code House}s. A
+ * summary of a single {@code House} is obtained from its {@code SimulationEngine}, and summaries of many {@code House}s
+ * are obtained by {@link #merge(SimulationSummary) merging} them.
+ *
+ * @author Jeff Wilgus
+ * @see FleetSimulator
+ */
+public final class SimulationSummary {
+
+    /**
+     * A summary of no {@code House}s at all.
+     */
+    public static final SimulationSummary EMPTY = new SimulationSummary(0, 0, 0, 0,
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0, 0, 0);
+
+    private final int houses;
+    private final int rooms;
+    private final int roomsWithHVACOn;
+    private final double temperatureSum;
+    private final double minTemperature;
+    private final double maxTemperature;
+    private final long elapsedTime;
+    private final long warnings;
+    private final long errors;
+
+    private SimulationSummary(int houses, int rooms, int roomsWithHVACOn, double temperatureSum, double minTemperature,
+            double maxTemperature, long elapsedTime, long warnings, long errors) {
+        this.houses = houses;
+        this.rooms = rooms;
+        this.roomsWithHVACOn = roomsWithHVACOn;
+        this.temperatureSum = temperatureSum;
+        this.minTemperature = minTemperature;
+        this.maxTemperature = maxTemperature;
+        this.elapsedTime = elapsedTime;
+        this.warnings = warnings;
+        this.errors = errors;
+    }
+
+    /**
+     * Summarizes the {@code House} simulated by the specified {@code engine}, which has raised the specified numbers of
+     * {@code warnings} and {@code errors}.
+     *
+     * @param engine The specified {@code SimulationEngine}
+     * @param warnings The number of warnings raised by the specified {@code engine}
+     * @param errors The number of errors raised by the specified {@code engine}
+     * @return A summary of a single {@code House}, or of none if the specified {@code engine} has no {@code House}
+     */
+    public static SimulationSummary of(SimulationEngine engine, long warnings, long errors) {
+        House house = engine.getHouse();
+        if (house == null) {
+            return new SimulationSummary(0, 0, 0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                    engine.getElapsedTime(), warnings, errors);
+        }
+
+        int rooms = 0;
+        int roomsWithHVACOn = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (Room room : house) {
+            double temperature = room.getTemperature();
+            rooms++;
+            sum += temperature;
+            min = Math.min(min, temperature);
+            max = Math.max(max, temperature);
+            if (room.isHVACon()) {
+                roomsWithHVACOn++;
+            }
+        }
+        return new SimulationSummary(1, rooms, roomsWithHVACOn, sum, min, max, engine.getElapsedTime(), warnings,
+                errors);
+    }
+
+    /**
+     * Combines this {@code SimulationSummary} with that specified.
+     *
+     * @param other The specified {@code SimulationSummary}
+     * @return A summary of the {@code House}s of both summaries
+     */
+    public SimulationSummary merge(SimulationSummary other) {
+        return new SimulationSummary(houses + other.houses, rooms + other.rooms,
+                roomsWithHVACOn + other.roomsWithHVACOn, temperatureSum + other.temperatureSum,
+                Math.min(minTemperature, other.minTemperature), Math.max(maxTemperature, other.maxTemperature),
+                Math.max(elapsedTime, other.elapsedTime), warnings + other.warnings, errors + other.errors);
+    }
+
+    /**
+     * @return The number of {@code House}s summarized
+     */
+    public int getHouses() {
+        return houses;
+    }
+
+    /**
+     * @return The total number of {@code Room}s in the {@code House}s summarized
+     */
+    public int getRooms() {
+        return rooms;
+    }
+
+    /**
+     * @return The number of {@code Room}s whose HVAC is on
+     */
+    public int getRoomsWithHVACOn() {
+        return roomsWithHVACOn;
+    }
+
+    /**
+     * @return The mean temperature of all {@code Room}s summarized, or {@code NaN} if there are none
+     */
+    public double getAverageTemperature() {
+        return rooms == 0 ? Double.NaN : temperatureSum / rooms;
+    }
+
+    /**
+     * @return The lowest temperature of any {@code Room} summarized, or {@code NaN} if there are none
+     */
+    public double getMinTemperature() {
+        return rooms == 0 ? Double.NaN : minTemperature;
+    }
+
+    /**
+     * @return The highest temperature of any {@code Room} summarized, or {@code NaN} if there are none
+     */
+    public double getMaxTemperature() {
+        return rooms == 0 ? Double.NaN : maxTemperature;
+    }
+
+    /**
+     * @return The largest number of simulated seconds that have elapsed for any {@code House} summarized
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * @return The number of warnings raised while simulating the {@code House}s summarized
+     */
+    public long getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * @return The number of errors raised while simulating the {@code House}s summarized
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d houses, %d rooms (%d heating or cooling), %.2f°C average [%.2f, %.2f], "
+                        + "%d warnings, %d errors", houses, rooms, roomsWithHVACOn, getAverageTemperature(),
+                getMinTemperature(), getMaxTemperature(), warnings, errors);
+    }
+
+}
@@ -0,0 +1,129 @@
+package main.model.simulation;
+
+import java.util.Arrays;
+
+/**
+ * The {@code ThermalKernel} class drives the temperature of every {@code Room} of a {@code House} toward its
+ * equilibrium temperature for one step, given the temperatures, equilibrium temperatures and HVAC states of the {@code
+ * Room}s in primitive arrays. The update of each {@code Room} depends on nothing but its own entries, which leaves the
+ * kernel free to update several {@code Room}s at once.
+ * <p>
+ * This class updates one {@code Room} at a time, and serves as the fallback wherever the Java Vector API is not
+ * available. The {@code ThermalKernel} returned by {@link #create(double, double, double, double)} updates as many
+ * {@code Room}s at once as fit in a vector register of the processor, provided the {@code jdk.incubator.vector} module
+ * is enabled and the optional {@code src/vector} source folder is built. Both produce exactly the same temperatures.
+ *
+ * @author Jeff Wilgus
+ * @see SimulationEngine
+ */
+public class ThermalKernel {
+
+    private static final int ADDRESS_BITS = 6; // There are 2^6 bits in a long
+    private static final String VECTOR_KERNEL = "main.model.simulation.VectorThermalKernel";
+
+    protected final double onStep;
+    protected final double offStep;
+    protected final double tolerance;
+    protected final double epsilon;
+
+    /**
+     * Constructs a new {@code ThermalKernel} that updates one {@code Room} at a time, with the specified changes in
+     * temperature per second and tolerance around the equilibrium temperature.
+     *
+     * @param onStep The specified change in temperature per second of a {@code Room} whose HVAC is on
+     * @param offStep The specified change in temperature per second of a {@code Room} whose HVAC is off
+     * @param tolerance The specified distance from its equilibrium temperature within which a {@code Room} is settled
+     * @param epsilon The specified margin on the tolerance, which absorbs rounding error in accumulated steps
+     */
+    public ThermalKernel(double onStep, double offStep, double tolerance, double epsilon) {
+        this.onStep = onStep;
+        this.offStep = offStep;
+        this.tolerance = tolerance;
+        this.epsilon = epsilon;
+    }
+
+    /**
+     * Creates the fastest {@code ThermalKernel} available: one built on the Java Vector API if it can be loaded, or
+     * one that updates a {@code Room} at a time otherwise.
+     *
+     * @param onStep The specified change in temperature per second of a {@code Room} whose HVAC is on
+     * @param offStep The specified change in temperature per second of a {@code Room} whose HVAC is off
+     * @param tolerance The specified distance from its equilibrium temperature within which a {@code Room} is settled
+     * @param epsilon The specified margin on the tolerance, which absorbs rounding error in accumulated steps
+     * @return The new {@code ThermalKernel}
+     */
+    public static ThermalKernel create(double onStep, double offStep, double tolerance, double epsilon) {
+        try {
+            return Class.forName(VECTOR_KERNEL).asSubclass(ThermalKernel.class)
+                    .getDeclaredConstructor(double.class, double.class, double.class, double.class)
+                    .newInstance(onStep, offStep, tolerance, epsilon);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ThermalKernel(onStep, offStep, tolerance, epsilon); // The module or the class is missing
+        }
+    }
+
+    /**
+     * Drives the temperature of each of the first {@code size} {@code Room}s toward its equilibrium temperature for
+     * the specified number of {@code seconds}, at the rate of its HVAC state. {@code Room}s that are already within
+     * tolerance of their equilibrium temperature are left as they are, and flagged in the specified {@code settled}
+     * bitmap instead, in which the bits of every other {@code Room} are cleared. Explicit steps move by the full rate
+     * for the length of the step, while implicit steps stop at the equilibrium temperature rather than overshoot it.
+     *
+     * @param temperatures The specified temperatures, updated in place
+     * @param equilibria The specified equilibrium temperatures
+     * @param hvac The specified HVAC states, as a bitmap in the layout of {@link
+     * main.model.elements.RoomStateStore#hvac()}
+     * @param size The specified number of {@code Room}s
+     * @param seconds The specified number of seconds
+     * @param implicit If {@code true}, the step is implicit
+     * @param settled The specified bitmap of settled {@code Room}s, filled in by this method
+     * @throws ArrayIndexOutOfBoundsException If any of the arrays is too short for the specified {@code size}
+     */
+    public void step(double[] temperatures, double[] equilibria, long[] hvac, int size, int seconds, boolean implicit,
+                     long[] settled) {
+        Arrays.fill(settled, 0, (size + (1 << ADDRESS_BITS) - 1) >>> ADDRESS_BITS, 0);
+        step(temperatures, equilibria, hvac, 0, size, seconds, implicit, settled);
+    }
+
+    /**
+     * Updates the {@code Room}s between the specified indices one at a time, as {@link #step(double[], double[],
+     * long[], int, int, boolean, long[])} does. Subclasses call it for the {@code Room}s left over once they have
+     * updated as many as they can at once.
+     *
+     * @param temperatures The specified temperatures, updated in place
+     * @param equilibria The specified equilibrium temperatures
+     * @param hvac The specified HVAC states
+     * @param from The specified index of the first {@code Room}, inclusive
+     * @param to The specified index of the last {@code Room}, exclusive
+     * @param seconds The specified number of seconds
+     * @param implicit If {@code true}, the step is implicit
+     * @param settled The specified bitmap of settled {@code Room}s, whose bits in range must be clear
+     */
+    protected final void step(double[] temperatures, double[] equilibria, long[] hvac, int from, int to, int seconds,
+                              boolean implicit, long[] settled) {
+        for (int i = from; i < to; i++) {
+            double roomTemp = temperatures[i];
+            double equilibriumTemp = equilibria[i];
+            if (Double.compare(roomTemp, equilibriumTemp - tolerance - epsilon) >= 0
+                    && Double.compare(roomTemp, equilibriumTemp + tolerance + epsilon) <= 0) {
+                settled[i >>> ADDRESS_BITS] |= 1L << i;
+                continue;
+            }
+
+            double change = ((hvac[i >>> ADDRESS_BITS] & 1L << i) != 0 ? onStep : offStep) * seconds;
+            if (implicit && change >= Math.abs(equilibriumTemp - roomTemp)) {
+                temperatures[i] = equilibriumTemp; // The only end of the step from which the drift leads back
+            } else {
+                temperatures[i] = roomTemp + change * Math.signum(equilibriumTemp - roomTemp);
+            }
+        }
+    }
+
+    /**
+     * @return The number of {@code Room}s this {@code ThermalKernel} updates at once
+     */
+    public int lanes() {
+        return 1;
+    }
+
+}
@@ -1,22 +1,26 @@
 package main.util;
 
 import main.model.elements.*;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
 import javax.swing.*;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * The main.util.HouseReader class parses through a house layout JSON file. Its function {@link #readHouse()} returns a
  * {@code House} object to be displayed to the user.
+ * <p>
+ * The layout is streamed rather than parsed into a document: each {@code Room} is built as soon as its entry has been
+ * read, and connections are recorded as pairs of indices into a table of interned locations until every {@code Room}
+ * exists. The memory needed to read a layout is therefore proportional to the {@code House} it describes rather than to
+ * the size of the file.
  *
  * @author Émilie Martin
  * @author Jeff Wilgus
@@ -24,9 +28,17 @@ import java.util.Map;
 public class HouseReader extends JPanel {
 
     private static final int NUMBER_OF_WALLS = 4;
-    private static final JSONParser PARSER = new JSONParser();
 
-    JSONObject layoutFile;
+    /*
+     * The nesting depths at which the entries of a layout are found: the layout itself, its array of rooms, a room,
+     * the doors, lights or windows of a room (or its array of connections), and their array of flags.
+     */
+    private static final int LAYOUT = 1;
+    private static final int ROOM = 3;
+    private static final int ELEMENTS = 4;
+    private static final int FLAGS = 5;
+
+    private final File file;
 
     /**
      * Constructs a {@code HouseReader} object, which accepts a {@code File} to read. The file refers to the house
@@ -35,151 +47,195 @@ public class HouseReader extends JPanel {
      * @param file The file to be read
      */
     public HouseReader(File file) {
-        try (FileReader reader = new FileReader(file)) {
-            layoutFile = (JSONObject) PARSER.parse(reader);
-        } catch (FileNotFoundException fnfe) {
-            System.err.println("The file you are looking for cannot be found.");
-        } catch (IOException | ParseException e) {
-            e.printStackTrace();
-        }
+        this.file = file;
     }
 
     /**
      * The redHouse() function parses through the given file and creates a {@code House} object. It builds {@code
      * Window} objects, {@code Light} objects, and {@code Door} objects, that all belong to the {@code Room} object.
+     * <p>
+     * Each room of the layout is of the following form:
+     * <pre>
+     * {
+     *     "id": "living_room",
+     *     "doors": {"location": [false, true, false, true]},
+     *     "lights": {"location": [true, true, false, false]},
+     *     "windows": {"location": [true, false, false, true]},
+     *     "connections": ["kitchen"]
+     * }
+     * </pre>
+     * Each flag of a "location" array represents a wall (N-E-S-W) and tells whether it has an element of that kind.
      *
-     * @return A {@code House} object
+     * @return A {@code House} object, or {@code null} if the file could not be read
+     * @throws IllegalArgumentException If a room of the layout specifies more than four elements of a kind, or if the
+     * layout violates the rules of a {@code House}
+     * @throws java.util.NoSuchElementException If a room of the layout is connected to a location that does not exist
      */
     public House readHouse() {
-        House house = new House();
-        Map<String, JSONArray> connections = new HashMap<>();
-        JSONArray roomsList = (JSONArray) layoutFile.get("rooms");
-
-        for (Object o : roomsList) {
+        LayoutHandler handler = new LayoutHandler();
+        try (Reader reader = new BufferedReader(new FileReader(file))) {
+            (new JSONParser()).parse(reader, handler);
+        } catch (FileNotFoundException fnfe) {
+            System.err.println("The file you are looking for cannot be found.");
+            return null;
+        } catch (IOException | ParseException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return handler.finish();
+    }
 
-            JSONObject roomObj = (JSONObject) o;
-            String roomName = (String) roomObj.get("id");
+    /*
+     * Builds a house from the events of a streaming parse of its layout.
+     */
+    private static class LayoutHandler implements ContentHandler {
+
+        final House house = new House();
+        final String[] keys = new String[FLAGS + 1];
+        int depth;
+        String root;
+
+        // Every location that names a room or a connection, interned
+        final Map<String, Integer> ids = new HashMap<>();
+        final List<String> locations = new ArrayList<>();
+
+        // Connections, as pairs of ids, deferred until every room has been added
+        int[] edges = new int[16];
+        int numberOfEdges;
+
+        // The room being read
+        String id;
+        Door[] doors;
+        Light[] lights;
+        Window[] windows;
+        int flag;
+        int firstEdge;
+
+        House finish() {
+            for (int i = 0; i < numberOfEdges; i++) {
+                house.addConnection(locations.get(edges[2 * i]), locations.get(edges[2 * i + 1]));
+            }
+            house.setRoot(root);
+            return house;
+        }
 
-            // Parse through doors
-            JSONObject doors = (JSONObject) roomObj.get("doors");
-            Door[] roomDoors = parseDoors(doors);
+        private int intern(String location) {
+            Integer existing = ids.putIfAbsent(location, locations.size());
+            if (existing != null) {
+                return existing;
+            }
+            locations.add(location);
+            return locations.size() - 1;
+        }
 
-            // Parse through lights
-            JSONObject lights = (JSONObject) roomObj.get("lights");
-            Light[] roomLights = parseLights(lights);
+        private boolean inRoom() {
+            return "rooms".equals(keys[LAYOUT]);
+        }
 
-            // Parse through windows
-            JSONObject windows = (JSONObject) roomObj.get("windows");
-            Window[] roomWindows = parseWindows(windows);
+        @Override
+        public void startJSON() {
+            depth = 0;
+        }
 
-            house.addRoom(new Room(roomDoors, roomLights, roomWindows), roomName);
+        @Override
+        public void endJSON() {
+        }
 
-            // Get connected rooms
-            connections.put(roomName, (JSONArray) roomObj.get("connections"));
+        @Override
+        public boolean startObject() {
+            keys[Math.min(++depth, FLAGS)] = null;
+            if (depth == ROOM && inRoom()) {
+                id = null;
+                doors = new Door[NUMBER_OF_WALLS];
+                lights = new Light[NUMBER_OF_WALLS];
+                windows = new Window[NUMBER_OF_WALLS];
+                firstEdge = numberOfEdges;
+            }
+            return true;
         }
 
-        // Add connections
-        for (String room : connections.keySet()) {
-            if (connections.get(room) != null) {
-                for (Object connection : connections.get(room)) {
-                    house.addConnection(room, (String) connection);
+        @Override
+        public boolean endObject() {
+            if (depth-- == ROOM && inRoom()) {
+                house.addRoom(new Room(doors, lights, windows), id);
+                // The connections of a room may precede its id, in which case they are recorded without a source
+                int source = intern(id);
+                for (int i = firstEdge; i < numberOfEdges; i++) {
+                    edges[2 * i] = source;
                 }
             }
+            return true;
         }
 
-        house.setRoot((String) layoutFile.get("root"));
+        @Override
+        public boolean startObjectEntry(String key) {
+            if (depth <= FLAGS) {
+                keys[depth] = key;
+            }
+            return true;
+        }
 
-        return house;
-    }
+        @Override
+        public boolean endObjectEntry() {
+            return true;
+        }
 
-    /**
-     * This function parses through the house layout, builds and returns a Door[]
-     *
-     * @param doorObj The Door object contained within the house layout. Of the following form:
-     *                {
-     *                    "present": Boolean[](4) >> each element of the array represents a wall (N-E-S-W)
-     *                }
-     *                The position of the Boolean in either array represents the same door. As in:
-     *                {
-     *                    "present": [true, false, false, true]
-     *                }
-     *                Wherein, here, the North and West walls have {@code Door}s.
-     *
-     * @return A Door[] encompassing all doors found in a room
-     */
-    private Door[] parseDoors(JSONObject doorObj) {
-        int index = 0;
-        Door[] doors = new Door[NUMBER_OF_WALLS];
-        for (Object isPresent : (JSONArray) doorObj.get("location")) {
-            try {
-                doors[index++] = ((boolean) isPresent) ? new Door() : null;
-            } catch (ArrayIndexOutOfBoundsException e) {
-                throw new IllegalArgumentException(
-                        "The file you've selected specifies an invalid number of doors. There can be a maximum of "
-                                + "four.");
-            }
+        @Override
+        public boolean startArray() {
+            depth++;
+            flag = 0;
+            return true;
         }
-        return doors;
-    }
 
-    /**
-     * This function parses through the house layout, builds and returns a Light[]
-     *
-     * @param lightObj The Light object contained within the house layout. Of the following form:
-     *                {
-     *                    "present": Boolean[](4) >> each element of the array represents a wall (N-E-S-W)
-     *                }
-     *                The position of the Boolean in either array represents the same light. As in:
-     *                {
-     *                    "present": [true, false, false, true]
-     *                }
-     *                Wherein, here, the North and West walls have {@code Light}s.
-     *
-     * @return A Light[] encompassing all doors found in a room
-     */
-    private Light[] parseLights(JSONObject lightObj) {
-        int index = 0;
-        Light[] lights = new Light[NUMBER_OF_WALLS];
-        for (Object isPresent : (JSONArray) lightObj.get("location")) {
-            try {
-                lights[index++] = ((boolean) isPresent) ? new Light() : null;
-            } catch (ArrayIndexOutOfBoundsException e) {
-                throw new IllegalArgumentException(
-                        "The file you've selected specifies an invalid number of lights. There can be a maximum of "
-                                + "four.");
+        @Override
+        public boolean endArray() {
+            depth--;
+            return true;
+        }
+
+        @Override
+        public boolean primitive(Object value) {
+            if (depth == LAYOUT && "root".equals(keys[LAYOUT])) {
+                root = (String) value;
+            } else if (depth == ROOM && inRoom() && "id".equals(keys[ROOM])) {
+                id = (String) value;
+            } else if (depth == ELEMENTS && inRoom() && "connections".equals(keys[ROOM])) {
+                if (2 * numberOfEdges == edges.length) {
+                    edges = Arrays.copyOf(edges, 2 * edges.length);
+                }
+                edges[2 * numberOfEdges + 1] = intern((String) value);
+                numberOfEdges++;
+            } else if (depth == FLAGS && inRoom() && "location".equals(keys[ELEMENTS])) {
+                readFlag((Boolean) value);
             }
+            return true;
         }
-        return lights;
-    }
 
-    /**
-     * This function parses through the house layout, builds and returns a Window[]
-     *
-     * @param windowObj The Window object contained within the house layout. Of the following form:
-     *                  {
-     *                      "present": Boolean[](4) >> each element of the array represents a wall (N-E-S-W)
-     *                  }
-     *                  The position of the Boolean in either array represents the same Window. As in:
-     *                  {
-     *                      "present": [true, false, false, true]
-     *                  }
-     *                  Wherein, here, the North and West walls have {@code Window}s.
-     *
-     * @return A Window[] encompassing all doors found in a room
-     */
-    private Window[] parseWindows(JSONObject windowObj) {
-        int index = 0;
-        Window[] windows = new Window[NUMBER_OF_WALLS];
-        for (Object isPresent : (JSONArray) windowObj.get("location")) {
-            try {
-                windows[index++] = ((boolean) isPresent) ? new Window() : null;
-            } catch (ArrayIndexOutOfBoundsException e) {
-                throw new IllegalArgumentException(
-                        "The file you've selected specifies an invalid number of windows. There can be a maximum of "
-                                + "four.");
+        private void readFlag(boolean isPresent) {
+            String kind = keys[ROOM];
+            if (!"doors".equals(kind) && !"lights".equals(kind) && !"windows".equals(kind)) {
+                return;
+            }
+            if (flag >= NUMBER_OF_WALLS) {
+                throw new IllegalArgumentException("The file you've selected specifies an invalid number of " + kind
+                        + ". There can be a maximum of four.");
             }
+            if (isPresent) {
+                switch (kind) {
+                    case "doors":
+                        doors[flag] = new Door();
+                        break;
+                    case "lights":
+                        lights[flag] = new Light();
+                        break;
+                    default:
+                        windows[flag] = new Window();
+                        break;
+                }
+            }
+            flag++;
         }
-        return windows;
+
     }
 
 }
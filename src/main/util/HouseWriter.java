@@ -0,0 +1,130 @@
+package main.util;
+
+import main.model.elements.House;
+import main.model.elements.Room;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The {@code HouseWriter} class provides a facility for writing a {@code House} as a house layout JSON file of the
+ * format read by {@code HouseReader}. Each connection between two {@code Room}s is written only once, under whichever
+ * of the two {@code Room}s is written first. Note: this class is not instantiable.
+ *
+ * @author Jeff Wilgus
+ * @see HouseReader
+ */
+public class HouseWriter {
+
+    /**
+     * Converts the specified {@code house} into its house layout JSON representation.
+     *
+     * @param house The specified {@code House}
+     * @return The layout of the specified {@code house}
+     * @throws NullPointerException If the specified {@code house} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static JSONObject toJSON(House house) {
+        JSONObject layout = new JSONObject();
+        JSONArray rooms = new JSONArray();
+        Set<String> written = new HashSet<>();
+        for (String location : house.getLocations()) {
+            rooms.add(toJSON(house, location, written));
+        }
+        layout.put("root", house.getRoot());
+        layout.put("rooms", rooms);
+        return layout;
+    }
+
+    /**
+     * Writes the layout of the specified {@code house} to the specified {@code writer}. Rooms are written one at a
+     * time, so that the layout of a large {@code House} is never held in memory in its entirety.
+     *
+     * @param house The specified {@code House}
+     * @param writer The specified {@code Writer}
+     * @throws IOException If the layout could not be written
+     * @throws NullPointerException If either argument is {@code null}
+     */
+    public static void writeHouse(House house, Writer writer) throws IOException {
+        Set<String> written = new HashSet<>();
+        writer.write("{\"root\":");
+        JSONValue.writeJSONString(house.getRoot(), writer);
+        writer.write(",\"rooms\":[");
+        for (String location : house.getLocations()) {
+            if (!written.isEmpty()) {
+                writer.write(',');
+            }
+            toJSON(house, location, written).writeJSONString(writer);
+        }
+        writer.write("]}");
+        writer.flush();
+    }
+
+    /**
+     * Writes the layout of the specified {@code house} to the specified {@code file}, replacing its contents.
+     *
+     * @param house The specified {@code House}
+     * @param file The specified file
+     * @throws IOException If the layout could not be written
+     * @throws NullPointerException If either argument is {@code null}
+     */
+    public static void writeHouse(House house, File file) throws IOException {
+        try (Writer writer = new BufferedWriter(new FileWriter(file))) {
+            writeHouse(house, writer);
+        }
+    }
+
+    /*
+     * Converts the room at the specified location into its JSON representation, omitting its connections to the
+     * specified rooms that have already been written, then adds it to them.
+     */
+    @SuppressWarnings("unchecked")
+    private static JSONObject toJSON(House house, String location, Set<String> written) {
+        Room room = house.getRoom(location);
+        JSONObject roomObj = new JSONObject();
+        roomObj.put("id", location);
+        roomObj.put("doors", present(room.getDoors()));
+        roomObj.put("lights", present(room.getLights()));
+        roomObj.put("windows", present(room.getWindows()));
+
+        JSONArray connections = new JSONArray();
+        for (String adjacent : house.getConnections(location)) {
+            if (!written.contains(adjacent)) {
+                connections.add(adjacent);
+            }
+        }
+        roomObj.put("connections", connections);
+        written.add(location);
+        return roomObj;
+    }
+
+    /*
+     * Builds an object of the form {"location": [...]}, in which each flag tells whether the corresponding wall of a
+     * room (N-E-S-W) has an element.
+     */
+    @SuppressWarnings("unchecked")
+    private static JSONObject present(Object[] elements) {
+        JSONArray flags = new JSONArray();
+        for (Object element : elements) {
+            flags.add(element != null);
+        }
+        JSONObject object = new JSONObject();
+        object.put("location", flags);
+        return object;
+    }
+
+    // Clients cannot instantiate this class.
+    private HouseWriter() {
+        // Just in case a maintainer tries to do so from within this class.
+        throw new AssertionError();
+    }
+
+}
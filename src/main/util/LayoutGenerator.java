@@ -0,0 +1,194 @@
+package main.util;
+
+import main.model.elements.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code LayoutGenerator} class builds valid {@code House} layouts of arbitrary size and shape, for use in
+ * benchmarks and soak tests. Every layout it builds is connected, is rooted at its first {@code Room}, connects no
+ * {@code Room} with more than {@value House#MAX_CONNECTIONS} others, and contains no three {@code Room}s that are all
+ * connected to one another. The {@code Door}s, {@code Light}s and {@code Window}s of each {@code Room} are chosen at
+ * random.
+ * <p>
+ * A {@code LayoutGenerator} is seeded: two generators constructed with the same seed build identical layouts when
+ * asked for the same sequence of shapes. Layouts can be written to a file that {@code HouseReader} reads with {@link
+ * HouseWriter}.
+ *
+ * @author Jeff Wilgus
+ * @see HouseWriter
+ */
+public class LayoutGenerator {
+
+    private static final int NUMBER_OF_WALLS = 4;
+    private static final int MAX_SIDE_ROOMS = House.MAX_CONNECTIONS - 2; // Two connections lead along the corridor
+
+    private final Random random;
+
+    /**
+     * Constructs a new {@code LayoutGenerator} with the specified {@code seed}.
+     *
+     * @param seed The specified seed
+     */
+    public LayoutGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @param index The specified index
+     * @return The location of the {@code Room} with the specified {@code index} in a single-floor layout
+     */
+    public static String location(int index) {
+        return "room_" + index;
+    }
+
+    /**
+     * @param floor The specified floor
+     * @param index The specified index
+     * @return The location of the {@code Room} with the specified {@code index} on the specified {@code floor} of a
+     * multi-floor layout
+     */
+    public static String location(int floor, int index) {
+        return "floor_" + floor + "_room_" + index;
+    }
+
+    /**
+     * Builds a {@code House} whose {@code Room}s are laid out row by row on a square grid, each connected to its
+     * neighbours to the north, east, south and west.
+     *
+     * @param rooms The specified number of {@code Room}s
+     * @return A grid-shaped {@code House}
+     * @throws IllegalArgumentException If the specified number of {@code rooms} is not positive
+     */
+    public House grid(int rooms) {
+        validateSize(rooms);
+        House house = new House();
+        addGrid(house, rooms, -1);
+        house.setRoot(location(0));
+        return house;
+    }
+
+    /**
+     * Builds a {@code House} whose {@code Room}s form a tree: each {@code Room} is connected to a single {@code Room}
+     * chosen at random among those built before it.
+     *
+     * @param rooms The specified number of {@code Room}s
+     * @return A tree-shaped {@code House}
+     * @throws IllegalArgumentException If the specified number of {@code rooms} is not positive
+     */
+    public House tree(int rooms) {
+        validateSize(rooms);
+        House house = new House();
+        List<String> open = new ArrayList<>(); // Rooms that can take another connection
+        house.addRoom(room(), location(0));
+        open.add(location(0));
+
+        for (int i = 1; i < rooms; i++) {
+            int pick = random.nextInt(open.size());
+            String parent = open.get(pick);
+            house.addRoom(room(), location(i));
+            house.addConnection(parent, location(i));
+            if (house.getConnections(parent).size() == House.MAX_CONNECTIONS) {
+                open.set(pick, open.get(open.size() - 1));
+                open.remove(open.size() - 1);
+            }
+            open.add(location(i));
+        }
+        house.setRoot(location(0));
+        return house;
+    }
+
+    /**
+     * Builds a {@code House} whose {@code Room}s form a long corridor, each {@code Room} of which leads to up to
+     * {@value #MAX_SIDE_ROOMS} side {@code Room}s chosen at random.
+     *
+     * @param rooms The specified number of {@code Room}s
+     * @return A corridor-shaped {@code House}
+     * @throws IllegalArgumentException If the specified number of {@code rooms} is not positive
+     */
+    public House corridor(int rooms) {
+        validateSize(rooms);
+        House house = new House();
+        house.addRoom(room(), location(0));
+        String end = location(0);
+        int sideRooms = 0;
+
+        for (int i = 1; i < rooms; i++) {
+            house.addRoom(room(), location(i));
+            house.addConnection(end, location(i));
+            if (sideRooms < MAX_SIDE_ROOMS && random.nextBoolean()) {
+                sideRooms++;
+            } else {
+                end = location(i);
+                sideRooms = 0;
+            }
+        }
+        house.setRoot(location(0));
+        return house;
+    }
+
+    /**
+     * Builds a {@code House} of the specified number of {@code floors}, each laid out as a {@link #grid(int) grid}. The
+     * first {@code Room} of each floor is connected to the first {@code Room} of the floors above and below it by a
+     * staircase.
+     *
+     * @param floors The specified number of floors
+     * @param roomsPerFloor The specified number of {@code Room}s on each floor
+     * @return A multi-floor {@code House}
+     * @throws IllegalArgumentException If either the specified number of {@code floors} or of {@code roomsPerFloor} is
+     * not positive
+     */
+    public House multiFloor(int floors, int roomsPerFloor) {
+        validateSize(floors);
+        validateSize(roomsPerFloor);
+        House house = new House();
+        for (int floor = 0; floor < floors; floor++) {
+            addGrid(house, roomsPerFloor, floor);
+            if (floor > 0) {
+                house.addConnection(location(floor - 1, 0), location(floor, 0));
+            }
+        }
+        house.setRoot(location(0, 0));
+        return house;
+    }
+
+    /*
+     * Adds a grid of the specified number of rooms to the specified house, named after the specified floor, or as a
+     * single-floor layout if it is negative. Rooms are only connected to their neighbours to the west and north, so
+     * that the first room of the grid is left with two connections to spare for staircases.
+     */
+    private void addGrid(House house, int rooms, int floor) {
+        int width = Math.max(1, (int) Math.ceil(Math.sqrt(rooms)));
+        for (int i = 0; i < rooms; i++) {
+            String location = floor < 0 ? location(i) : location(floor, i);
+            house.addRoom(room(), location);
+            if (i % width > 0) {
+                house.addConnection(location, floor < 0 ? location(i - 1) : location(floor, i - 1));
+            }
+            if (i >= width) {
+                house.addConnection(location, floor < 0 ? location(i - width) : location(floor, i - width));
+            }
+        }
+    }
+
+    private Room room() {
+        Door[] doors = new Door[NUMBER_OF_WALLS];
+        Light[] lights = new Light[NUMBER_OF_WALLS];
+        Window[] windows = new Window[NUMBER_OF_WALLS];
+        for (int wall = 0; wall < NUMBER_OF_WALLS; wall++) {
+            doors[wall] = random.nextBoolean() ? new Door() : null;
+            lights[wall] = random.nextBoolean() ? new Light() : null;
+            windows[wall] = random.nextBoolean() ? new Window() : null;
+        }
+        return new Room(doors, lights, windows);
+    }
+
+    private static void validateSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("A layout must have at least one room.");
+        }
+    }
+
+}
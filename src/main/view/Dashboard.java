@@ -451,7 +451,7 @@ public class Dashboard extends JFrame {
 
     /**
      * Updates the {@code Room} at the specified {@code location} on this {@code Dashboard} with the status of the
-     * specified {@code room}.
+     * specified {@code room}. Only a {@code Room} whose status has changed is repainted.
      *
      * @param location The specified location
      * @param room The specified {@code Room}
@@ -505,11 +505,11 @@ public class Dashboard extends JFrame {
     }
 
     /**
-     * Induces the {@code HouseLayoutPanel} to redraw itself.
+     * Induces the {@code HouseLayoutPanel} to redraw whatever has changed on it outside of its {@code Room}s, which
+     * {@link #updateRoom(String, Room)} redraws.
      */
     public void redrawHouse() {
-        layout.revalidate();
-        layout.repaint();
+        layout.updateYard();
     }
 
     /**
@@ -520,7 +520,7 @@ public class Dashboard extends JFrame {
      * HouseLayoutPanel}
      */
     public void showStates(boolean flag) {
-        layout.showStates = flag;
+        layout.showStates(flag);
     }
 
 }
@@ -11,7 +11,9 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
- * The {@code HouseLayoutPanel} class provides the UI elements for visualizing a {@code House}.
+ * The {@code HouseLayoutPanel} class provides the UI elements for visualizing a {@code House}. It keeps a copy of the
+ * state of each {@code Room} it shows, and only repaints the area of a {@code Room} whose state has changed since it was
+ * last updated.
  *
  * @author Jeff Wilgus
  */
@@ -22,6 +24,8 @@ public class HouseLayoutPanel extends JPanel {
         final Point coordinates;
         public double m_temperature;
         final int[] states = new int[NUMBER_OF_STATES];
+        boolean current; // Whether the states have been read from the Room yet
+        int changes; // The changes to the Room as of when its states were read
 
         RoomInfo(int x, int y) {
             coordinates = new Point(x, y);
@@ -65,6 +69,8 @@ public class HouseLayoutPanel extends JPanel {
     int x, y;
     int drawn = 0;
     boolean showStates = false;
+    Yard yard;
+    boolean yardOccupied;
     final Map<String, RoomInfo> rooms = new LinkedHashMap<>();
 
     /**
@@ -74,6 +80,8 @@ public class HouseLayoutPanel extends JPanel {
      */
     public void drawHouse(House house) {
         rooms.clear();
+        yard = house == null ? null : house.getYard();
+        yardOccupied = yard != null && yard.isOccupied();
         if (house != null) {
             x = getWidth() >>> house.size() - 2;
             y = getHeight() >>> house.size() - 1;
@@ -92,25 +100,69 @@ public class HouseLayoutPanel extends JPanel {
 
     /**
      * Updates the {@code Room} at the specified {@code location} on this {@code HouseLayoutPanel} with the status of
-     * the specified {@code room}.
+     * the specified {@code room}, and repaints it if that status has changed.
      *
      * @param location The specified location
      * @param room The specified {@code Room}
+     * @return {@code true} if the status of the specified {@code room} had changed
      * @throws NoSuchElementException If the specified {@code location} does not exist on this {@code HouseLayoutPanel}
      * @throws NullPointerException If the specified {@code room} is {@code null}
      */
-    public void updateRoom(String location, Room room) {
-        if (!rooms.containsKey(location)) {
+    public boolean updateRoom(String location, Room room) {
+        RoomInfo info = rooms.get(location);
+        if (info == null) {
             throw new NoSuchElementException("That location does not exist");
         }
 
-        RoomInfo info = rooms.get(location);
-
         // Set temperature string to be drawn on layout
-        info.m_temperature = Math.round(room.getTemperature() * 100.0) / 100.0;
+        double temperature = Math.round(room.getTemperature() * 100.0) / 100.0;
+        int hvac = room.isHVACon() ? 1 : 0;
+        if (info.current && info.changes == room.getChanges() && info.states[HVAC_ON] == hvac
+                && Double.compare(info.m_temperature, temperature) == 0) {
+            return false;
+        }
 
-        for (int i = 0; i < NUMBER_OF_STATES; i++) {
-            updateState(room, info, i);
+        info.m_temperature = temperature;
+        info.states[HVAC_ON] = hvac;
+        if (!info.current || info.changes != room.getChanges()) {
+            info.current = true;
+            info.changes = room.getChanges();
+            for (int i = 0; i < NUMBER_OF_STATES; i++) {
+                if (i != HVAC_ON) {
+                    updateState(room, info, i);
+                }
+            }
+        }
+
+        if (showStates) {
+            repaint(info.coordinates.x, info.coordinates.y, ROOM_DIM + 1, ROOM_DIM + 1);
+        }
+        return true;
+    }
+
+    /**
+     * Repaints the occupancy marker of the {@code Yard} if it has changed since this method was last invoked.
+     */
+    public void updateYard() {
+        boolean occupied = yard != null && yard.isOccupied();
+        if (occupied != yardOccupied) {
+            yardOccupied = occupied;
+            if (showStates) {
+                repaint(getWidth() - OFFSET - STATE_DIM, OFFSET, STATE_DIM, STATE_DIM);
+            }
+        }
+    }
+
+    /**
+     * Sets whether or not {@code Room} states are rendered on this {@code HouseLayoutPanel} to that specified, and
+     * repaints it if that changes.
+     *
+     * @param flag If {@code true}, {@code Room} states shall be rendered
+     */
+    public void showStates(boolean flag) {
+        if (flag != showStates) {
+            showStates = flag;
+            repaint();
         }
     }
 
@@ -150,9 +202,15 @@ public class HouseLayoutPanel extends JPanel {
             y = getHeight() >>> 1;
             g.drawString(NULL_HOUSE_MESSAGE, x, y);
         } else {
+            Rectangle clip = g.getClipBounds();
             for (Map.Entry<String, RoomInfo> entry : rooms.entrySet()) {
                 int x = entry.getValue().coordinates.x, y = entry.getValue().coordinates.y;
-                int stateIndex = 0, stateOffset = OFFSET, legendOffset = OFFSET;
+                int stateIndex = 0, stateOffset = OFFSET;
+
+                // Rooms outside of the area being repainted are left as they are
+                if (clip != null && !clip.intersects(x, y, ROOM_DIM + 1, ROOM_DIM + 1)) {
+                    continue;
+                }
 
                 String location = entry.getKey();
                 g.drawRect(x, y, ROOM_DIM, ROOM_DIM);
@@ -164,19 +222,13 @@ public class HouseLayoutPanel extends JPanel {
                 if (showStates) {
                     Color color = g.getColor();
                     for (int state : entry.getValue().states) {
-                        g.setColor(STATE_COLORS[stateIndex]);
                         if (state > 0) {
+                            g.setColor(STATE_COLORS[stateIndex]);
                             g.fillOval(x + stateOffset, y + OFFSET, STATE_DIM, STATE_DIM);
                             stateOffset += OFFSET + STATE_DIM;
                         }
-                        g.fillOval(OFFSET, legendOffset, STATE_DIM, STATE_DIM);
-                        g.drawString(STATE_LEGEND[stateIndex], OFFSET + STATE_DIM, legendOffset + (STATE_DIM));
-                        legendOffset += OFFSET + STATE_DIM;
                         stateIndex++;
                     }
-                    if (Yard.getInstance().getNumberOfPeople() > 0) {
-                        g.fillOval(getWidth() - OFFSET - STATE_DIM, OFFSET, STATE_DIM, STATE_DIM);
-                    }
                     g.setColor(color);
 
                     // Draw the temperature on layout
@@ -187,7 +239,27 @@ public class HouseLayoutPanel extends JPanel {
                     ;
                 }
             }
+
+            if (showStates) {
+                paintLegend(g);
+            }
+        }
+    }
+
+    // The legend and the Yard's marker are painted once, over the rooms
+    private void paintLegend(Graphics g) {
+        Color color = g.getColor();
+        int legendOffset = OFFSET;
+        for (int i = 0; i < NUMBER_OF_STATES; i++) {
+            g.setColor(STATE_COLORS[i]);
+            g.fillOval(OFFSET, legendOffset, STATE_DIM, STATE_DIM);
+            g.drawString(STATE_LEGEND[i], OFFSET + STATE_DIM, legendOffset + (STATE_DIM));
+            legendOffset += OFFSET + STATE_DIM;
+        }
+        if (yard != null && yard.isOccupied()) {
+            g.fillOval(getWidth() - OFFSET - STATE_DIM, OFFSET, STATE_DIM, STATE_DIM);
         }
+        g.setColor(color);
     }
 
 }
@@ -1,11 +1,17 @@
 package test.elements;
 
-import main.model.elements.House;
+import main.model.elements.*;
+import main.model.parameters.permissions.ParentPermission;
 import main.util.HouseReader;
+import main.util.LayoutGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,4 +39,235 @@ public class HouseTest {
         assertEquals(2, house.getRoom("living_room").getNumberOfLightsOn());
     }
 
+    @Test
+    void testYardBelongsToHouse() {
+        House other = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        house.addPerson("Jeff", new ParentPermission(), House.EXTERIOR_NAME);
+        assertTrue(house.getYard().isOccupied());
+        assertTrue(house.isOccupied());
+        assertFalse(other.getYard().isOccupied());
+        assertFalse(other.isOccupied());
+
+        house.addPerson("Jeff", new ParentPermission(), "kitchen");
+        assertFalse(house.getYard().isOccupied());
+        house.addPerson("Jeff", new ParentPermission(), House.EXTERIOR_NAME);
+        assertTrue(house.removePerson("Jeff"));
+        assertFalse(house.isOccupied());
+        assertFalse(house.removePerson("Jeff"));
+    }
+
+    @Test
+    void testCountsFollowElementStates() {
+        Room room = house.getRoom("living_room");
+        Window window = room.getWindows()[0];
+        Door door = new Door();
+        door.setOpen(true);
+        Room hall = new Room(new Door[] {door}, new Light[] {new Light(true)}, new Window[] {new Window(true, true)});
+        assertEquals(1, hall.getNumberOfOpenDoors());
+        assertEquals(1, hall.getNumberOfLightsOn());
+        assertEquals(1, hall.getNumberOfWindowsBlocked());
+        assertThrows(IllegalArgumentException.class, () -> new Room(new Door[] {door}, new Light[0], new Window[0]));
+
+        window.setOpen(true);
+        window.setOpen(true);
+        assertEquals(1, room.getNumberOfWindowsOpen());
+        window.setBlocked(true);
+        assertTrue(house.hasObstructedWindow());
+        window.setBlocked(false);
+        assertFalse(house.hasObstructedWindow());
+
+        house.addRoom(hall, "hall");
+        assertTrue(house.hasObstructedWindow());
+        door.setOpen(false);
+        door.setLocked(true);
+        assertEquals(0, hall.getNumberOfOpenDoors());
+        assertEquals(1, hall.getNumberOfLockedDoors());
+
+        house.addPerson("Jeff", new ParentPermission(), "hall");
+        house.addPerson("Philippe", new ParentPermission(), "kitchen");
+        assertEquals(2, house.getNumberOfPeople());
+        house.addPerson("Jeff", new ParentPermission(), "kitchen");
+        assertEquals(2, house.getNumberOfPeople());
+        assertEquals(0, hall.getNumberOfPeople());
+        house.removePerson("Philippe");
+        assertEquals(1, house.getNumberOfPeople());
+    }
+
+    @Test
+    void testRoomChangesAreCounted() {
+        Room kitchen = house.getRoom("kitchen");
+        int changes = kitchen.getChanges();
+        kitchen.getLights()[2].setOn(false);
+        kitchen.setTemperature(25);
+        assertEquals(changes, kitchen.getChanges());
+
+        kitchen.toggleLights(true);
+        assertNotEquals(changes, changes = kitchen.getChanges());
+        kitchen.getDoors()[3].setOpen(true);
+        assertNotEquals(changes, changes = kitchen.getChanges());
+        house.addPerson("Jeff", new ParentPermission(), "kitchen");
+        assertNotEquals(changes, changes = kitchen.getChanges());
+        house.pack();
+        kitchen.getWindows()[0].setBlocked(true);
+        assertNotEquals(changes, kitchen.getChanges());
+    }
+
+    @Test
+    void testGraphIndexesRoomsDensely() {
+        house.addRoom(new Room(new Door[0], new Light[0], new Window[0]), "attic");
+        house.addRoom(new Room(new Door[0], new Light[0], new Window[0]), "cellar");
+        house.addConnection("kitchen", "attic");
+        house.addConnection("living_room", "cellar");
+        RoomGraph graph = house.getGraph();
+        assertSame(graph, house.getGraph());
+        assertEquals(house.size(), graph.size());
+        assertEquals(6, graph.edges());
+
+        for (String location : house.getLocations()) {
+            int index = house.indexOf(location);
+            assertEquals(location, house.getLocation(index));
+            assertSame(house.getRoom(location), house.getRoom(index));
+            Set<String> adjacents = new HashSet<>();
+            for (int edge = graph.start(index); edge < graph.end(index); edge++) {
+                adjacents.add(house.getLocation(graph.target(edge)));
+            }
+            assertEquals(house.getConnections(location), adjacents);
+        }
+        assertEquals(-1, house.indexOf("garage"));
+        assertThrows(IndexOutOfBoundsException.class, () -> house.getRoom(house.size()));
+
+        Room kitchen = house.getRoom("kitchen");
+        Iterator<Room> iterator = house.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == kitchen) {
+                iterator.remove();
+            }
+        }
+        assertNotSame(graph, house.getGraph());
+        assertEquals(3, house.size());
+        assertEquals(-1, house.indexOf("kitchen"));
+        assertEquals(Collections.emptySet(), house.getConnections("attic"));
+        assertEquals(Collections.singleton("cellar"), house.getConnections("living_room"));
+        assertEquals("living_room", house.getRoot());
+
+        List<String> toured = new ArrayList<>();
+        house.tour((location, room) -> toured.add(location));
+        assertEquals(Arrays.asList("living_room", "cellar"), toured);
+    }
+
+    @Test
+    void testToursAreConsistentAcrossThreads() throws Exception {
+        House grid = (new LayoutGenerator(42)).grid(2_000);
+        List<String> expected = new ArrayList<>();
+        grid.tour((location, room) -> expected.add(location));
+        assertEquals(grid.size(), expected.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> tours = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                tours.add(executor.submit(() -> {
+                    List<String> visited = new ArrayList<>();
+                    grid.tour((location, room) -> visited.add(location));
+                    return visited;
+                }));
+            }
+            for (Future<List<String>> tour : tours) {
+                assertEquals(expected, tour.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testTourFollowsLayoutChanges() {
+        List<String> toured = new ArrayList<>();
+        house.tour((location, room) -> toured.add(location));
+        assertEquals(Arrays.asList("living_room", "kitchen"), toured);
+
+        house.setRoot("kitchen");
+        toured.clear();
+        house.tour((location, room) -> toured.add(location));
+        assertEquals(Arrays.asList("kitchen", "living_room"), toured);
+
+        house.addRoom(new Room(new Door[0], new Light[0], new Window[0]), "attic");
+        house.addConnection("kitchen", "attic");
+        toured.clear();
+        house.tour((location, room) -> toured.add(location));
+        assertEquals(3, toured.size());
+        assertTrue(toured.contains("attic"));
+
+        assertThrows(IllegalStateException.class, () -> new House().tour((location, room) -> { }));
+    }
+
+    @Test
+    void testStoreTogglesWindowsFromItsBitmaps() {
+        Room kitchen = house.getRoom("kitchen");
+        kitchen.getWindows()[1].setBlocked(true);
+        RoomStateStore store = house.pack();
+        int index = house.indexOf("kitchen");
+        store.setHVAC(index, true);
+
+        int changes = kitchen.getChanges();
+        store.toggleWindows(index, true);
+        assertTrue(kitchen.getWindows()[0].isOpen());
+        assertFalse(kitchen.getWindows()[1].isOpen());
+        assertEquals(1, store.getNumberOfWindowsOpen(index));
+        assertFalse(store.isHVACOn(index));
+        assertTrue(kitchen.getChanges() > changes);
+
+        // Nothing left to open: the Room is not touched, but its HVAC still follows its Windows
+        changes = kitchen.getChanges();
+        store.setHVAC(index, true);
+        store.toggleWindows(index, true);
+        assertEquals(changes, kitchen.getChanges());
+        assertFalse(store.isHVACOn(index));
+
+        kitchen.getWindows()[0].setOpen(false);
+        kitchen.getWindows()[0].setBlocked(true);
+        store.setHVAC(index, true);
+        store.toggleWindows(index, true);
+        assertEquals(0, store.getNumberOfWindowsOpen(index));
+        assertTrue(store.isHVACOn(index)); // Every Window is blocked, so the HVAC is left as it is
+    }
+
+    @Test
+    void testPackedRoomsShareStateWithStore() {
+        Room kitchen = house.getRoom("kitchen");
+        kitchen.setTemperature(18);
+        kitchen.setAwayLight(true);
+        RoomStateStore store = house.pack();
+        assertSame(store, house.getStateStore());
+        assertEquals(house.size(), store.size());
+
+        int index = 0;
+        while (!store.getLocation(index).equals("kitchen")) {
+            index++;
+        }
+        assertSame(kitchen, store.getRoom(index));
+        assertEquals(18, store.getTemperature(index));
+        assertTrue(store.isAwayLight(index));
+
+        store.temperatures()[index] = 22;
+        store.setHVAC(index, false);
+        assertEquals(22, kitchen.getTemperature());
+        assertFalse(kitchen.isHVACon());
+
+        kitchen.getWindows()[0].setOpen(true);
+        kitchen.toggleLights(true);
+        assertEquals(1, store.getNumberOfWindowsOpen(index));
+        assertEquals(kitchen.getNumberOfLightsOn(), store.getNumberOfLightsOn());
+
+        house.addRoom(new Room(new Door[0], new Light[0], new Window[0]), "attic");
+        assertNotSame(store, house.getStateStore());
+        assertEquals(house.size(), house.getStateStore().size());
+
+        house.unpack();
+        assertNull(house.getStateStore());
+        assertEquals(22, kitchen.getTemperature());
+        assertFalse(kitchen.isHVACon());
+        assertTrue(kitchen.isAwayLight());
+    }
+
 }
@@ -5,9 +5,13 @@ import main.util.HouseReader;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.NoSuchElementException;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class HouseReaderTest {
 
@@ -53,4 +57,49 @@ public class HouseReaderTest {
         assertEquals(houseReader.readHouse(), expectedHouse);
     }
 
+    @Test
+    void testReadConnections() {
+        House house = houseReader.readHouse();
+        assertEquals("living_room", house.getRoot());
+        assertEquals(Collections.singleton("kitchen"), house.getConnections("living_room"));
+        assertEquals(Collections.singleton("living_room"), house.getConnections("kitchen"));
+    }
+
+    @Test
+    void testReadStreamedLayout() throws IOException {
+        // Keys in any order, connections to rooms not read yet, and entries the reader does not know about
+        House house = read("{\"rooms\": [{\"connections\": [\"hall\", \"study\"], \"id\": \"den\", "
+                + "\"lights\": {\"location\": [true]}, \"style\": {\"location\": [true, true, true, true, true]}}, "
+                + "{\"id\": \"hall\", \"doors\": {\"location\": [false, true, false, false]}}, "
+                + "{\"id\": \"study\", \"windows\": {\"location\": []}, \"connections\": []}], "
+                + "\"root\": \"hall\"}");
+
+        assertEquals(3, house.size());
+        assertEquals("hall", house.getRoot());
+        assertEquals(2, house.getConnections("den").size());
+        assertNotNull(house.getRoom("den").getLights()[0]);
+        assertNull(house.getRoom("den").getDoors()[0]);
+        assertNotNull(house.getRoom("hall").getDoors()[1]);
+    }
+
+    @Test
+    void testReadInvalidLayouts() {
+        assertThrows(IllegalArgumentException.class, () -> read("{\"rooms\": [{\"id\": \"den\", \"doors\": "
+                + "{\"location\": [true, true, true, true, true]}}]}"));
+        assertThrows(NoSuchElementException.class, () -> read("{\"rooms\": [{\"id\": \"den\", "
+                + "\"connections\": [\"attic\"]}]}"));
+    }
+
+    private static House read(String layout) throws IOException {
+        File file = File.createTempFile("layout", ".json");
+        try {
+            try (Writer writer = new FileWriter(file)) {
+                writer.write(layout);
+            }
+            return (new HouseReader(file)).readHouse();
+        } finally {
+            file.delete();
+        }
+    }
+
 }
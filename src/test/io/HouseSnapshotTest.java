@@ -0,0 +1,125 @@
+package test.io;
+
+import main.model.elements.*;
+import main.util.HouseReader;
+import main.util.LayoutGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HouseSnapshotTest {
+
+    private File snapshot;
+    private File layout;
+
+    @BeforeEach
+    void setup() throws IOException {
+        snapshot = File.createTempFile("house", ".snapshot");
+        layout = File.createTempFile("house", ".json");
+    }
+
+    @AfterEach
+    void teardown() {
+        snapshot.delete();
+        layout.delete();
+    }
+
+    @Test
+    void testSnapshotPreservesHouse() throws IOException {
+        House house = (new LayoutGenerator(7)).tree(300);
+        int i = 0;
+        for (Room room : house) {
+            room.setTemperature(15 + i % 11 * 0.5);
+            room.setHVAC(i % 3 == 0);
+            room.setAwayLight(i % 4 == 0);
+            for (Door door : room.getDoors()) {
+                if (door != null && i % 2 == 0) {
+                    door.setOpen(true);
+                } else if (door != null) {
+                    door.setLocked(true);
+                }
+            }
+            for (Window window : room.getWindows()) {
+                if (window != null) {
+                    window.setBlocked(i % 5 == 0);
+                }
+            }
+            room.toggleLights(i % 2 == 1);
+            i++;
+        }
+
+        HouseSnapshot.write(house, snapshot);
+        HouseSnapshot opened = HouseSnapshot.open(snapshot);
+        assertEquals(house.size(), opened.size());
+        assertEquals(house.getRoot(), opened.getRoot());
+
+        House restored = opened.toHouse();
+        assertEquals(house, restored);
+        assertEquals(house.getRoot(), restored.getRoot());
+        for (String location : house.getLocations()) {
+            assertEquals(house.getConnections(location), restored.getConnections(location));
+            Room expected = house.getRoom(location);
+            Room actual = restored.getRoom(location);
+            assertEquals(expected.isHVACon(), actual.isHVACon());
+            assertEquals(expected.isAwayLight(), actual.isAwayLight());
+            assertEquals(expected.getNumberOfOpenDoors(), actual.getNumberOfOpenDoors());
+            assertEquals(expected.getNumberOfLockedDoors(), actual.getNumberOfLockedDoors());
+            assertEquals(expected.getNumberOfLightsOn(), actual.getNumberOfLightsOn());
+            assertEquals(expected.getNumberOfWindowsBlocked(), actual.getNumberOfWindowsBlocked());
+        }
+        assertEquals(house.hasObstructedWindow(), restored.hasObstructedWindow());
+    }
+
+    @Test
+    void testSnapshotIsReadInPlace() throws IOException {
+        House house = (new LayoutGenerator(7)).grid(50);
+        house.getRoom(LayoutGenerator.location(7)).setTemperature(-3.5);
+        HouseSnapshot.write(house, snapshot);
+
+        HouseSnapshot opened = HouseSnapshot.open(snapshot);
+        Set<String> locations = new HashSet<>();
+        for (int i = 0; i < opened.size(); i++) {
+            String location = opened.getLocation(i);
+            locations.add(location);
+            assertEquals(house.getRoom(location).getTemperature(), opened.getTemperature(i));
+
+            Set<String> adjacents = new HashSet<>();
+            for (int adjacent : opened.getConnections(i)) {
+                adjacents.add(opened.getLocation(adjacent));
+            }
+            assertEquals(house.getConnections(location), adjacents);
+        }
+        assertEquals(house.getLocations(), locations);
+        assertThrows(IndexOutOfBoundsException.class, () -> opened.getTemperature(50));
+    }
+
+    @Test
+    void testSnapshotConvertsToAndFromLayout() throws IOException {
+        HouseSnapshot.fromLayout(new File("src/test/io/houseLayoutTest.json"), snapshot);
+        HouseSnapshot.toLayout(snapshot, layout);
+
+        House expected = (new HouseReader(new File("src/test/io/houseLayoutTest.json"))).readHouse();
+        House actual = (new HouseReader(layout)).readHouse();
+        assertEquals(expected, actual);
+        assertEquals(expected.getRoot(), actual.getRoot());
+        assertEquals(expected.getConnections("kitchen"), actual.getConnections("kitchen"));
+    }
+
+    @Test
+    void testOnlySnapshotsCanBeOpened() throws IOException {
+        try (Writer writer = new FileWriter(snapshot)) {
+            writer.write("{\"rooms\": []}");
+        }
+        assertThrows(IllegalArgumentException.class, () -> HouseSnapshot.open(snapshot));
+    }
+
+}
@@ -0,0 +1,93 @@
+package test.main.util;
+
+import main.model.elements.House;
+import main.model.elements.Room;
+import main.util.HouseReader;
+import main.util.HouseWriter;
+import main.util.LayoutGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayoutGeneratorTest {
+
+    private static final long SEED = 42;
+
+    @Test
+    void testLayoutsAreValid() {
+        LayoutGenerator generator = new LayoutGenerator(SEED);
+        assertValid(generator.grid(1_000), 1_000);
+        assertValid(generator.tree(1_000), 1_000);
+        assertValid(generator.corridor(1_000), 1_000);
+        assertValid(generator.multiFloor(5, 200), 1_000);
+        assertValid(generator.multiFloor(4, 1), 4);
+        assertThrows(IllegalArgumentException.class, () -> generator.grid(0));
+        assertThrows(IllegalArgumentException.class, () -> generator.multiFloor(2, -1));
+    }
+
+    @Test
+    void testLayoutsAreReproducible() {
+        LayoutGenerator one = new LayoutGenerator(SEED);
+        LayoutGenerator two = new LayoutGenerator(SEED);
+        assertSameLayout(one.tree(500), two.tree(500));
+        assertSameLayout(one.corridor(500), two.corridor(500));
+
+        House other = (new LayoutGenerator(SEED + 1)).tree(500);
+        House house = (new LayoutGenerator(SEED)).tree(500);
+        boolean same = true;
+        for (String location : house.getLocations()) {
+            same &= house.getConnections(location).equals(other.getConnections(location));
+        }
+        assertFalse(same);
+    }
+
+    @Test
+    void testLayoutsCanBeReadBack() throws IOException {
+        House house = (new LayoutGenerator(SEED)).multiFloor(3, 50);
+        File file = File.createTempFile("layout", ".json");
+        try {
+            HouseWriter.writeHouse(house, file);
+            assertSameLayout(house, (new HouseReader(file)).readHouse());
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void assertValid(House house, int rooms) {
+        assertEquals(rooms, house.size());
+        Set<String> visited = new HashSet<>();
+        house.tour((location, room) -> visited.add(location));
+        assertEquals(house.getLocations(), visited);
+
+        for (String location : house.getLocations()) {
+            Set<String> adjacents = house.getConnections(location);
+            assertTrue(adjacents.size() <= House.MAX_CONNECTIONS);
+            for (String adjacent : adjacents) {
+                for (String other : house.getConnections(adjacent)) {
+                    assertFalse(adjacents.contains(other), location + ", " + adjacent + " and " + other);
+                }
+            }
+        }
+    }
+
+    private static void assertSameLayout(House expected, House actual) {
+        assertEquals(expected.getRoot(), actual.getRoot());
+        assertEquals(expected.getLocations(), actual.getLocations());
+        for (String location : expected.getLocations()) {
+            assertEquals(expected.getConnections(location), actual.getConnections(location));
+            Room one = expected.getRoom(location);
+            Room two = actual.getRoom(location);
+            for (int wall = 0; wall < one.getDoors().length; wall++) {
+                assertEquals(one.getDoors()[wall] == null, two.getDoors()[wall] == null);
+                assertEquals(one.getLights()[wall] == null, two.getLights()[wall] == null);
+                assertEquals(one.getWindows()[wall] == null, two.getWindows()[wall] == null);
+            }
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package test.parameters;
 
 import main.model.Action;
+import main.model.elements.TemperatureControlZone;
 import main.model.parameters.Parameters;
 import main.model.parameters.permissions.Permission;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 import java.util.Date;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -131,4 +133,28 @@ class ParameterTest {
         assertEquals(1000, parameters.getAwayDelay());
     }
 
+    @Test
+    void testZoneIndex() {
+        TemperatureControlZone upstairs = parameters.addZone("upstairs");
+        TemperatureControlZone downstairs = parameters.addZone("downstairs");
+        assertNull(parameters.zoneOf("kitchen"));
+        assertFalse(parameters.isTemperatureOverridden("kitchen"));
+        assertThrows(NoSuchElementException.class, () -> parameters.getTemperatureControlZone("kitchen"));
+
+        upstairs.addRoom("kitchen");
+        assertSame(upstairs, parameters.zoneOf("kitchen"));
+        upstairs.overrideTempFor("kitchen", 20);
+        assertTrue(parameters.isTemperatureOverridden("kitchen"));
+
+        downstairs.addRoom("kitchen");
+        assertSame(downstairs, parameters.getTemperatureControlZone("kitchen"));
+        assertFalse(upstairs.getRooms().contains("kitchen"));
+        assertFalse(parameters.isTemperatureOverridden("kitchen"));
+
+        upstairs.removeRoom("kitchen");
+        assertSame(downstairs, parameters.zoneOf("kitchen"));
+        parameters.removeZone("downstairs");
+        assertNull(parameters.zoneOf("kitchen"));
+    }
+
 }
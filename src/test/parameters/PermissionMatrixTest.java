@@ -0,0 +1,112 @@
+package test.parameters;
+
+import main.model.Action;
+import main.model.parameters.Parameters;
+import main.model.parameters.permissions.AbstractPermission;
+import main.model.parameters.permissions.ChildPermission;
+import main.model.parameters.permissions.GuestPermission;
+import main.model.parameters.permissions.Permission;
+import main.model.parameters.permissions.PermissionMatrix;
+import main.util.PermissionDeniedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionMatrixTest {
+
+    @Test
+    void testMatrixSummarizesPermissions() {
+        Parameters parameters = new Parameters();
+        PermissionMatrix matrix = parameters.getPermissionMatrix();
+        for (Action action : Action.values()) {
+            assertTrue(matrix.isAllowed(PermissionMatrix.PARENT, action));
+            assertEquals(action.isChildPermissible(), matrix.isAllowed(PermissionMatrix.CHILD, action));
+            assertEquals(action.isGuestPermissible(), matrix.isAllowed(PermissionMatrix.GUEST, action));
+            assertFalse(matrix.isAllowed(PermissionMatrix.STRANGER, action));
+            assertArrayEquals(new boolean[] {true, action.isChildPermissible(), action.isGuestPermissible(), false},
+                    action.isPermissibleBy(parameters));
+        }
+        assertEquals(PermissionMatrix.GUEST, PermissionMatrix.levelOf("Guest"));
+        assertEquals(-1, PermissionMatrix.levelOf("Neighbour"));
+        assertEquals(0, matrix.maskOf(PermissionMatrix.STRANGER));
+    }
+
+    @Test
+    void testMatrixIsRebuiltOnlyWhenPermissionsChange() {
+        Parameters parameters = new Parameters();
+        PermissionMatrix matrix = parameters.getPermissionMatrix();
+        assertSame(matrix, parameters.getPermissionMatrix());
+
+        Permission stranger = parameters.getPermissionOf("Stranger");
+        stranger.allow(Action.TOGGLE_LIGHT);
+        try {
+            assertFalse(matrix.isCurrent(parameters.getPermissions()));
+            assertFalse(matrix.isAllowed(PermissionMatrix.STRANGER, Action.TOGGLE_LIGHT));
+            PermissionMatrix rebuilt = parameters.getPermissionMatrix();
+            assertNotSame(matrix, rebuilt);
+            assertTrue(rebuilt.isAllowed(PermissionMatrix.STRANGER, Action.TOGGLE_LIGHT));
+            assertEquals(Action.TOGGLE_LIGHT, stranger.authorize(Action.TOGGLE_LIGHT));
+        } finally {
+            stranger.disallow(Action.TOGGLE_LIGHT);
+        }
+        assertThrows(PermissionDeniedException.class, () -> stranger.authorize(Action.TOGGLE_LIGHT));
+
+        Permission guest = parameters.getPermissionOf("Guest");
+        Permission loaded = new GuestPermission();
+        loaded.disallow(Action.TOGGLE_LIGHT);
+        Map<String, Permission> permissions = new HashMap<>();
+        permissions.put("Guest", loaded);
+        parameters.setPermissions(permissions);
+        assertSame(guest, parameters.getPermissionOf("Guest"));
+        assertThrows(PermissionDeniedException.class, () -> guest.authorize(Action.TOGGLE_LIGHT));
+        PermissionMatrix replaced = parameters.getPermissionMatrix();
+        assertTrue(replaced.isAllowed(PermissionMatrix.PARENT, Action.SET_AWAY_MODE));
+        assertFalse(replaced.isAllowed(PermissionMatrix.GUEST, Action.TOGGLE_LIGHT));
+    }
+
+    @Test
+    void testPermissionsAreIsolatedPerParameters() {
+        Parameters one = new Parameters();
+        Parameters other = new Parameters();
+        one.getPermissionOf("Child").disallow(Action.TOGGLE_LIGHT);
+        one.getPermissionOf("Stranger").allow(Action.TOGGLE_DOOR);
+
+        assertTrue(other.getPermissionOf("Child").allowed().contains(Action.TOGGLE_LIGHT));
+        assertTrue(new ChildPermission().allowed().contains(Action.TOGGLE_LIGHT));
+        assertTrue(other.getPermissionOf("Stranger").allowed().isEmpty());
+        assertFalse(one.getPermissionMatrix().isAllowed(PermissionMatrix.CHILD, Action.TOGGLE_LIGHT));
+        assertTrue(other.getPermissionMatrix().isAllowed(PermissionMatrix.CHILD, Action.TOGGLE_LIGHT));
+
+        one.getPermissionOf("Guest").allowed().clear();
+        assertEquals(other.getPermissionOf("Guest"), one.getPermissionOf("Guest"));
+    }
+
+    @Test
+    void testAuthorizationIsConsistentWhileEditing() throws InterruptedException {
+        Permission child = (new Parameters()).getPermissionOf("Child");
+        boolean[] failed = new boolean[1];
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 1_000_000; i++) {
+                // Toggling doors is only ever allowed together with blocking windows.
+                Set<Action> allowed = child.allowed();
+                if (allowed.contains(Action.TOGGLE_DOOR) != allowed.contains(Action.TOGGLE_BLOCK_WINDOW)) {
+                    failed[0] = true;
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 10_000; i++) {
+            ((AbstractPermission) child).allowOnly(i % 2 == 0
+                    ? EnumSet.of(Action.TOGGLE_DOOR, Action.TOGGLE_BLOCK_WINDOW) : EnumSet.noneOf(Action.class));
+        }
+        reader.join();
+        assertFalse(failed[0]);
+        assertThrows(PermissionDeniedException.class, () -> child.authorize(Action.TOGGLE_DOOR));
+    }
+
+}
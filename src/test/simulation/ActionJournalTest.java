@@ -0,0 +1,171 @@
+package test.simulation;
+
+import main.model.Action;
+import main.model.Manipulable;
+import main.model.MultiValueManipulable;
+import main.model.ValueManipulable;
+import main.model.elements.House;
+import main.model.elements.Light;
+import main.model.elements.Room;
+import main.model.parameters.Parameters;
+import main.model.simulation.ActionJournal;
+import main.model.simulation.SimulationEngine;
+import main.util.HouseReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionJournalTest {
+
+    private File file;
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = File.createTempFile("actions", ".journal");
+        file.delete();
+    }
+
+    @AfterEach
+    void teardown() {
+        file.delete();
+    }
+
+    private static SimulationEngine newEngine() {
+        House house = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        Parameters parameters = new Parameters();
+        parameters.setTime(new int[] {12, 0, 0});
+        parameters.addZone("zone");
+        for (String location : house.getLocations()) {
+            parameters.getZone("zone").addRoom(location);
+        }
+        parameters.setOn(true);
+        return new SimulationEngine(house, parameters);
+    }
+
+    private static void perform(ActionJournal journal, SimulationEngine engine, Action action, Manipulable target)
+            throws IOException {
+        journal.record(engine.getElapsedTime(), action, target, engine.getHouse());
+        target.manipulate(action, engine.getParameters(), engine.getHouse());
+    }
+
+    @Test
+    void testReplayReproducesSimulation() throws IOException {
+        SimulationEngine engine = newEngine();
+        House house = engine.getHouse();
+        try (ActionJournal journal = new ActionJournal(file)) {
+            perform(journal, engine, Action.TOGGLE_DOOR, house.getRoom("living_room").getDoors()[3]);
+            engine.step(120);
+            perform(journal, engine, Action.TOGGLE_BLOCK_WINDOW, house.getRoom("kitchen").getWindows()[1]);
+            perform(journal, engine, Action.TOGGLE_LIGHT, house.getRoom("kitchen").getLights()[2]);
+            engine.step(600);
+
+            MultiValueManipulable temperature = new MultiValueManipulable("kitchen");
+            temperature.addValue(25.5);
+            perform(journal, engine, Action.CHANGE_TEMPERATURE, temperature);
+            perform(journal, engine, Action.SET_AWAY_MODE_DELAY, new ValueManipulable<>(30));
+
+            MultiValueManipulable awayLights = new MultiValueManipulable(new HashSet<>(Arrays.asList("kitchen")));
+            awayLights.addValue(LocalTime.of(19, 15));
+            awayLights.addValue(LocalTime.of(23, 45));
+            perform(journal, engine, Action.SET_AWAY_MODE_LIGHTS, awayLights);
+            engine.step(1_800);
+            perform(journal, engine, Action.TOGGLE_BLOCK_WINDOW, house.getRoom("kitchen").getWindows()[1]);
+            perform(journal, engine, Action.SET_AWAY_MODE, engine.getParameters().getAwayMode());
+            assertEquals(8, journal.size());
+        }
+        engine.step(60);
+
+        SimulationEngine replayed = newEngine();
+        assertEquals(8, ActionJournal.replay(file, replayed));
+        replayed.step(60);
+
+        Parameters expected = engine.getParameters();
+        Parameters actual = replayed.getParameters();
+        assertEquals(expected.getAwayDelay(), actual.getAwayDelay());
+        assertEquals(expected.getAwayLightStart(), actual.getAwayLightStart());
+        assertEquals(expected.getAwayLightEnd(), actual.getAwayLightEnd());
+        assertTrue(actual.isAwayMode());
+        assertTrue(actual.isTemperatureOverridden("kitchen"));
+        for (String location : house.getLocations()) {
+            Room one = house.getRoom(location);
+            Room other = replayed.getHouse().getRoom(location);
+            assertEquals(one.getNumberOfOpenDoors(), other.getNumberOfOpenDoors());
+            assertEquals(one.getNumberOfLightsOn(), other.getNumberOfLightsOn());
+            assertEquals(one.getNumberOfWindowsBlocked(), other.getNumberOfWindowsBlocked());
+            assertEquals(one.isAwayLight(), other.isAwayLight());
+            assertEquals(one.getTemperature(), other.getTemperature());
+        }
+    }
+
+    @Test
+    void testJournalIsAppendedTo() throws IOException {
+        SimulationEngine engine = newEngine();
+        Light light = engine.getHouse().getRoom("living_room").getLights()[0];
+        try (ActionJournal journal = new ActionJournal(file)) {
+            perform(journal, engine, Action.TOGGLE_LIGHT, light);
+        }
+        try (ActionJournal journal = new ActionJournal(file, true)) {
+            assertEquals(1, journal.size());
+            perform(journal, engine, Action.TOGGLE_LIGHT, light);
+            perform(journal, engine, Action.TOGGLE_LIGHT, light);
+            assertEquals(3, journal.size());
+        }
+
+        SimulationEngine replayed = newEngine();
+        Light other = replayed.getHouse().getRoom("living_room").getLights()[0];
+        assertEquals(3, ActionJournal.replay(file, replayed.getHouse(), replayed.getParameters()));
+        assertEquals(light.isOn(), other.isOn());
+    }
+
+    @Test
+    void testTruncatedRecordIsIgnored() throws IOException {
+        SimulationEngine engine = newEngine();
+        try (ActionJournal journal = new ActionJournal(file)) {
+            perform(journal, engine, Action.SET_AWAY_MODE_DELAY, new ValueManipulable<>(30));
+            perform(journal, engine, Action.SET_AWAY_MODE_DELAY, new ValueManipulable<>(60));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        SimulationEngine replayed = newEngine();
+        assertEquals(1, ActionJournal.replay(file, replayed));
+        try (ActionJournal journal = new ActionJournal(file)) {
+            assertEquals(1, journal.size());
+            perform(journal, engine, Action.SET_AWAY_MODE_DELAY, new ValueManipulable<>(90));
+        }
+        assertEquals(2, ActionJournal.replay(file, newEngine()));
+    }
+
+    @Test
+    void testUnrecordableActionsAreRejected() throws IOException {
+        SimulationEngine engine = newEngine();
+        Light stray = new Light(false);
+        try (ActionJournal journal = new ActionJournal(file)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> journal.record(0, Action.TOGGLE_LIGHT, stray, engine.getHouse()));
+            assertThrows(IllegalArgumentException.class,
+                    () -> journal.record(0, Action.SET_AWAY_MODE_DELAY, new ValueManipulable<>(new Object()), null));
+            assertEquals(0, journal.size());
+        }
+        assertEquals(0, ActionJournal.replay(file, engine));
+
+        try (Writer writer = new FileWriter(file)) {
+            writer.write("{\"rooms\": []}");
+        }
+        assertThrows(IllegalArgumentException.class, () -> ActionJournal.replay(file, engine));
+        assertThrows(IllegalArgumentException.class, () -> new ActionJournal(file));
+    }
+
+}
@@ -0,0 +1,116 @@
+package test.simulation;
+
+import main.model.Action;
+import main.model.ValueManipulable;
+import main.model.elements.House;
+import main.model.parameters.Parameters;
+import main.model.simulation.EventScheduler;
+import main.model.simulation.ScheduledEvent;
+import main.model.simulation.SimulationEngine;
+import main.util.HouseReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSchedulerTest {
+
+    private SimulationEngine engine;
+    private List<Long> fired;
+
+    @BeforeEach
+    void setup() {
+        House house = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        Parameters parameters = new Parameters();
+        parameters.setTime(new int[] {12, 0, 0});
+        engine = new SimulationEngine(house, parameters);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void testEventsAreTakenInOrder() {
+        EventScheduler scheduler = new EventScheduler();
+        ScheduledEvent third = scheduler.schedule(20, e -> { });
+        ScheduledEvent first = scheduler.schedule(10, e -> { });
+        ScheduledEvent cancelled = scheduler.schedule(15, e -> { });
+        ScheduledEvent second = scheduler.schedule(10, e -> { });
+        assertEquals(4, scheduler.size());
+        assertEquals(10, scheduler.nextTime());
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertFalse(cancelled.isPending());
+        assertNull(scheduler.poll(9));
+
+        List<ScheduledEvent> order = new ArrayList<>();
+        ScheduledEvent due;
+        while ((due = scheduler.poll(100)) != null) {
+            assertFalse(due.isPending());
+            assertFalse(due.cancel());
+            order.add(due);
+        }
+        assertEquals(Long.MAX_VALUE, scheduler.nextTime());
+        assertEquals(Arrays.asList(first, second, third), order);
+    }
+
+    @Test
+    void testEventsFireWhenDueWithinScaledSteps() {
+        engine.getParameters().setClockTimeMultiplier(60);
+        engine.schedule(90, e -> fired.add(e.getElapsedTime()));
+        engine.schedule(7, e -> fired.add(e.getElapsedTime()));
+        engine.step(1);
+        assertEquals(Arrays.asList(7L), fired);
+        assertEquals(60, engine.getElapsedTime());
+        engine.step(1);
+        assertEquals(Arrays.asList(7L, 90L), fired);
+        assertEquals(120, engine.getElapsedTime());
+        assertArrayEquals(new int[] {12, 2, 0}, engine.getParameters().getClockTime());
+    }
+
+    @Test
+    void testFastForwardingSkipsIdleTime() {
+        engine.setFastForwarding(true);
+        engine.schedule(86_399, e -> fired.add(e.getElapsedTime()));
+        engine.schedule(3, e -> {
+            fired.add(e.getElapsedTime());
+            e.schedule(0, f -> fired.add(-f.getElapsedTime()));
+            e.schedule(4, f -> fired.add(f.getElapsedTime()));
+        });
+        ScheduledEvent cancelled = engine.schedule(5, e -> fired.add(0L));
+        assertEquals(3, engine.getNextEventTime());
+        cancelled.cancel();
+
+        engine.runUntil(1_000_000);
+        assertEquals(1_000_000, engine.getElapsedTime());
+        assertEquals(Arrays.asList(3L, -3L, 7L, 86_399L), fired);
+        assertThrows(IllegalArgumentException.class, () -> engine.schedule(-1, e -> fired.add(0L)));
+    }
+
+    @Test
+    void testEventsSeeTheClockAtTheirTime() {
+        int[][] times = new int[2][];
+        engine.schedule(3_600, e -> times[0] = e.getParameters().getClockTime().clone());
+        engine.fastForward(1_800);
+        engine.schedule(1_800 + 59, e -> times[1] = e.getParameters().getClockTime().clone());
+        engine.fastForward(7_200);
+        assertArrayEquals(new int[] {13, 0, 0}, times[0]);
+        assertArrayEquals(new int[] {13, 0, 59}, times[1]);
+    }
+
+    @Test
+    void testAwayAlarmFiresOnceTheDelayHasElapsed() {
+        Action.SET_AWAY_MODE_DELAY.doAction(new ValueManipulable<>(30), engine.getParameters(), engine.getHouse());
+        engine.step(5);
+        engine.scheduleAwayAlarm(e -> fired.add(e.getElapsedTime()));
+        engine.step(29);
+        assertTrue(fired.isEmpty());
+        engine.step(1);
+        assertEquals(Arrays.asList(35L), fired);
+    }
+
+}
@@ -0,0 +1,117 @@
+package test.simulation;
+
+import main.model.elements.House;
+import main.model.elements.Room;
+import main.model.parameters.Parameters;
+import main.model.simulation.FleetSimulator;
+import main.model.simulation.SimulationEngine;
+import main.model.simulation.SimulationSummary;
+import main.util.HouseReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetSimulatorTest {
+
+    private static final int FLEET_SIZE = 200;
+
+    private HouseReader reader;
+    private ForkJoinPool pool;
+    private FleetSimulator fleet;
+
+    @BeforeEach
+    void setup() {
+        reader = new HouseReader(new File("./src/test/io/houseLayoutTest.json"));
+        pool = new ForkJoinPool(4);
+        fleet = new FleetSimulator(pool);
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            House house = reader.readHouse();
+            fleet.add(house, parametersFor(house, i));
+        }
+    }
+
+    @AfterEach
+    void teardown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testFleetMatchesIndependentSimulations() {
+        SimulationSummary summary = fleet.step(3_600);
+
+        for (int i = 0; i < FLEET_SIZE; i += 37) {
+            House house = reader.readHouse();
+            SimulationEngine engine = new SimulationEngine(house, parametersFor(house, i));
+            engine.step(3_600);
+
+            House simulated = fleet.getEngines().get(i).getHouse();
+            for (String location : house.getLocations()) {
+                assertEquals(house.getRoom(location).getTemperature(),
+                        simulated.getRoom(location).getTemperature());
+            }
+        }
+
+        assertEquals(FLEET_SIZE, summary.getHouses());
+        assertEquals(FLEET_SIZE * reader.readHouse().size(), summary.getRooms());
+        assertEquals(3_600, summary.getElapsedTime());
+    }
+
+    @Test
+    void testSummaryAggregatesEveryHouse() {
+        SimulationSummary aggregate = fleet.step(600);
+        SimulationSummary sum = SimulationSummary.EMPTY;
+        for (int i = 0; i < fleet.size(); i++) {
+            sum = sum.merge(fleet.summarize(i));
+        }
+
+        assertEquals(sum.getRooms(), aggregate.getRooms());
+        assertEquals(sum.getRoomsWithHVACOn(), aggregate.getRoomsWithHVACOn());
+        assertEquals(sum.getAverageTemperature(), aggregate.getAverageTemperature(), 1e-9);
+        assertEquals(sum.getMinTemperature(), aggregate.getMinTemperature());
+        assertEquals(sum.getMaxTemperature(), aggregate.getMaxTemperature());
+    }
+
+    @Test
+    void testAlertsAreCountedPerHouse() {
+        for (Room room : fleet.getEngines().get(0).getHouse()) {
+            room.setTemperature(-50);
+        }
+        fleet.getEngines().get(0).getParameters().setOn(false);
+
+        SimulationSummary summary = fleet.step(5);
+        assertEquals(5, fleet.summarize(0).getWarnings());
+        assertEquals(0, fleet.summarize(1).getWarnings());
+        assertEquals(5, summary.getWarnings());
+    }
+
+    @Test
+    void testHousesCannotShareState() {
+        SimulationEngine engine = fleet.getEngines().get(0);
+        House house = reader.readHouse();
+        assertThrows(IllegalArgumentException.class, () -> fleet.add(engine.getHouse(), new Parameters()));
+        assertThrows(IllegalArgumentException.class, () -> fleet.add(house, engine.getParameters()));
+        assertThrows(IllegalArgumentException.class, () -> fleet.step(-1));
+        assertEquals(FLEET_SIZE, fleet.size());
+    }
+
+    private Parameters parametersFor(House house, int index) {
+        Parameters parameters = new Parameters();
+        parameters.setDate(new GregorianCalendar(2020, Calendar.OCTOBER, 1).getTime());
+        parameters.setTime(new int[] {index % 24, 0, 0});
+        parameters.setExternalTemperature(index % 30 - 5);
+        parameters.addZone("zone");
+        for (String location : house.getLocations()) {
+            parameters.getZone("zone").addRoom(location);
+        }
+        parameters.setOn(true);
+        return parameters;
+    }
+
+}
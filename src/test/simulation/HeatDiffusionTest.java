@@ -0,0 +1,178 @@
+package test.simulation;
+
+import main.model.elements.House;
+import main.model.elements.Room;
+import main.model.parameters.Parameters;
+import main.model.simulation.HeatDiffusion;
+import main.model.simulation.SimulationEngine;
+import main.util.HouseReader;
+import main.util.LayoutGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeatDiffusionTest {
+
+    private House house;
+    private Room kitchen;
+    private Room livingRoom;
+
+    @BeforeEach
+    void setup() {
+        house = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        kitchen = house.getRoom("kitchen");
+        livingRoom = house.getRoom("living_room");
+        kitchen.setTemperature(30);
+        livingRoom.setTemperature(10);
+    }
+
+    @Test
+    void testHeatFlowsBetweenRooms() {
+        (new HeatDiffusion(null)).diffuse(house, 20, 3_600);
+        assertTrue(kitchen.getTemperature() < 30);
+        assertTrue(livingRoom.getTemperature() > 10);
+        assertTrue(kitchen.getTemperature() > livingRoom.getTemperature());
+        assertEquals(40, kitchen.getTemperature() + livingRoom.getTemperature(), 1e-9);
+
+        (new HeatDiffusion(null)).diffuse(house, 20, 1e6);
+        assertEquals(20, kitchen.getTemperature(), 1e-6);
+        assertEquals(20, livingRoom.getTemperature(), 1e-6);
+        assertThrows(IllegalArgumentException.class, () -> (new HeatDiffusion()).diffuse(house, 20, -1));
+    }
+
+    @Test
+    void testImplicitStepsAreStableAtAnyLength() {
+        House other = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        other.getRoom("kitchen").setTemperature(30);
+        other.getRoom("living_room").setTemperature(10);
+        HeatDiffusion implicit = new HeatDiffusion(null);
+        for (int i = 0; i < 360; i++) {
+            implicit.diffuseImplicitly(other, 20, 10);
+        }
+        // The difference from the outside decays at the rate of the conductances out of each room
+        double decay = Math.exp(-3_600 * (2 * HeatDiffusion.WALL_CONDUCTANCE + HeatDiffusion.EXTERIOR_CONDUCTANCE));
+        assertEquals(20 + 10 * decay, other.getRoom("kitchen").getTemperature(), 1e-2);
+        assertEquals(20 - 10 * decay, other.getRoom("living_room").getTemperature(), 1e-2);
+        assertEquals(40, other.getRoom("kitchen").getTemperature() + other.getRoom("living_room").getTemperature(),
+                1e-9);
+
+        implicit.diffuseImplicitly(other, -5, 1e12);
+        assertEquals(-5, other.getRoom("kitchen").getTemperature(), 1e-6);
+        assertEquals(-5, other.getRoom("living_room").getTemperature(), 1e-6);
+        assertThrows(IllegalArgumentException.class, () -> implicit.diffuseImplicitly(other, 20, -1));
+    }
+
+    @Test
+    void testOpenDoorsAndWindowsLetMoreHeatThrough() {
+        House open = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        open.getRoom("kitchen").setTemperature(30);
+        open.getRoom("living_room").setTemperature(10);
+        open.getRoom("kitchen").getDoors()[3].setOpen(true);
+        open.getRoom("living_room").getDoors()[1].setOpen(true);
+
+        (new HeatDiffusion(null)).diffuse(house, 20, 600);
+        (new HeatDiffusion(null)).diffuse(open, 20, 600);
+        assertTrue(open.getRoom("kitchen").getTemperature() < kitchen.getTemperature());
+        assertTrue(open.getRoom("living_room").getTemperature() > livingRoom.getTemperature());
+
+        double closed = kitchen.getTemperature();
+        kitchen.getWindows()[0].setOpen(true);
+        (new HeatDiffusion(null)).diffuse(house, -10, 600);
+        kitchen.getWindows()[0].setOpen(false);
+        double withoutWindow = open.getRoom("kitchen").getTemperature();
+        (new HeatDiffusion(null)).diffuse(open, -10, 600);
+        assertTrue(closed - kitchen.getTemperature() > withoutWindow - open.getRoom("kitchen").getTemperature());
+    }
+
+    @Test
+    void testParallelDiffusionMatchesSerialDiffusion() {
+        House serial = (new LayoutGenerator(7)).grid(30_000);
+        House parallel = (new LayoutGenerator(7)).grid(30_000);
+        Random random = new Random(7);
+        for (int i = 0; i < serial.size(); i++) {
+            double temperature = random.nextDouble() * 40 - 10;
+            serial.getRoom(i).setTemperature(temperature);
+            parallel.getRoom(i).setTemperature(temperature);
+            if (random.nextInt(4) == 0) {
+                openEverything(serial.getRoom(i));
+                openEverything(parallel.getRoom(i));
+            }
+        }
+
+        HeatDiffusion onePartition = new HeatDiffusion(null);
+        HeatDiffusion partitions = new HeatDiffusion(new ForkJoinPool(4));
+        for (int k = 0; k < 5; k++) {
+            onePartition.diffuse(serial, 5, 120);
+            partitions.diffuse(parallel, 5, 120);
+        }
+        onePartition.diffuseImplicitly(serial, 5, 36_000);
+        partitions.diffuseImplicitly(parallel, 5, 36_000);
+        assertArrayEquals(serial.getStateStore().temperatures(), parallel.getStateStore().temperatures(), 0);
+    }
+
+    private static void openEverything(Room room) {
+        for (main.model.elements.Door door : room.getDoors()) {
+            if (door != null) {
+                door.setOpen(true);
+            }
+        }
+    }
+
+    @Test
+    void testFastForwardingMatchesSteppingWithDiffusion() {
+        House other = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        other.getRoom("kitchen").setTemperature(30);
+        other.getRoom("living_room").setTemperature(10);
+        SimulationEngine stepped = new SimulationEngine(house, withZone(house));
+        SimulationEngine fast = new SimulationEngine(other, withZone(other));
+        stepped.setHeatDiffusion(new HeatDiffusion(null));
+        fast.setHeatDiffusion(new HeatDiffusion(null));
+
+        stepped.step(1_800);
+        fast.fastForward(1_800);
+        assertEquals(kitchen.getTemperature(), other.getRoom("kitchen").getTemperature(), 1e-9);
+        assertEquals(livingRoom.getTemperature(), other.getRoom("living_room").getTemperature(), 1e-9);
+    }
+
+    @Test
+    void testSteppingWithDiffusionDoesNotAllocate() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return; // Allocations can only be counted on HotSpot
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long thread = Thread.currentThread().getId();
+
+        SimulationEngine engine = new SimulationEngine(house, withZone(house));
+        engine.setHeatDiffusion(new HeatDiffusion(null));
+        for (boolean implicit : new boolean[] {false, true}) {
+            engine.setImplicit(implicit);
+            engine.step(100_000); // Let the JIT compiler settle, which takes longer with diffusion inlined
+            threads.getThreadAllocatedBytes(thread);
+
+            long before = threads.getThreadAllocatedBytes(thread);
+            engine.step(20_000);
+            long after = threads.getThreadAllocatedBytes(thread);
+            assertEquals(before, after, "Bytes allocated while stepping");
+        }
+    }
+
+    private static Parameters withZone(House house) {
+        Parameters parameters = new Parameters();
+        parameters.setTime(new int[] {12, 0, 0});
+        parameters.addZone("zone");
+        for (String location : house.getLocations()) {
+            parameters.getZone("zone").addRoom(location);
+        }
+        parameters.setOn(true);
+        return parameters;
+    }
+
+}
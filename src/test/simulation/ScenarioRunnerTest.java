@@ -0,0 +1,141 @@
+package test.simulation;
+
+import main.model.elements.House;
+import main.model.parameters.Parameters;
+import main.model.simulation.ScenarioReport;
+import main.model.simulation.ScenarioRunner;
+import main.model.simulation.SimulationEngine;
+import main.util.HouseReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioRunnerTest {
+
+    private static final String SCRIPT = String.join("\n",
+            "# Set up the house",
+            "0       as Parent",
+            "0       zone all 21 - - living_room kitchen",
+            "0       outside 10",
+            "0       enter Alice Child kitchen",
+            "0       start",
+            "",
+            "0:10    as Alice",
+            "0:10    light kitchen N      # Children may turn lights on and off",
+            "0:20    door living_room E   # but not open doors",
+            "1:00    as Parent",
+            "1:00    door living_room E",
+            "1:00    temperature kitchen 24.5",
+            "2:00    leave Alice",
+            "2:00    block kitchen N",
+            "2:00    block kitchen N",
+            "2:00    delay 30",
+            "2:00    awaylights 19:00 23:30 kitchen",
+            "2:00    away",
+            "1:00:00 enter Bob Stranger living_room",
+            "2:00:00 end");
+
+    private SimulationEngine engine;
+
+    @BeforeEach
+    void setup() {
+        House house = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        engine = new SimulationEngine(house, new Parameters());
+    }
+
+    @Test
+    void testScenarioIsRun() throws IOException {
+        ScenarioReport report = (new ScenarioRunner(engine)).run(new StringReader(SCRIPT));
+        Parameters parameters = engine.getParameters();
+        House house = engine.getHouse();
+
+        assertEquals(19, report.getCommands());
+        assertEquals(9, report.getAuthorized());
+        assertEquals(1, report.getDenied());
+        assertEquals(1, report.getIntrusions());
+        assertEquals(7_200, report.getSimulatedTime());
+        assertEquals(7_200, engine.getElapsedTime());
+
+        assertTrue(parameters.isOn());
+        assertTrue(parameters.isAwayMode());
+        assertEquals(10, parameters.getExternalTemperature());
+        assertEquals(LocalTime.of(23, 30), parameters.getAwayLightEnd());
+        assertTrue(parameters.isTemperatureOverridden("kitchen"));
+        assertEquals("living_room", house.locationOf("Bob"));
+        assertFalse(house.contains("Alice"));
+        assertFalse(house.hasObstructedWindow());
+        assertTrue(house.getRoom("kitchen").isAwayLight());
+        assertEquals(2, report.getSummary().getRooms());
+    }
+
+    @Test
+    void testFastForwardedScenarioMatchesSteppedOne() throws IOException {
+        (new ScenarioRunner(engine)).run(new StringReader(SCRIPT));
+        SimulationEngine fast = new SimulationEngine(
+                (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse(), new Parameters());
+        fast.setFastForwarding(true);
+        ScenarioReport report = (new ScenarioRunner(fast)).run(new StringReader(SCRIPT));
+
+        assertEquals(engine.getElapsedTime(), fast.getElapsedTime());
+        assertEquals(9, report.getAuthorized());
+        assertEquals(engine.getHouse().getRoom("living_room").getTemperature(),
+                fast.getHouse().getRoom("living_room").getTemperature(), 1e-6);
+    }
+
+    @Test
+    void testMalformedScriptsAreRejected() {
+        ScenarioRunner runner = new ScenarioRunner(engine);
+        String[] scripts = {
+            "0 fly",
+            "soon as Parent",
+            "0:99 as Parent",
+            "0 as Nobody",
+            "0 door attic N",
+            "0 door kitchen X",
+            "0 door kitchen N",
+            "0 outside warm",
+            "0 start",
+            "10 as Parent\n5 as Parent",
+        };
+        for (String script : scripts) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> runner.run(new StringReader(script)));
+            assertTrue(e.getMessage().startsWith("Line "), e.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ScenarioRunner(new SimulationEngine(new Parameters())));
+    }
+
+    @Test
+    void testIntrusionsAreReportedOnceTheAlarmGoesOff() throws IOException {
+        String script = String.join("\n",
+                "0    as Parent",
+                "0    zone all 21 - - living_room kitchen",
+                "0    start",
+                "0    delay 30",
+                "0    away",
+                "1:00 enter Bob Stranger living_room",
+                "1:29 end");
+        assertEquals(0, (new ScenarioRunner(engine)).run(new StringReader(script)).getIntrusions());
+
+        setup();
+        script = script.replace("1:29 end", "1:30 end");
+        assertEquals(1, (new ScenarioRunner(engine)).run(new StringReader(script)).getIntrusions());
+    }
+
+    @Test
+    void testFailingLinesAreReportedWithTheirNumber() {
+        String script = String.join("\n",
+                "0    as Parent",
+                "0    move Nobody kitchen");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> (new ScenarioRunner(engine)).run(new StringReader(script)));
+        assertTrue(e.getMessage().startsWith("Line 2: "));
+    }
+
+}
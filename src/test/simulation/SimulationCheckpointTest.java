@@ -0,0 +1,166 @@
+package test.simulation;
+
+import main.model.Action;
+import main.model.elements.House;
+import main.model.elements.Room;
+import main.model.parameters.Parameters;
+import main.model.simulation.FleetSimulator;
+import main.model.simulation.SimulationCheckpoint;
+import main.model.simulation.SimulationEngine;
+import main.util.HouseReader;
+import main.util.LayoutGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationCheckpointTest {
+
+    private File file;
+    private House house;
+    private Parameters parameters;
+    private SimulationEngine engine;
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = File.createTempFile("simulation", ".checkpoint");
+        house = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        parameters = new Parameters();
+        parameters.setDate(new GregorianCalendar(2020, Calendar.DECEMBER, 1).getTime());
+        parameters.setTime(new int[] {17, 30, 0});
+        parameters.setClockTimeMultiplier(3);
+        parameters.setExternalTemperature(-4.5);
+        parameters.setAwayLightStart(LocalTime.of(17, 45));
+        parameters.setAwayDelay(120);
+        parameters.setAutoLight(true);
+        parameters.setPermission(parameters.getPermissionOf("Parent"));
+        parameters.setLocation("kitchen");
+        parameters.addActor("Alice", parameters.getPermissionOf("Child"));
+        parameters.addZone("downstairs").addRoom("kitchen");
+        parameters.getZone("downstairs").setPeriodTemp(2, 19.5);
+        parameters.getZone("downstairs").overrideTempFor("kitchen", 22);
+        parameters.addZone("upstairs").addRoom("living_room");
+        parameters.setOn(true);
+
+        house.addPerson("Alice", parameters.getPermissionOf("Child"), "living_room");
+        house.addPerson("Bob", parameters.getPermissionOf("Guest"), House.EXTERIOR_NAME);
+        house.getYard().setLightOn(true);
+        house.getRoom("kitchen").setAwayLight(true);
+        house.getRoom("kitchen").getWindows()[0].setBlocked(true);
+        house.getRoom("living_room").getDoors()[1].setOpen(true);
+
+        engine = new SimulationEngine(house, parameters);
+        engine.step(600);
+    }
+
+    @AfterEach
+    void teardown() {
+        file.delete();
+    }
+
+    @Test
+    void testRestoredSimulationMatchesSavedOne() throws IOException {
+        SimulationCheckpoint.save(engine, file);
+        SimulationEngine restored = SimulationCheckpoint.restore(file);
+        Parameters other = restored.getParameters();
+
+        assertEquals(engine.getElapsedTime(), restored.getElapsedTime());
+        assertArrayEquals(parameters.getClockTime(), other.getClockTime());
+        assertEquals(parameters.getTimeMultiplier(), other.getTimeMultiplier());
+        assertEquals(parameters.getDate(), other.getDate());
+        assertEquals(parameters.getExternalTemperature(), other.getExternalTemperature());
+        assertEquals(parameters.getAwayLightStart(), other.getAwayLightStart());
+        assertEquals(parameters.getAwayDelay(), other.getAwayDelay());
+        assertTrue(other.isAutoLight());
+        assertTrue(other.isOn());
+        assertEquals("kitchen", other.getLocation());
+        assertEquals(parameters.getPermission(), other.getPermission());
+        assertEquals(parameters.permissionOf("Alice"), other.permissionOf("Alice"));
+        assertEquals(parameters.getPermissions(), other.getPermissions());
+        assertEquals(22, other.zoneOf("kitchen").getDesiredTemperatureFor("kitchen", 0));
+        assertFalse(other.isTemperatureOverridden("living_room"));
+        assertArrayEquals(parameters.getZone("downstairs").getDesiredTemperatures(),
+                other.getZone("downstairs").getDesiredTemperatures());
+
+        House restoredHouse = restored.getHouse();
+        assertEquals(house, restoredHouse);
+        assertEquals("living_room", restoredHouse.locationOf("Alice"));
+        assertEquals(House.EXTERIOR_NAME, restoredHouse.locationOf("Bob"));
+        assertEquals(parameters.getPermissionOf("Guest"), restoredHouse.permissionOf("Bob"));
+        assertTrue(restoredHouse.getYard().isLightOn());
+        assertTrue(restoredHouse.hasObstructedWindow());
+        assertTrue(restoredHouse.getRoom("kitchen").isAwayLight());
+        assertEquals(1, restoredHouse.getRoom("living_room").getNumberOfOpenDoors());
+    }
+
+    @Test
+    void testRestoredSimulationResumesWhereItLeftOff() throws IOException {
+        SimulationCheckpoint.save(engine, file);
+        SimulationEngine restored = SimulationCheckpoint.restore(file);
+
+        engine.step(7_200);
+        restored.step(7_200);
+        assertEquals(engine.getElapsedTime(), restored.getElapsedTime());
+        for (String location : house.getLocations()) {
+            Room expected = house.getRoom(location);
+            Room actual = restored.getHouse().getRoom(location);
+            assertEquals(expected.getTemperature(), actual.getTemperature());
+            assertEquals(expected.isHVACon(), actual.isHVACon());
+        }
+    }
+
+    @Test
+    void testFleetCheckpoint() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            FleetSimulator fleet = new FleetSimulator(pool);
+            LayoutGenerator generator = new LayoutGenerator(3);
+            for (int i = 0; i < 8; i++) {
+                House house = generator.corridor(100);
+                Parameters parameters = new Parameters();
+                parameters.setExternalTemperature(i - 4);
+                parameters.addZone("zone");
+                for (String location : house.getLocations()) {
+                    parameters.getZone("zone").addRoom(location);
+                }
+                parameters.setOn(true);
+                fleet.add(house, parameters);
+            }
+            fleet.step(300);
+
+            SimulationCheckpoint.save(fleet, file);
+            FleetSimulator restored = SimulationCheckpoint.restoreFleet(file, pool);
+            assertEquals(fleet.size(), restored.size());
+            assertEquals(fleet.step(900).toString(), restored.step(900).toString());
+            assertThrows(IllegalArgumentException.class, () -> SimulationCheckpoint.restore(file));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSavingReplacesPreviousCheckpoint() throws IOException {
+        SimulationCheckpoint.save(engine, file);
+        engine.step(60);
+        parameters.getPermissionOf("Guest").allow(Action.SET_DEFAULT_TEMPERATURE);
+        try {
+            SimulationCheckpoint.save(engine, file);
+            SimulationEngine restored = SimulationCheckpoint.restore(file);
+            assertEquals(engine.getElapsedTime(), restored.getElapsedTime());
+            assertTrue(restored.getParameters().getPermissionOf("Guest").allowed()
+                    .contains(Action.SET_DEFAULT_TEMPERATURE));
+        } finally {
+            parameters.getPermissionOf("Guest").disallow(Action.SET_DEFAULT_TEMPERATURE);
+        }
+        assertFalse((new File(file.getPath() + ".tmp")).exists());
+    }
+
+}
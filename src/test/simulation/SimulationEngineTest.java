@@ -0,0 +1,273 @@
+package test.simulation;
+
+import main.model.elements.House;
+import main.model.elements.Light;
+import main.model.elements.Room;
+import main.model.parameters.Parameters;
+import main.model.simulation.HeatDiffusion;
+import main.model.simulation.SimulationEngine;
+import main.model.simulation.SimulationObserver;
+import main.util.HouseReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEngineTest {
+
+    private House house;
+    private Parameters parameters;
+    private SimulationEngine engine;
+
+    @BeforeEach
+    void setup() {
+        house = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        parameters = new Parameters();
+        parameters.setDate(new GregorianCalendar(2020, Calendar.OCTOBER, 1).getTime());
+        parameters.setTime(new int[] {12, 0, 0});
+        parameters.addZone("zone");
+        for (String location : house.getLocations()) {
+            parameters.getZone("zone").addRoom(location);
+        }
+        engine = new SimulationEngine(house, parameters);
+    }
+
+    @Test
+    void testStepAdvancesClock() {
+        engine.step(90);
+        assertEquals(90, engine.getElapsedTime());
+        assertArrayEquals(new int[] {12, 1, 30}, parameters.getClockTime());
+        assertThrows(IllegalArgumentException.class, () -> engine.step(-1));
+    }
+
+    @Test
+    void testTemperatureOnlyFluctuatesWhenOn() {
+        engine.step(10);
+        assertEquals(20.0, house.getRoom("kitchen").getTemperature());
+        parameters.setOn(true);
+        engine.step(10);
+        assertTrue(house.getRoom("kitchen").getTemperature() > 20.0);
+    }
+
+    @Test
+    void testRunUntilReachesDesiredTemperature() {
+        parameters.setOn(true);
+        parameters.setClockTimeMultiplier(2);
+        engine.runUntil(3601);
+        assertEquals(3602, engine.getElapsedTime());
+        for (Room room : house) {
+            assertTrue(room.getTemperature() > Parameters.DEFAULT_TEMPERATURE);
+            assertTrue(room.getTemperature() < 25.5);
+        }
+    }
+
+    @Test
+    void testObserversAreNotified() {
+        int[] counts = new int[2];
+        engine.addObserver(new SimulationObserver() {
+            @Override
+            public void stepped(SimulationEngine engine) {
+                counts[0]++;
+            }
+
+            @Override
+            public void alerted(String message, Severity severity) {
+                counts[1]++;
+            }
+        });
+        for (Room room : house) {
+            room.setTemperature(-10);
+        }
+        engine.step(3);
+        assertEquals(3, counts[0]);
+        assertEquals(3, counts[1]);
+    }
+
+    @Test
+    void testFastForwardMatchesSecondBySecondStepping() {
+        House other = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        SimulationEngine stepped = new SimulationEngine(other, withZone(other));
+        parameters.setExternalTemperature(12.31);
+        stepped.getParameters().setExternalTemperature(12.31);
+        parameters.getZone("zone").setPeriodTemp(0, 21.68);
+        stepped.getParameters().getZone("zone").setPeriodTemp(0, 21.68);
+        parameters.setOn(true);
+        stepped.getParameters().setOn(true);
+
+        engine.fastForward(86_400);
+        stepped.step(86_400);
+
+        assertEquals(stepped.getElapsedTime(), engine.getElapsedTime());
+        assertArrayEquals(stepped.getParameters().getClockTime(), parameters.getClockTime());
+        for (String location : house.getLocations()) {
+            assertEquals(other.getRoom(location).getTemperature(), house.getRoom(location).getTemperature(), 1e-6);
+            assertEquals(other.getRoom(location).isHVACon(), house.getRoom(location).isHVACon());
+        }
+    }
+
+    @Test
+    void testFastForwardingDoesNotOvershoot() {
+        parameters.setExternalTemperature(12.31);
+        parameters.setClockTimeMultiplier(Parameters.MAX_TIMEX);
+        parameters.setOn(true);
+        engine.setFastForwarding(true);
+        for (int i = 0; i < 100; i++) {
+            engine.step(1);
+            for (Room room : house) {
+                assertTrue(room.getTemperature() >= 12.31 - 0.25 - 1e-9);
+                assertTrue(room.getTemperature() <= 25 + 0.25 + 1e-9);
+            }
+        }
+        assertEquals(100L * Parameters.MAX_TIMEX, engine.getElapsedTime());
+    }
+
+    @Test
+    void testImplicitStepsDoNotOvershoot() {
+        House other = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        SimulationEngine explicit = new SimulationEngine(other, withZone(other));
+        for (SimulationEngine simulation : new SimulationEngine[] {engine, explicit}) {
+            simulation.getParameters().setExternalTemperature(12.31);
+            simulation.getParameters().setClockTimeMultiplier(Parameters.MAX_TIMEX);
+            simulation.getParameters().setOn(true);
+        }
+        engine.setImplicit(true);
+        explicit.step(1);
+        assertTrue(other.getRoom("kitchen").getTemperature() > 25 + 0.25);
+
+        for (HeatDiffusion diffusion : new HeatDiffusion[] {null, new HeatDiffusion(null)}) {
+            engine.setHeatDiffusion(diffusion);
+            for (int i = 0; i < 100; i++) {
+                engine.step(1);
+                for (Room room : house) {
+                    assertTrue(room.getTemperature() >= 12.31 - 0.25 - 1e-9);
+                    assertTrue(room.getTemperature() <= 25 + 0.25 + 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testImplicitStepsMatchExplicitStepsShortOfEquilibrium() {
+        House other = (new HouseReader(new File("./src/test/io/houseLayoutTest.json"))).readHouse();
+        SimulationEngine explicit = new SimulationEngine(other, withZone(other));
+        explicit.getParameters().setOn(true);
+        parameters.setOn(true);
+        engine.setImplicit(true);
+
+        engine.step(30);
+        explicit.step(30);
+        for (String location : house.getLocations()) {
+            assertEquals(other.getRoom(location).getTemperature(), house.getRoom(location).getTemperature());
+        }
+    }
+
+    @Test
+    void testAwayLightsOnlyChangeAtTransitions() {
+        Room kitchen = house.getRoom("kitchen");
+        Room livingRoom = house.getRoom("living_room");
+        kitchen.setAwayLight(true);
+        livingRoom.toggleLights(true);
+        parameters.setAwayLightStart(LocalTime.of(12, 30));
+        parameters.setAwayLightEnd(LocalTime.of(12, 59, 7));
+        parameters.setClockTimeMultiplier(60);
+        parameters.setOn(true);
+        parameters.setAwayMode(true);
+
+        engine.step(1);
+        assertEquals(0, kitchen.getNumberOfLightsOn());
+        assertEquals(0, livingRoom.getNumberOfLightsOn());
+
+        livingRoom.toggleLights(true); // Left alone until the away lights are changed
+        engine.step(29);
+        assertEquals(countLights(kitchen), kitchen.getNumberOfLightsOn());
+        assertEquals(countLights(livingRoom), livingRoom.getNumberOfLightsOn());
+        kitchen.toggleLights(false); // Not switched back on every step
+        engine.step(20);
+        assertEquals(0, kitchen.getNumberOfLightsOn());
+        engine.step(10);
+
+        parameters.setAwayLightEnd(LocalTime.of(14, 0));
+        engine.step(1);
+        assertEquals(countLights(kitchen), kitchen.getNumberOfLightsOn());
+        livingRoom.setAwayLight(true);
+        kitchen.setAwayLight(false);
+        engine.step(1);
+        assertEquals(0, kitchen.getNumberOfLightsOn());
+        assertEquals(countLights(livingRoom), livingRoom.getNumberOfLightsOn());
+    }
+
+    @Test
+    void testAwayLightsSwitchWhenDue() {
+        Room kitchen = house.getRoom("kitchen");
+        kitchen.setAwayLight(true);
+        parameters.setAwayLightStart(LocalTime.of(12, 0, 30));
+        parameters.setAwayLightEnd(LocalTime.of(12, 0, 45));
+        parameters.setOn(true);
+        parameters.setAwayMode(true);
+        int[] lit = new int[2];
+        engine.schedule(30, e -> lit[0] = kitchen.getNumberOfLightsOn());
+        engine.schedule(45, e -> lit[1] = kitchen.getNumberOfLightsOn());
+
+        engine.setFastForwarding(true);
+        engine.runUntil(3_600);
+        assertEquals(countLights(kitchen), lit[0]);
+        assertEquals(0, lit[1]);
+    }
+
+    private static int countLights(Room room) {
+        int count = 0;
+        for (Light light : room.getLights()) {
+            if (light != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void testSteppingDoesNotAllocate() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return; // Allocations can only be counted on HotSpot
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long thread = Thread.currentThread().getId();
+
+        parameters.setDate(new GregorianCalendar(2020, Calendar.JULY, 1).getTime());
+        parameters.setExternalTemperature(22);
+        parameters.getZone("zone").setPeriodTemp(1, 18);
+        parameters.getZone("zone").overrideTempFor("kitchen", 21);
+        parameters.setOn(true);
+        house.getRoom("kitchen").setAwayLight(true);
+
+        for (boolean awayMode : new boolean[] {false, true}) {
+            parameters.setAwayMode(awayMode);
+            engine.step(20_000); // Reach a steady state and let the JIT compiler settle
+            threads.getThreadAllocatedBytes(thread);
+
+            long before = threads.getThreadAllocatedBytes(thread);
+            engine.step(20_000);
+            long after = threads.getThreadAllocatedBytes(thread);
+            assertEquals(before, after, "Bytes allocated while stepping");
+        }
+    }
+
+    private Parameters withZone(House house) {
+        Parameters parameters = new Parameters();
+        parameters.setDate(this.parameters.getDate());
+        parameters.setTime(new int[] {12, 0, 0});
+        parameters.addZone("zone");
+        for (String location : house.getLocations()) {
+            parameters.getZone("zone").addRoom(location);
+        }
+        return parameters;
+    }
+
+}
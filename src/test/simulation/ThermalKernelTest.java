@@ -0,0 +1,66 @@
+package test.simulation;
+
+import main.model.simulation.ThermalKernel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThermalKernelTest {
+
+    private static final double ON = 0.1, OFF = 0.05, TOLERANCE = 0.25, EPSILON = 1e-9;
+
+    @Test
+    void testRoomsMoveTowardTheirEquilibrium() {
+        ThermalKernel kernel = new ThermalKernel(ON, OFF, TOLERANCE, EPSILON);
+        double[] temperatures = {20, 20, 20, 24.9, 24.9};
+        double[] equilibria = {25, 15, 20.2, 25, 25};
+        long[] hvac = {0b10001};
+        long[] settled = {-1};
+
+        kernel.step(temperatures, equilibria, hvac, 5, 10, false, settled);
+        assertArrayEquals(new double[] {21, 19.5, 20, 24.9, 24.9}, temperatures, 1e-12);
+        assertArrayEquals(new long[] {0b11100}, settled);
+
+        temperatures = new double[] {20, 20, 24, 24};
+        equilibria = new double[] {25, 15, 25, 25};
+        kernel.step(temperatures, equilibria, new long[] {0b0101}, 4, 100, true, settled);
+        assertArrayEquals(new double[] {25, 15, 25, 25}, temperatures, 0);
+        assertArrayEquals(new long[] {0}, settled);
+    }
+
+    @Test
+    void testFastestKernelMatchesScalarKernel() {
+        ThermalKernel scalar = new ThermalKernel(ON, OFF, TOLERANCE, EPSILON);
+        ThermalKernel fastest = ThermalKernel.create(ON, OFF, TOLERANCE, EPSILON);
+        assertTrue(fastest.lanes() >= 1);
+
+        Random random = new Random(25);
+        int size = 1_000 + 3; // Leaves a few rooms over for the scalar tail of a vectorized kernel
+        double[] equilibria = new double[size];
+        double[] expected = new double[size];
+        long[] hvac = new long[(size + 63) / 64];
+        for (int i = 0; i < size; i++) {
+            equilibria[i] = 15 + random.nextInt(11);
+            expected[i] = equilibria[i] + (random.nextInt(4) == 0 ? 0.25 : 10) * (random.nextDouble() * 2 - 1);
+        }
+        for (int word = 0; word < hvac.length; word++) {
+            hvac[word] = random.nextLong();
+        }
+        double[] actual = Arrays.copyOf(expected, size);
+        long[] expectedSettled = new long[hvac.length];
+        long[] actualSettled = new long[hvac.length];
+
+        for (int seconds : new int[] {1, 7, 999}) {
+            for (boolean implicit : new boolean[] {false, true}) {
+                scalar.step(expected, equilibria, hvac, size, seconds, implicit, expectedSettled);
+                fastest.step(actual, equilibria, hvac, size, seconds, implicit, actualSettled);
+                assertArrayEquals(expected, actual, 0);
+                assertArrayEquals(expectedSettled, actualSettled);
+            }
+        }
+    }
+
+}
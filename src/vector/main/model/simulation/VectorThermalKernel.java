@@ -0,0 +1,67 @@
+package main.model.simulation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * The {@code VectorThermalKernel} class is a {@code ThermalKernel} that updates as many {@code Room}s at once as fit in
+ * the preferred vector shape of the processor, using the Java Vector API. It performs the same operations as its
+ * superclass, lane by lane, so that both produce exactly the same temperatures; the {@code Room}s left over at the end
+ * of the arrays are updated one at a time.
+ * <p>
+ * This class lives in the optional {@code src/vector} source folder, and requires the {@code jdk.incubator.vector}
+ * module both to compile and to run. {@link ThermalKernel#create(double, double, double, double)} loads it when both
+ * are available.
+ *
+ * @author Jeff Wilgus
+ */
+final class VectorThermalKernel extends ThermalKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int ADDRESS_BITS = 6; // There are 2^6 bits in a long
+
+    VectorThermalKernel(double onStep, double offStep, double tolerance, double epsilon) {
+        super(onStep, offStep, tolerance, epsilon);
+    }
+
+    @Override
+    public void step(double[] temperatures, double[] equilibria, long[] hvac, int size, int seconds, boolean implicit,
+                     long[] settled) {
+        Arrays.fill(settled, 0, (size + (1 << ADDRESS_BITS) - 1) >>> ADDRESS_BITS, 0);
+        double onChange = onStep * seconds;
+        double offChange = offStep * seconds;
+        int bound = SPECIES.loopBound(size);
+
+        // The number of lanes divides 64, so the lanes of a vector never straddle two words of a bitmap
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector roomTemp = DoubleVector.fromArray(SPECIES, temperatures, i);
+            DoubleVector equilibriumTemp = DoubleVector.fromArray(SPECIES, equilibria, i);
+            DoubleVector low = equilibriumTemp.sub(tolerance).sub(epsilon);
+            DoubleVector high = equilibriumTemp.add(tolerance).add(epsilon);
+            VectorMask<Double> within = roomTemp.compare(VectorOperators.GE, low)
+                    .and(roomTemp.compare(VectorOperators.LE, high));
+            VectorMask<Double> on = VectorMask.fromLong(SPECIES, hvac[i >>> ADDRESS_BITS] >>> i);
+
+            DoubleVector change = DoubleVector.broadcast(SPECIES, offChange).blend(onChange, on);
+            DoubleVector moved = roomTemp.sub(change)
+                    .blend(roomTemp.add(change), equilibriumTemp.compare(VectorOperators.GT, roomTemp));
+            if (implicit) {
+                moved = moved.blend(equilibriumTemp,
+                        change.compare(VectorOperators.GE, equilibriumTemp.sub(roomTemp).abs()));
+            }
+            moved.blend(roomTemp, within).intoArray(temperatures, i);
+            settled[i >>> ADDRESS_BITS] |= within.toLong() << i;
+        }
+        step(temperatures, equilibria, hvac, bound, size, seconds, implicit, settled);
+    }
+
+    @Override
+    public int lanes() {
+        return SPECIES.length();
+    }
+
+}